@@ -334,6 +334,44 @@ public abstract class Graph<L> {
      */
     public abstract Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node);
 
+    /**
+     * Restituisce l'arco di questo grafo che collega due nodi dati, cioè
+     * l'arco memorizzato nel grafo, con il suo peso, uguale a quello da
+     * {@code node1} a {@code node2}. Nel caso di grafo non orientato l'ordine
+     * dei due nodi non conta.
+     * 
+     * Questa implementazione scorre gli archi uscenti da {@code node1} e costa
+     * quindi O(grado di node1); le sottoclassi che mantengono un indice degli
+     * archi possono ridefinirla per ottenere un costo costante.
+     * 
+     * @param node1
+     *                  il primo nodo (la sorgente in caso di grafo orientato)
+     * @param node2
+     *                  il secondo nodo (la destinazione in caso di grafo
+     *                  orientato)
+     * @return l'arco che collega {@code node1} a {@code node2} in questo
+     *         grafo, null se tale arco non esiste
+     * 
+     * @throws NullPointerException
+     *                                      se almeno uno dei due nodi è nullo
+     * @throws IllegalArgumentException
+     *                                      se almeno uno dei due nodi non
+     *                                      esiste in questo grafo
+     */
+    public GraphEdge<L> getEdge(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null)
+            throw new NullPointerException(
+                    "Tentativo di cercare un arco con un nodo null");
+        if (!this.containsNode(node1) || !this.containsNode(node2))
+            throw new IllegalArgumentException(
+                    "Ricerca di un arco con almeno uno dei due nodi collegati non esistente");
+        GraphEdge<L> probe = new GraphEdge<L>(node1, node2, this.isDirected());
+        for (GraphEdge<L> e : this.getEdgesOf(node1))
+            if (e.equals(probe))
+                return e;
+        return null;
+    }
+
     /**
      * Restituisce il grado di un nodo, cioè il numero di archi connessi al
      * nodo. Nel caso di grafo orientato è la somma del numero di archi in
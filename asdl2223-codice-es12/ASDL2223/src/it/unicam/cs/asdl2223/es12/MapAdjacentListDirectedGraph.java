@@ -3,7 +3,10 @@
  */
 package it.unicam.cs.asdl2223.es12;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Set;
@@ -31,8 +34,18 @@ import java.util.Set;
  * questo set. I test di presenza si basano sui metodi equals ridefiniti per
  * nodi e archi nelle classi GraphNode<L> e GraphEdge<L>.
  * <p>
- * Questa classe non supporta le operazioni di rimozione di nodi e archi e le
- * operazioni indicizzate di ricerca di nodi e archi.
+ * Oltre alle liste di adiacenza vengono mantenute, a ogni inserimento di un
+ * arco, le liste di adiacenza inverse (gli archi entranti in ogni nodo) e un
+ * indice di tutti gli archi: archi entranti e predecessori di un nodo costano
+ * O(archi entranti) e la ricerca dell'arco fra due nodi è pseudocostante.
+ * <p>
+ * I nodi sono numerati in ordine di inserimento da 0 a {@code nodeCount() - 1}
+ * e una tabella hash associa a ogni etichetta l'indice del suo nodo: la
+ * ricerca per etichetta e le operazioni indicizzate sui nodi sono
+ * pseudocostanti. Non potendo rimuovere nodi, gli indici non cambiano finché
+ * il grafo non viene svuotato.
+ * <p>
+ * Questa classe non supporta le operazioni di rimozione di nodi e archi.
  *
  * @param <L> etichette dei nodi del grafo
  * @author Template: Luca Tesei, Implementazione: collettiva
@@ -46,12 +59,36 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
      */
     private final Map<GraphNode<L>, Set<GraphEdge<L>>> adjacentLists;
 
+    /*
+     * Liste di adiacenza inverse: ogni nodo è associato con l'insieme, anche
+     * vuoto, degli archi entranti.
+     */
+    private final Map<GraphNode<L>, Set<GraphEdge<L>>> ingoingLists;
+
+    /*
+     * Indice degli archi: ogni arco è associato a se stesso, così cercando un
+     * arco qualsiasi da u a v si trova quello (u,v) memorizzato, con il peso.
+     */
+    private final Map<GraphEdge<L>, GraphEdge<L>> edgeIndex;
+
+    /*
+     * Nodi in ordine di inserimento (il nodo in posizione i ha indice i) e
+     * indice di ogni etichetta.
+     */
+    private final List<GraphNode<L>> nodeList;
+
+    private final Map<L, Integer> labelIndex;
+
     /**
      * Crea un grafo vuoto.
      */
     public MapAdjacentListDirectedGraph() {
         // Inizializza la mappa con la mappa vuota
         this.adjacentLists = new HashMap<GraphNode<L>, Set<GraphEdge<L>>>();
+        this.ingoingLists = new HashMap<GraphNode<L>, Set<GraphEdge<L>>>();
+        this.edgeIndex = new HashMap<GraphEdge<L>, GraphEdge<L>>();
+        this.nodeList = new ArrayList<GraphNode<L>>();
+        this.labelIndex = new HashMap<L, Integer>();
     }
 
     @Override
@@ -61,16 +98,16 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
 
     @Override
     public int edgeCount() {
-        int count = 0;
-        for (GraphNode<L> tmp : getNodes()) {
-            count += this.adjacentLists.get(tmp).size();
-        }
-        return count;
+        return this.edgeIndex.size();
     }
 
     @Override
     public void clear() {
         this.adjacentLists.clear();
+        this.ingoingLists.clear();
+        this.edgeIndex.clear();
+        this.nodeList.clear();
+        this.labelIndex.clear();
     }
 
     @Override
@@ -92,6 +129,10 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
         if (this.adjacentLists.containsKey(node)) return false;
         // Aggiunta chiave
         this.adjacentLists.put(node, new HashSet<GraphEdge<L>>());
+        this.ingoingLists.put(node, new HashSet<GraphEdge<L>>());
+        // Primo indice libero
+        this.labelIndex.put(node.getLabel(), this.nodeList.size());
+        this.nodeList.add(node);
         return true;
     }
 
@@ -114,22 +155,25 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
     public GraphNode<L> getNodeOf(L label) {
         if (label == null) throw new NullPointerException("Label nullo");
 
-        Set<GraphNode<L>> nodes = this.adjacentLists.keySet();
-
-        for (GraphNode<L> tmp : nodes) if (tmp.getLabel().equals(label)) return tmp;
+        Integer i = this.labelIndex.get(label);
 
-        return null;
+        return i == null ? null : this.nodeList.get(i);
     }
 
     @Override
     public int getNodeIndexOf(L label) {
         if (label == null) throw new NullPointerException("Tentativo di ricercare un nodo con etichetta null");
-        throw new UnsupportedOperationException("Ricerca dei nodi con indice non supportata");
+        Integer i = this.labelIndex.get(label);
+        if (i == null) throw new IllegalArgumentException("Nodo non presente");
+
+        return i;
     }
 
     @Override
     public GraphNode<L> getNodeAtIndex(int i) {
-        throw new UnsupportedOperationException("Ricerca dei nodi con indice non supportata");
+        if (i < 0 || i >= this.nodeList.size()) throw new IndexOutOfBoundsException("Indice non valido: " + i);
+
+        return this.nodeList.get(i);
     }
 
     @Override
@@ -148,22 +192,14 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
 
         Set<GraphNode<L>> preNodes = new HashSet<>();
 
-        for (GraphEdge<L> tmp : this.getEdges()) {
-            if (tmp.getNode2().equals(node)) {
-                preNodes.add(tmp.getNode1());
-            }
-        }
+        for (GraphEdge<L> tmp : this.ingoingLists.get(node)) preNodes.add(tmp.getNode1());
 
         return preNodes;
     }
 
     @Override
     public Set<GraphEdge<L>> getEdges() {
-        Set<GraphEdge<L>> edges = new HashSet<>();
-
-        for (GraphNode<L> tmp : this.getNodes()) edges.addAll(this.adjacentLists.get(tmp));
-
-        return edges;
+        return new HashSet<>(this.edgeIndex.keySet());
     }
 
     @Override
@@ -173,7 +209,13 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
         if (!(this.containsNode(edge.getNode1()) && this.containsNode(edge.getNode2())))
             throw new IllegalArgumentException("Nodi non presenti");
 
-        return this.adjacentLists.get(edge.getNode1()).add(edge);
+        // Arco già presente
+        if (this.edgeIndex.containsKey(edge)) return false;
+        // Aggiunta nelle liste di adiacenza, dirette e inverse, e nell'indice
+        this.adjacentLists.get(edge.getNode1()).add(edge);
+        this.ingoingLists.get(edge.getNode2()).add(edge);
+        this.edgeIndex.put(edge, edge);
+        return true;
     }
 
     @Override
@@ -187,7 +229,16 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
         if (!(this.containsNode(edge.getNode1()) && this.containsNode(edge.getNode2())))
             throw new IllegalArgumentException("Nodi non presenti");
 
-        return this.adjacentLists.get(edge.getNode1()).contains(edge);
+        return this.edgeIndex.containsKey(edge);
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null) throw new NullPointerException("Nodo nullo");
+        if (!(this.containsNode(node1) && this.containsNode(node2)))
+            throw new IllegalArgumentException("Nodi non presenti");
+
+        return this.edgeIndex.get(new GraphEdge<L>(node1, node2, true));
     }
 
     @Override
@@ -195,7 +246,7 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
         if (node == null) throw new NullPointerException("Nodo nullo");
         if (!this.containsNode(node)) throw new IllegalArgumentException("Nodo non presente");
 
-        return this.adjacentLists.get(node);
+        return Collections.unmodifiableSet(this.adjacentLists.get(node));
     }
 
     @Override
@@ -203,13 +254,7 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
         if (node == null) throw new NullPointerException("Nodo nullo");
         if (!this.containsNode(node)) throw new IllegalArgumentException("Nodo non presente");
 
-        Set<GraphEdge<L>> IngEdges = new HashSet<>();
-
-        for (GraphEdge<L> tmp : this.getEdges()) {
-            if (tmp.getNode2().equals(node)) IngEdges.add(tmp);
-        }
-
-        return IngEdges;
+        return Collections.unmodifiableSet(this.ingoingLists.get(node));
     }
 
 }
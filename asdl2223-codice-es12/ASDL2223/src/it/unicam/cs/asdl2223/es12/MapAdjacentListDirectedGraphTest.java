@@ -460,4 +460,60 @@ class MapAdjacentListDirectedGraphTest {
         assertTrue(g.getDegreeOf(nw)==1);
     }
 
+    @Test
+    final void testGetEdge() {
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<String>("s");
+        g.addNode(ns);
+        GraphNode<String> nu = new GraphNode<String>("u");
+        assertThrows(NullPointerException.class, () -> g.getEdge(null, ns));
+        assertThrows(IllegalArgumentException.class, () -> g.getEdge(ns, nu));
+        g.addNode(nu);
+        assertNull(g.getEdge(ns, nu));
+        GraphEdge<String> esu = new GraphEdge<String>(ns, nu, true, 10.1);
+        g.addEdge(esu);
+        // un arco uguale non viene inserito una seconda volta
+        assertFalse(g.addEdge(new GraphEdge<String>(ns, nu, true, 3.0)));
+        assertSame(esu, g.getEdge(new GraphNode<String>("s"), nu));
+        assertEquals(10.1, g.getEdge(ns, nu).getWeight());
+        assertNull(g.getEdge(nu, ns));
+        assertEquals(1, g.getIngoingEdgesOf(nu).size());
+        assertThrows(UnsupportedOperationException.class,
+                () -> g.getIngoingEdgesOf(nu).clear());
+        g.clear();
+        g.addNode(ns);
+        g.addNode(nu);
+        assertNull(g.getEdge(ns, nu));
+        assertTrue(g.getIngoingEdgesOf(nu).isEmpty());
+        assertTrue(g.getPredecessorNodesOf(nu).isEmpty());
+        assertEquals(0, g.edgeCount());
+    }
+
+    @Test
+    final void testNodeIndexes() {
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        assertThrows(IndexOutOfBoundsException.class, () -> g.getNodeAtIndex(0));
+        assertThrows(NullPointerException.class, () -> g.getNodeIndexOf(null));
+        assertThrows(IllegalArgumentException.class, () -> g.getNodeIndexOf("s"));
+        GraphNode<String> ns = new GraphNode<String>("s");
+        GraphNode<String> nu = new GraphNode<String>("u");
+        GraphNode<String> nx = new GraphNode<String>("x");
+        g.addNode(ns);
+        g.addNode(nu);
+        g.addNode(ns);
+        g.addNode(nx);
+        assertEquals(0, g.getNodeIndexOf("s"));
+        assertEquals(1, g.getNodeIndexOf("u"));
+        assertEquals(2, g.getNodeIndexOf("x"));
+        assertSame(nu, g.getNodeAtIndex(1));
+        assertSame(nx, g.getNodeOf("x"));
+        assertThrows(IndexOutOfBoundsException.class, () -> g.getNodeAtIndex(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> g.getNodeAtIndex(-1));
+        g.clear();
+        assertNull(g.getNodeOf("x"));
+        g.addNode(nx);
+        assertEquals(0, g.getNodeIndexOf("x"));
+        assertSame(nx, g.getNodeAtIndex(0));
+    }
+
 }
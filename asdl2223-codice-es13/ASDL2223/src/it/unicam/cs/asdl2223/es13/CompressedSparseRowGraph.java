@@ -0,0 +1,623 @@
+package it.unicam.cs.asdl2223.es13;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Implementazione immutabile della classe astratta {@code Graph<L>} con la
+ * rappresentazione "compressed sparse row" (CSR), pensata per grafi molto
+ * grandi che vengono solo letti, ad esempio da algoritmi di cammino minimo.
+ *
+ * I nodi sono numerati con gli indici da 0 a {@code nodeCount() - 1}. Gli
+ * archi uscenti da tutti i nodi sono memorizzati uno dopo l'altro in due array
+ * di tipi primitivi, {@code targets} (indice del nodo destinazione) e
+ * {@code weights} (peso), ordinati per nodo sorgente e, a parità di sorgente,
+ * per nodo destinazione. Gli archi uscenti dal nodo di indice {@code i} sono
+ * quelli con indice nell'intervallo
+ * <code>[offsets[i], offsets[i + 1])</code>. Visitare gli archi uscenti da
+ * un nodo significa quindi leggere posizioni consecutive di memoria. Per i
+ * grafi orientati sono mantenuti allo stesso modo anche gli archi entranti in
+ * ogni nodo, con l'indice del nodo sorgente e l'indice dell'arco negli array
+ * degli archi uscenti. Rispetto a una mappa di insiemi di oggetti
+ * GraphEdge<L>, in un grafo orientato ogni arco occupa così 20 byte (12 per
+ * destinazione e peso, 8 per la riga degli archi entranti); in un grafo non
+ * orientato, dove ogni arco compare in due righe, ne occupa 24.
+ *
+ * Il grafo viene costruito copiando un grafo qualsiasi, oppure direttamente
+ * da array con gli indici delle sorgenti e delle destinazioni degli archi
+ * senza passare da un grafo con un oggetto per ogni arco, e non può essere
+ * modificato: le operazioni di inserimento e rimozione di nodi e archi
+ * lanciano {@code UnsupportedOperationException}. I nodi sono gli stessi
+ * oggetti del grafo di partenza, mentre gli archi restituiti dai metodi di
+ * {@code Graph<L>} sono creati a ogni chiamata: cambiare il loro peso non
+ * cambia questo grafo. Gli algoritmi che vogliono evitare la creazione di
+ * oggetti possono usare direttamente gli indici dei nodi e degli archi con i
+ * metodi {@code getEdgeStart}, {@code getEdgeEnd}, {@code getTargetIndex} e
+ * {@code getWeight}.
+ *
+ * Nel caso di grafo non orientato ogni arco è memorizzato una volta per
+ * ognuno dei due nodi collegati.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ * @param <L>
+ *                etichette dei nodi del grafo
+ */
+public class CompressedSparseRowGraph<L> extends Graph<L> {
+
+    private final boolean directed;
+
+    // numero di archi del grafo di partenza
+    private final int edgeCount;
+
+    // nodi del grafo, in posizione uguale al loro indice
+    private final GraphNode<L>[] nodes;
+
+    // associa a ogni etichetta l'indice del nodo corrispondente
+    private final Map<L, Integer> indexes;
+
+    /*
+     * Archi uscenti: quelli del nodo i hanno indice da offsets[i] incluso a
+     * offsets[i + 1] escluso.
+     */
+    private final int[] offsets;
+
+    private final int[] targets;
+
+    private final double[] weights;
+
+    /*
+     * Archi entranti, solo per grafi orientati: quelli del nodo i sono in
+     * posizione da inOffsets[i] incluso a inOffsets[i + 1] escluso; per ognuno
+     * sources contiene l'indice del nodo sorgente e inEdges l'indice dell'arco
+     * negli array degli archi uscenti.
+     */
+    private final int[] inOffsets;
+
+    private final int[] sources;
+
+    private final int[] inEdges;
+
+    /**
+     * Crea un grafo immutabile con gli stessi nodi e gli stessi archi, con i
+     * relativi pesi, di un grafo dato. I nodi ricevono gli indici nell'ordine
+     * in cui sono restituiti da {@code graph.getNodes()}. Il costo è lineare
+     * nella dimensione del grafo.
+     *
+     * @param graph
+     *                  il grafo da copiare
+     * @throws NullPointerException
+     *                                  se il grafo passato è null
+     */
+    public CompressedSparseRowGraph(Graph<L> graph) {
+        this(Input.of(graph));
+    }
+
+    /**
+     * Crea un grafo orientato immutabile a partire dalle etichette dei nodi e
+     * da tre array paralleli che descrivono gli archi: l'arco k va dal nodo di
+     * indice {@code sources[k]} al nodo di indice {@code targets[k]} e ha peso
+     * {@code weights[k]}. Il nodo di indice i ha etichetta
+     * {@code labels.get(i)}. Gli array non vengono modificati né memorizzati.
+     * Il costo è lineare nel numero di nodi e di archi.
+     *
+     * @param <L>
+     *                    il tipo delle etichette
+     * @param labels
+     *                    le etichette dei nodi, nell'ordine dei loro indici
+     * @param sources
+     *                    gli indici dei nodi sorgente degli archi
+     * @param targets
+     *                    gli indici dei nodi destinazione degli archi
+     * @param weights
+     *                    i pesi degli archi
+     * @return il grafo orientato con i nodi e gli archi dati
+     * @throws NullPointerException
+     *                                      se almeno un parametro o
+     *                                      un'etichetta è null
+     * @throws IllegalArgumentException
+     *                                      se gli array degli archi non hanno
+     *                                      la stessa lunghezza, se ci sono
+     *                                      etichette ripetute, se un indice
+     *                                      non corrisponde a un nodo o se lo
+     *                                      stesso arco compare più volte
+     */
+    public static <L> CompressedSparseRowGraph<L> fromEdgeArrays(
+            List<L> labels, int[] sources, int[] targets, double[] weights) {
+        return new CompressedSparseRowGraph<L>(
+                Input.of(labels, sources, targets, weights));
+    }
+
+    /*
+     * Costruisce le righe degli archi uscenti e, per i grafi orientati,
+     * entranti a partire dagli archi in ordine qualsiasi.
+     */
+    private CompressedSparseRowGraph(Input<L> in) {
+        this.directed = in.directed;
+        this.nodes = in.nodes;
+        this.indexes = in.indexes;
+        this.edgeCount = in.edgeCount;
+        int n = this.nodes.length;
+        int m = in.m;
+        int[] src = in.src;
+        int[] dst = in.dst;
+        double[] w = in.w;
+        // Raggruppo gli archi per destinazione (ordinamento per conteggio)
+        int[] byTarget = new int[n + 1];
+        for (int k = 0; k < m; k++)
+            byTarget[dst[k] + 1]++;
+        for (int v = 0; v < n; v++)
+            byTarget[v + 1] += byTarget[v];
+        int[] order = new int[m];
+        int[] next = Arrays.copyOf(byTarget, n);
+        for (int k = 0; k < m; k++)
+            order[next[dst[k]]++] = k;
+        // Distribuisco gli archi nelle righe delle sorgenti prendendoli in
+        // ordine di destinazione: ogni riga risulta ordinata
+        this.offsets = new int[n + 1];
+        for (int k = 0; k < m; k++)
+            this.offsets[src[k] + 1]++;
+        for (int u = 0; u < n; u++)
+            this.offsets[u + 1] += this.offsets[u];
+        this.targets = new int[m];
+        this.weights = new double[m];
+        next = Arrays.copyOf(this.offsets, n);
+        for (int k : order) {
+            int pos = next[src[k]]++;
+            // in una riga ordinata due archi uguali sono consecutivi
+            if (pos > this.offsets[src[k]] && this.targets[pos - 1] == dst[k])
+                throw new IllegalArgumentException(
+                        "Arco ripetuto da " + src[k] + " a " + dst[k]);
+            this.targets[pos] = dst[k];
+            this.weights[pos] = w[k];
+        }
+        if (!this.directed) {
+            this.inOffsets = null;
+            this.sources = null;
+            this.inEdges = null;
+            return;
+        }
+        // Archi entranti: scorrendo le righe in ordine anche gli archi
+        // entranti in ogni nodo risultano ordinati per sorgente
+        this.inOffsets = byTarget;
+        this.sources = new int[m];
+        this.inEdges = new int[m];
+        next = Arrays.copyOf(this.inOffsets, n);
+        for (int u = 0; u < n; u++)
+            for (int e = this.offsets[u]; e < this.offsets[u + 1]; e++) {
+                int pos = next[this.targets[e]]++;
+                this.sources[pos] = u;
+                this.inEdges[pos] = e;
+            }
+    }
+
+    /*
+     * Dati di partenza per la costruzione: nodi, indici delle etichette e
+     * archi in tre array paralleli, di cui sono significative le prime m
+     * posizioni.
+     */
+    private static final class Input<L> {
+        boolean directed;
+
+        int edgeCount;
+
+        GraphNode<L>[] nodes;
+
+        Map<L, Integer> indexes;
+
+        int m;
+
+        int[] src;
+
+        int[] dst;
+
+        double[] w;
+
+        /*
+         * Copia nodi e archi di un grafo; nel caso non orientato ogni arco che
+         * non è un cappio compare in entrambe le direzioni.
+         */
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        static <L> Input<L> of(Graph<L> graph) {
+            if (graph == null)
+                throw new NullPointerException(
+                        "Tentativo di costruire un grafo da un grafo null");
+            Input<L> in = new Input<L>();
+            in.directed = graph.isDirected();
+            in.nodes = (GraphNode<L>[]) new GraphNode[graph.nodeCount()];
+            in.indexes = new HashMap<L, Integer>();
+            int i = 0;
+            for (GraphNode<L> node : graph.getNodes()) {
+                in.nodes[i] = node;
+                in.indexes.put(node.getLabel(), i);
+                i++;
+            }
+            Set<GraphEdge<L>> edges = graph.getEdges();
+            in.edgeCount = edges.size();
+            int size = in.directed ? edges.size() : 2 * edges.size();
+            in.src = new int[size];
+            in.dst = new int[size];
+            in.w = new double[size];
+            for (GraphEdge<L> e : edges) {
+                int u = in.indexes.get(e.getNode1().getLabel());
+                int v = in.indexes.get(e.getNode2().getLabel());
+                in.add(u, v, e.getWeight());
+                if (!in.directed && u != v)
+                    in.add(v, u, e.getWeight());
+            }
+            return in;
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        static <L> Input<L> of(List<L> labels, int[] sources, int[] targets,
+                double[] weights) {
+            if (labels == null || sources == null || targets == null
+                    || weights == null)
+                throw new NullPointerException(
+                        "Tentativo di costruire un grafo da dati null");
+            if (sources.length != targets.length
+                    || sources.length != weights.length)
+                throw new IllegalArgumentException(
+                        "Array degli archi di lunghezza diversa");
+            Input<L> in = new Input<L>();
+            in.directed = true;
+            in.nodes = (GraphNode<L>[]) new GraphNode[labels.size()];
+            in.indexes = new HashMap<L, Integer>();
+            int i = 0;
+            for (L label : labels) {
+                in.nodes[i] = new GraphNode<L>(label);
+                if (in.indexes.put(label, i) != null)
+                    throw new IllegalArgumentException(
+                            "Etichetta ripetuta: " + label);
+                i++;
+            }
+            for (int k = 0; k < sources.length; k++)
+                if (sources[k] < 0 || sources[k] >= i || targets[k] < 0
+                        || targets[k] >= i)
+                    throw new IllegalArgumentException(
+                            "Arco con un indice di nodo non valido: " + k);
+            in.edgeCount = sources.length;
+            in.m = sources.length;
+            in.src = sources;
+            in.dst = targets;
+            in.w = weights;
+            return in;
+        }
+
+        private void add(int u, int v, double weight) {
+            this.src[this.m] = u;
+            this.dst[this.m] = v;
+            this.w[this.m++] = weight;
+        }
+    }
+
+    @Override
+    public int nodeCount() {
+        return this.nodes.length;
+    }
+
+    @Override
+    public int edgeCount() {
+        return this.edgeCount;
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException(
+                "Modifica di un grafo immutabile");
+    }
+
+    @Override
+    public boolean isDirected() {
+        return this.directed;
+    }
+
+    /*
+     * Restituisce una vista non modificabile sull'array dei nodi, senza
+     * copiarli.
+     */
+    @Override
+    public Set<GraphNode<L>> getNodes() {
+        return new AbstractSet<GraphNode<L>>() {
+            @Override
+            public Iterator<GraphNode<L>> iterator() {
+                return new Iterator<GraphNode<L>>() {
+                    private int i = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.i < CompressedSparseRowGraph.this.nodes.length;
+                    }
+
+                    @Override
+                    public GraphNode<L> next() {
+                        if (!hasNext())
+                            throw new NoSuchElementException(
+                                    "Richiesta di next quando hasNext è falso");
+                        return CompressedSparseRowGraph.this.nodes[this.i++];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CompressedSparseRowGraph.this.nodes.length;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof GraphNode))
+                    return false;
+                return CompressedSparseRowGraph.this.indexes
+                        .containsKey(((GraphNode<?>) o).getLabel());
+            }
+        };
+    }
+
+    @Override
+    public boolean addNode(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException(
+                    "Tentativo di aggiungere un nodo null");
+        throw new UnsupportedOperationException(
+                "Modifica di un grafo immutabile");
+    }
+
+    @Override
+    public boolean removeNode(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException(
+                    "Tentativo di rimuovere un nodo null");
+        throw new UnsupportedOperationException(
+                "Modifica di un grafo immutabile");
+    }
+
+    @Override
+    public boolean containsNode(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException("Tentativo di cercare un nodo null");
+        return this.indexes.containsKey(node.getLabel());
+    }
+
+    @Override
+    public GraphNode<L> getNodeOf(L label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Tentativo di cercare un nodo con etichetta null");
+        Integer i = this.indexes.get(label);
+        return i == null ? null : this.nodes[i];
+    }
+
+    @Override
+    public int getNodeIndexOf(L label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Tentativo di ricercare un nodo con etichetta null");
+        Integer i = this.indexes.get(label);
+        if (i == null)
+            throw new IllegalArgumentException(
+                    "Richiesta dell'indice di un nodo non esistente");
+        return i;
+    }
+
+    @Override
+    public GraphNode<L> getNodeAtIndex(int i) {
+        checkNodeIndex(i);
+        return this.nodes[i];
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(GraphNode<L> node) {
+        int u = indexOf(node);
+        Set<GraphNode<L>> result = new HashSet<GraphNode<L>>();
+        for (int e = this.offsets[u]; e < this.offsets[u + 1]; e++)
+            result.add(this.nodes[this.targets[e]]);
+        return result;
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(GraphNode<L> node) {
+        int v = indexOf(node);
+        if (!this.directed)
+            throw new UnsupportedOperationException(
+                    "Richiesta dei predecessori in un grafo non orientato");
+        Set<GraphNode<L>> result = new HashSet<GraphNode<L>>();
+        for (int k = this.inOffsets[v]; k < this.inOffsets[v + 1]; k++)
+            result.add(this.nodes[this.sources[k]]);
+        return result;
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdges() {
+        Set<GraphEdge<L>> result = new HashSet<GraphEdge<L>>();
+        for (int u = 0; u < this.nodes.length; u++)
+            for (int e = this.offsets[u]; e < this.offsets[u + 1]; e++)
+                // nel caso non orientato prendo ogni arco una volta sola
+                if (this.directed || u <= this.targets[e])
+                    result.add(edgeAt(u, e));
+        return result;
+    }
+
+    @Override
+    public boolean addEdge(GraphEdge<L> edge) {
+        if (edge == null)
+            throw new NullPointerException("Tentativo di inserire arco nullo");
+        throw new UnsupportedOperationException(
+                "Modifica di un grafo immutabile");
+    }
+
+    @Override
+    public boolean removeEdge(GraphEdge<L> edge) {
+        if (edge == null)
+            throw new NullPointerException("Tentativo di rimuovere arco nullo");
+        throw new UnsupportedOperationException(
+                "Modifica di un grafo immutabile");
+    }
+
+    @Override
+    public boolean containsEdge(GraphEdge<L> edge) {
+        if (edge == null)
+            throw new NullPointerException(
+                    "Tentativo di cercare un arco nullo");
+        Integer u = this.indexes.get(edge.getNode1().getLabel());
+        Integer v = this.indexes.get(edge.getNode2().getLabel());
+        if (u == null || v == null)
+            throw new IllegalArgumentException(
+                    "Ricerca di un arco con almeno uno dei due nodi collegati non esistente");
+        return edge.isDirected() == this.directed && getEdgeIndex(u, v) >= 0;
+    }
+
+    /*
+     * Ricerca binaria fra gli archi uscenti da node1, che sono ordinati per
+     * destinazione.
+     */
+    @Override
+    public GraphEdge<L> getEdge(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null)
+            throw new NullPointerException(
+                    "Tentativo di cercare un arco con un nodo null");
+        int u = indexOf(node1);
+        int e = getEdgeIndex(u, indexOf(node2));
+        return e < 0 ? null : edgeAt(u, e);
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node) {
+        int u = indexOf(node);
+        Set<GraphEdge<L>> result = new HashSet<GraphEdge<L>>();
+        for (int e = this.offsets[u]; e < this.offsets[u + 1]; e++)
+            result.add(edgeAt(u, e));
+        return result;
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
+        int v = indexOf(node);
+        if (!this.directed)
+            throw new UnsupportedOperationException(
+                    "Richiesta degli archi entranti in un grafo non orientato");
+        Set<GraphEdge<L>> result = new HashSet<GraphEdge<L>>();
+        for (int k = this.inOffsets[v]; k < this.inOffsets[v + 1]; k++)
+            result.add(edgeAt(this.sources[k], this.inEdges[k]));
+        return result;
+    }
+
+    /**
+     * Restituisce l'indice del primo arco uscente da un nodo. Gli archi
+     * uscenti dal nodo hanno indici consecutivi da
+     * {@code getEdgeStart(i)} incluso a {@code getEdgeEnd(i)} escluso.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return l'indice del primo arco uscente dal nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice del nodo non è
+     *                                       compreso fra 0 e
+     *                                       {@code nodeCount() - 1}
+     */
+    public int getEdgeStart(int i) {
+        checkNodeIndex(i);
+        return this.offsets[i];
+    }
+
+    /**
+     * Restituisce l'indice successivo all'ultimo arco uscente da un nodo.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return l'indice successivo all'ultimo arco uscente dal nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice del nodo non è
+     *                                       compreso fra 0 e
+     *                                       {@code nodeCount() - 1}
+     */
+    public int getEdgeEnd(int i) {
+        checkNodeIndex(i);
+        return this.offsets[i + 1];
+    }
+
+    /**
+     * Restituisce l'indice del nodo destinazione di un arco.
+     *
+     * @param e
+     *              l'indice dell'arco
+     * @return l'indice del nodo in cui entra l'arco
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice dell'arco non è valido
+     */
+    public int getTargetIndex(int e) {
+        return this.targets[e];
+    }
+
+    /**
+     * Restituisce il peso di un arco.
+     *
+     * @param e
+     *              l'indice dell'arco
+     * @return il peso dell'arco, {@code Double.NaN} se l'arco non è pesato
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice dell'arco non è valido
+     */
+    public double getWeight(int e) {
+        return this.weights[e];
+    }
+
+    /**
+     * Cerca l'arco che collega due nodi dati tramite i loro indici, in tempo
+     * O(log(archi uscenti da i)).
+     *
+     * @param i
+     *              l'indice del primo nodo (la sorgente se il grafo è
+     *              orientato)
+     * @param j
+     *              l'indice del secondo nodo
+     * @return l'indice dell'arco da {@code i} a {@code j}, -1 se non esiste
+     * @throws IndexOutOfBoundsException
+     *                                       se almeno uno dei due indici non è
+     *                                       compreso fra 0 e
+     *                                       {@code nodeCount() - 1}
+     */
+    public int getEdgeIndex(int i, int j) {
+        checkNodeIndex(i);
+        checkNodeIndex(j);
+        int e = Arrays.binarySearch(this.targets, this.offsets[i],
+                this.offsets[i + 1], j);
+        return e < 0 ? -1 : e;
+    }
+
+    private void checkNodeIndex(int i) {
+        if (i < 0 || i >= this.nodes.length)
+            throw new IndexOutOfBoundsException(
+                    "Indice di nodo fuori dai limiti: " + i);
+    }
+
+    /*
+     * Restituisce l'indice di un nodo controllando che non sia null e che
+     * esista in questo grafo.
+     */
+    private int indexOf(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException("Tentativo di usare un nodo null");
+        Integer i = this.indexes.get(node.getLabel());
+        if (i == null)
+            throw new IllegalArgumentException(
+                    "Richiesta relativa a un nodo non esistente");
+        return i;
+    }
+
+    /*
+     * Crea l'oggetto arco corrispondente all'arco di indice e uscente da u.
+     */
+    private GraphEdge<L> edgeAt(int u, int e) {
+        return new GraphEdge<L>(this.nodes[u], this.nodes[this.targets[e]],
+                this.directed, this.weights[e]);
+    }
+
+}
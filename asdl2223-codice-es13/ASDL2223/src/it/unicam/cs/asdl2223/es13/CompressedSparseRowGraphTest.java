@@ -0,0 +1,179 @@
+package it.unicam.cs.asdl2223.es13;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class CompressedSparseRowGraphTest {
+
+    /*
+     * Grafo orientato pesato con nodi s, u, x, y, w, z
+     */
+    private static Graph<String> sample() {
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<String>("s");
+        GraphNode<String> nu = new GraphNode<String>("u");
+        GraphNode<String> nx = new GraphNode<String>("x");
+        GraphNode<String> ny = new GraphNode<String>("y");
+        GraphNode<String> nw = new GraphNode<String>("w");
+        GraphNode<String> nz = new GraphNode<String>("z");
+        g.addNode(ns);
+        g.addNode(nu);
+        g.addNode(nx);
+        g.addNode(ny);
+        g.addNode(nw);
+        g.addNode(nz);
+        g.addEdge(new GraphEdge<String>(ns, nu, true, 10.1));
+        g.addEdge(new GraphEdge<String>(ns, nx, true, 5.12));
+        g.addEdge(new GraphEdge<String>(nu, nx, true, 2.05));
+        g.addEdge(new GraphEdge<String>(nx, nu, true, 3.04));
+        g.addEdge(new GraphEdge<String>(nx, ny, true, 2.0));
+        g.addEdge(new GraphEdge<String>(ny, ns, true, 7.03));
+        g.addEdge(new GraphEdge<String>(nu, nw, true, 7.07));
+        g.addEdge(new GraphEdge<String>(nz, ny, true, 7.107));
+        return g;
+    }
+
+    @Test
+    final void testCompressedSparseRowGraph() {
+        assertThrows(NullPointerException.class,
+                () -> new CompressedSparseRowGraph<String>(null));
+        Graph<String> empty = new CompressedSparseRowGraph<String>(
+                new MapAdjacentListDirectedGraph<String>());
+        assertTrue(empty.isEmpty());
+        assertTrue(empty.getEdges().isEmpty());
+        Graph<String> g = sample();
+        Graph<String> c = new CompressedSparseRowGraph<String>(g);
+        assertTrue(c.isDirected());
+        assertEquals(g.nodeCount(), c.nodeCount());
+        assertEquals(g.edgeCount(), c.edgeCount());
+        assertEquals(g.getNodes(), c.getNodes());
+        assertEquals(g.getEdges(), c.getEdges());
+        for (GraphNode<String> n : g.getNodes()) {
+            assertTrue(c.containsNode(n));
+            assertEquals(g.getEdgesOf(n), c.getEdgesOf(n));
+            assertEquals(g.getIngoingEdgesOf(n), c.getIngoingEdgesOf(n));
+            assertEquals(g.getAdjacentNodesOf(n), c.getAdjacentNodesOf(n));
+            assertEquals(g.getPredecessorNodesOf(n),
+                    c.getPredecessorNodesOf(n));
+            assertEquals(g.getDegreeOf(n), c.getDegreeOf(n));
+        }
+        assertFalse(c.containsNode(new GraphNode<String>("a")));
+        assertThrows(IllegalArgumentException.class,
+                () -> c.getEdgesOf(new GraphNode<String>("a")));
+    }
+
+    @Test
+    final void testImmutable() {
+        Graph<String> c = new CompressedSparseRowGraph<String>(sample());
+        GraphNode<String> ns = c.getNodeOf("s");
+        GraphNode<String> nu = c.getNodeOf("u");
+        assertThrows(UnsupportedOperationException.class, () -> c.clear());
+        assertThrows(UnsupportedOperationException.class,
+                () -> c.addNode(new GraphNode<String>("a")));
+        assertThrows(UnsupportedOperationException.class,
+                () -> c.addEdge(new GraphEdge<String>(nu, ns, true)));
+        assertThrows(UnsupportedOperationException.class,
+                () -> c.removeEdge(new GraphEdge<String>(ns, nu, true)));
+        assertThrows(UnsupportedOperationException.class,
+                () -> c.getNodes().remove(ns));
+        // cambiare il peso di un arco restituito non cambia il grafo
+        c.getEdge(ns, nu).setWeight(1.0);
+        assertEquals(10.1, c.getEdge(ns, nu).getWeight());
+        assertEquals(8, c.edgeCount());
+    }
+
+    @Test
+    final void testIndexes() {
+        CompressedSparseRowGraph<String> c = new CompressedSparseRowGraph<String>(
+                sample());
+        Set<String> labels = new HashSet<String>();
+        for (int i = 0; i < c.nodeCount(); i++) {
+            GraphNode<String> n = c.getNodeAtIndex(i);
+            assertEquals(i, c.getNodeIndexOf(n.getLabel()));
+            assertSame(n, c.getNodeOf(n.getLabel()));
+            labels.add(n.getLabel());
+        }
+        assertEquals(6, labels.size());
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> c.getNodeAtIndex(6));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> c.getNodeAtIndex(-1));
+        assertThrows(NullPointerException.class, () -> c.getNodeIndexOf(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> c.getNodeIndexOf("a"));
+        assertNull(c.getNodeOf("a"));
+        // archi uscenti da u in ordine di indice di destinazione
+        int u = c.getNodeIndexOf("u");
+        assertEquals(2, c.getEdgeEnd(u) - c.getEdgeStart(u));
+        Set<String> targets = new HashSet<String>();
+        for (int e = c.getEdgeStart(u); e < c.getEdgeEnd(u); e++) {
+            if (e > c.getEdgeStart(u))
+                assertTrue(c.getTargetIndex(e - 1) < c.getTargetIndex(e));
+            targets.add(c.getNodeAtIndex(c.getTargetIndex(e)).getLabel());
+        }
+        assertEquals(Set.of("x", "w"), targets);
+        int e = c.getEdgeIndex(u, c.getNodeIndexOf("w"));
+        assertEquals(7.07, c.getWeight(e));
+        assertEquals(-1, c.getEdgeIndex(u, c.getNodeIndexOf("s")));
+        assertEquals(0, c.getEdgeEnd(c.getNodeIndexOf("w"))
+                - c.getEdgeStart(c.getNodeIndexOf("w")));
+    }
+
+    @Test
+    final void testGetEdge() {
+        Graph<String> c = new CompressedSparseRowGraph<String>(sample());
+        GraphNode<String> ns = new GraphNode<String>("s");
+        GraphNode<String> nx = new GraphNode<String>("x");
+        assertEquals(5.12, c.getEdge(ns, nx).getWeight());
+        assertNull(c.getEdge(nx, ns));
+        assertTrue(c.containsEdge(new GraphEdge<String>(ns, nx, true)));
+        assertFalse(c.containsEdge(new GraphEdge<String>(nx, ns, true)));
+        assertFalse(c.containsEdge(new GraphEdge<String>(ns, nx, false)));
+        assertThrows(IllegalArgumentException.class,
+                () -> c.getEdge(ns, new GraphNode<String>("a")));
+        assertThrows(NullPointerException.class, () -> c.getEdge(null, ns));
+    }
+
+    @Test
+    final void testFromEdgeArrays() {
+        List<String> labels = List.of("a", "b", "c");
+        int[] sources = { 0, 2, 0, 1 };
+        int[] targets = { 2, 1, 1, 2 };
+        double[] weights = { 1.0, 2.0, 3.0, 4.0 };
+        CompressedSparseRowGraph<String> c = CompressedSparseRowGraph
+                .fromEdgeArrays(labels, sources, targets, weights);
+        assertTrue(c.isDirected());
+        assertEquals(3, c.nodeCount());
+        assertEquals(4, c.edgeCount());
+        assertEquals(1, c.getNodeIndexOf("b"));
+        assertEquals(3.0, c.getEdge(c.getNodeOf("a"), c.getNodeOf("b"))
+                .getWeight());
+        assertEquals(2, c.getIngoingEdgesOf(c.getNodeOf("c")).size());
+        assertEquals(Set.of(c.getNodeOf("a"), c.getNodeOf("c")),
+                c.getPredecessorNodesOf(c.getNodeOf("b")));
+        // gli array passati non vengono modificati
+        assertArrayEquals(new int[] { 0, 2, 0, 1 }, sources);
+        assertThrows(NullPointerException.class, () -> CompressedSparseRowGraph
+                .fromEdgeArrays(null, sources, targets, weights));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompressedSparseRowGraph.fromEdgeArrays(labels,
+                        sources, targets, new double[3]));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompressedSparseRowGraph.fromEdgeArrays(
+                        List.of("a", "a", "c"), sources, targets, weights));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompressedSparseRowGraph.fromEdgeArrays(labels,
+                        new int[] { 0, 3 }, new int[] { 1, 1 },
+                        new double[2]));
+        assertThrows(IllegalArgumentException.class,
+                () -> CompressedSparseRowGraph.fromEdgeArrays(labels,
+                        new int[] { 0, 0 }, new int[] { 1, 1 },
+                        new double[2]));
+    }
+
+}
@@ -0,0 +1,170 @@
+package it.unicam.cs.asdl2223.es13;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Misura il tempo di calcolo dei cammini minimi con
+ * {@link DijkstraShortestPathComputer} su grafi orientati casuali di
+ * dimensione crescente, da 10^4 a 10^7 nodi, in cui ogni nodo ha
+ * {@code DEGREE} archi uscenti verso nodi distinti con pesi casuali. Per ogni
+ * dimensione il grafo viene costruito come {@link CompressedSparseRowGraph} e,
+ * finché il numero di nodi non supera {@code MAX_MAP_GRAPH_NODES}, anche come
+ * {@link MapAdjacentListDirectedGraph}; su ogni grafo viene eseguito il calcolo
+ * da {@code NUMBER_OF_SAMPLES} sorgenti casuali. I tempi in nanosecondi sono
+ * scritti su un file .csv (Comma Separated Values); il tempo sul grafo a mappe
+ * è vuoto per le dimensioni per cui non viene misurato.
+ *
+ * Il main può essere chiamato con il nome della directory di destinazione del
+ * file come primo parametro di linea di comando e con l'esponente della
+ * dimensione massima come secondo parametro. Se non è presente nessun
+ * parametro allora si assume la directory corrente e la dimensione 10^7, che
+ * richiede alcuni GB di memoria (ad esempio {@code -Xmx8g}).
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ */
+public class DijkstraEvaluationFramework {
+
+    /**
+     * Numero di archi uscenti da ogni nodo
+     */
+    public static final int DEGREE = 4;
+
+    /**
+     * Esponente della dimensione minima dei grafi
+     */
+    public static final int MIN_EXPONENT = 4;
+
+    /**
+     * Esponente della dimensione massima predefinita dei grafi
+     */
+    public static final int MAX_EXPONENT = 7;
+
+    /**
+     * Numero massimo di nodi per cui viene misurato anche il grafo a mappe
+     */
+    public static final int MAX_MAP_GRAPH_NODES = 100000;
+
+    /**
+     * Numero di sorgenti per ogni grafo (la prima serve da riscaldamento)
+     */
+    public static final int NUMBER_OF_SAMPLES = 5;
+
+    /**
+     * Seme del generatore casuale, per avere sempre gli stessi grafi
+     */
+    public static final long SEED = 20230501L;
+
+    public static void main(String[] args) {
+        String dirName = null;
+        if (args.length > 0)
+            dirName = args[0];
+        else
+            dirName = ".";
+        int maxExponent = MAX_EXPONENT;
+        if (args.length > 1)
+            maxExponent = Integer.parseInt(args[1]);
+        PrintStream o = null;
+        try {
+            o = new PrintStream(new File(dirName + "/" + "dijkstrascaling.csv"));
+        } catch (FileNotFoundException e) {
+            System.out.println("Errore creazione file di ouput" + dirName + "/"
+                    + "dijkstrascaling.csv");
+            System.exit(1);
+        }
+        o.print("Nodes,Edges,Sample,CsrTns,MapTns\n");
+        Random r = new Random(SEED);
+        int n = 1;
+        for (int i = 0; i < MIN_EXPONENT; i++)
+            n *= 10;
+        for (int exp = MIN_EXPONENT; exp <= maxExponent; exp++, n *= 10) {
+            int m = n * DEGREE;
+            int[] sources = new int[m];
+            int[] targets = new int[m];
+            double[] weights = new double[m];
+            randomEdges(r, n, sources, targets, weights);
+            CompressedSparseRowGraph<Integer> csr = CompressedSparseRowGraph
+                    .fromEdgeArrays(labels(n), sources, targets, weights);
+            Graph<Integer> map = null;
+            if (n <= MAX_MAP_GRAPH_NODES)
+                map = new MapAdjacentListDirectedGraph<Integer>();
+            if (map != null) {
+                for (int u = 0; u < n; u++)
+                    map.addNode(csr.getNodeAtIndex(u));
+                for (int k = 0; k < m; k++)
+                    map.addEdge(new GraphEdge<Integer>(
+                            csr.getNodeAtIndex(sources[k]),
+                            csr.getNodeAtIndex(targets[k]), true, weights[k]));
+            }
+            // gli array servono solo alla costruzione
+            sources = null;
+            targets = null;
+            weights = null;
+            for (int s = 0; s < NUMBER_OF_SAMPLES; s++) {
+                GraphNode<Integer> source = csr.getNodeAtIndex(r.nextInt(n));
+                long csrTime = run(csr, source);
+                String mapTime = map == null ? "" : "" + run(map, source);
+                o.print(n + "," + m + "," + s + "," + csrTime + "," + mapTime
+                        + "\n");
+                System.out.println("Completata prova con " + n
+                        + " nodi, campione " + s);
+            }
+        }
+        o.close();
+    } // end main
+
+    /*
+     * Restituisce il tempo in nanosecondi del calcolo dei cammini minimi da
+     * una sorgente.
+     */
+    private static long run(Graph<Integer> g, GraphNode<Integer> source) {
+        DijkstraShortestPathComputer<Integer> c = new DijkstraShortestPathComputer<Integer>(
+                g);
+        long startTimeNano = System.nanoTime();
+        c.computeShortestPathsFrom(source);
+        return System.nanoTime() - startTimeNano;
+    }
+
+    /*
+     * Riempie gli array con DEGREE archi uscenti da ogni nodo: il j-esimo
+     * arco di u va in un nodo casuale della j-esima fascia dei nodi che
+     * seguono u in ordine circolare, per cui le destinazioni sono distinte e
+     * diverse da u. Il primo arco di ogni nodo va sempre nel successivo, così
+     * tutti i nodi sono raggiungibili da qualsiasi sorgente.
+     */
+    private static void randomEdges(Random r, int n, int[] sources,
+            int[] targets, double[] weights) {
+        int band = (n - 1) / DEGREE;
+        int k = 0;
+        for (int u = 0; u < n; u++)
+            for (int j = 0; j < DEGREE; j++) {
+                int offset = j == 0 ? 1 : 1 + j * band + r.nextInt(band);
+                sources[k] = u;
+                targets[k] = (u + offset) % n;
+                weights[k++] = 1 + r.nextInt(100);
+            }
+    }
+
+    /*
+     * Le etichette 0, 1, ..., n - 1 senza memorizzarle in una lista.
+     */
+    private static List<Integer> labels(int n) {
+        return new AbstractList<Integer>() {
+            @Override
+            public Integer get(int index) {
+                return index;
+            }
+
+            @Override
+            public int size() {
+                return n;
+            }
+        };
+    }
+
+}
@@ -3,13 +3,23 @@ package it.unicam.cs.asdl2223.es13;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Classe che implementa l'algoritmo di Dijkstra per il calcolo dei cammini
- * minimi da una sorgente singola. L'algoritmo usa una coda con priorità
- * inefficiente (implementata con una List) che per estrarre il minimo impiega
- * O(n).
+ * minimi da una sorgente singola. La coda con priorità è uno heap binario
+ * indicizzato ({@code IndexedMinHeap}) che contiene gli indici dei nodi già
+ * raggiunti ma non ancora definitivi, con priorità uguale alla distanza
+ * corrente: estrazione del minimo e diminuzione della distanza di un nodo
+ * costano O(log n), per cui il calcolo costa O((n + m) log n) con n nodi e m
+ * archi. Se il grafo è un {@code CompressedSparseRowGraph<L>} gli archi uscenti
+ * vengono letti direttamente dai suoi array, senza creare oggetti.
+ *
+ * Le distanze, i predecessori e i colori dei nodi non vengono scritti nei nodi
+ * del grafo ma in un oggetto {@code GraphTraversalState<L>} creato a ogni
+ * calcolo e indicizzato con gli indici dei nodi: il grafo viene solo letto, per
+ * cui più calcolatori possono lavorare contemporaneamente sullo stesso grafo,
+ * anche da thread diversi. Il grafo deve supportare le operazioni indicizzate
+ * sui nodi.
  *
  * @param <L> le etichette dei nodi del grafo
  * @author Template: Luca Tesei, Implementazione: collettiva
@@ -25,10 +35,10 @@ public class DijkstraShortestPathComputer<L> implements SingleSourceShortestPath
     private boolean isComputed = false;
 
     /*
-     * Contiene i nodi ancora da analizzare, la coda con priorità viene gestita
-     * tramite lista e l'elemento minimo viene cercato e rimosso con costo O(n)
+     * Distanze, predecessori e colori calcolati dall'ultima esecuzione. Un nodo
+     * è nero quando è stato estratto dalla coda e la sua distanza è definitiva.
      */
-    private List<GraphNode<L>> queue;
+    private GraphTraversalState<L> state;
 
     /**
      * Crea un calcolatore di cammini minimi a sorgente singola per un grafo
@@ -51,9 +61,19 @@ public class DijkstraShortestPathComputer<L> implements SingleSourceShortestPath
         if (graph.isEmpty() || !graph.isDirected()) {
             throw new IllegalArgumentException();
         }
-        for (GraphEdge<L> edge : graph.getEdges()) {
-            if (edge.getWeight() == Double.NaN || edge.getWeight() < 0) {
-                throw new IllegalArgumentException();
+        if (graph instanceof CompressedSparseRowGraph) {
+            // controllo i pesi direttamente negli array, senza creare gli archi
+            CompressedSparseRowGraph<L> csr = (CompressedSparseRowGraph<L>) graph;
+            for (int e = 0; e < csr.getEdgeEnd(csr.nodeCount() - 1); e++) {
+                if (Double.isNaN(csr.getWeight(e)) || csr.getWeight(e) < 0) {
+                    throw new IllegalArgumentException();
+                }
+            }
+        } else {
+            for (GraphEdge<L> edge : graph.getEdges()) {
+                if (!edge.hasWeight() || edge.getWeight() < 0) {
+                    throw new IllegalArgumentException();
+                }
             }
         }
         this.grafo = graph;
@@ -61,17 +81,30 @@ public class DijkstraShortestPathComputer<L> implements SingleSourceShortestPath
 
     @Override
     public void computeShortestPathsFrom(GraphNode<L> sourceNode) {
-        this.lastSource = sourceNode;
-        this.initializeSingleSource(grafo, sourceNode);
-        List<GraphNode<L>> pesi = new ArrayList<>();
-        this.queue = new ArrayList<>(this.grafo.getNodes());
-        while (!this.queue.isEmpty()) {
-            GraphNode<L> u = this.extractMinNode();
-            pesi.add(u);
-            for (GraphNode<L> v : this.grafo.getAdjacentNodesOf(u)) {
-                this.relax(u, v);
+        if (sourceNode == null)
+            throw new NullPointerException("Nodo sorgente nullo");
+        if (!this.grafo.containsNode(sourceNode))
+            throw new IllegalArgumentException("Nodo sorgente non presente nel grafo");
+        GraphTraversalState<L> s = this.initializeSingleSource(sourceNode);
+        IndexedMinHeap queue = new IndexedMinHeap(this.grafo.nodeCount());
+        queue.insert(this.grafo.getNodeIndexOf(sourceNode.getLabel()), 0);
+        CompressedSparseRowGraph<L> csr = this.grafo instanceof CompressedSparseRowGraph
+                ? (CompressedSparseRowGraph<L>) this.grafo : null;
+        while (!queue.isEmpty()) {
+            int u = queue.extractMin();
+            s.setColor(u, GraphNode.COLOR_BLACK);
+            if (csr != null) {
+                for (int e = csr.getEdgeStart(u); e < csr.getEdgeEnd(u); e++) {
+                    this.relax(s, queue, u, csr.getTargetIndex(e), csr.getWeight(e));
+                }
+            } else {
+                for (GraphEdge<L> edge : this.grafo.getEdgesOf(this.grafo.getNodeAtIndex(u))) {
+                    this.relax(s, queue, u, this.grafo.getNodeIndexOf(edge.getNode2().getLabel()), edge.getWeight());
+                }
             }
         }
+        this.state = s;
+        this.lastSource = sourceNode;
         this.isComputed = true;
     }
 
@@ -92,78 +125,69 @@ public class DijkstraShortestPathComputer<L> implements SingleSourceShortestPath
         return this.grafo;
     }
 
+    /**
+     * Restituisce le distanze e i predecessori calcolati nell'ultima
+     * esecuzione. Per ottenere le informazioni nei nodi del grafo, come nelle
+     * versioni precedenti di questa classe, basta chiamare
+     * {@code copyToNodes()} sull'oggetto restituito.
+     *
+     * @return lo stato dei nodi calcolato dall'ultima esecuzione
+     * @throws IllegalStateException se non sono mai stati calcolati i cammini
+     *                               minimi
+     */
+    public GraphTraversalState<L> getTraversalState() {
+        if (!this.isComputed)
+            throw new IllegalStateException("Richiesto lo stato, ma non " + "sono mai stati calcolati i cammini minimi");
+        return this.state;
+    }
+
     @Override
     public List<GraphEdge<L>> getShortestPathTo(GraphNode<L> targetNode) {
-        if (this.lastSource.equals(targetNode)) {
-            return new ArrayList<>();
+        if (targetNode == null)
+            throw new NullPointerException("Nodo destinazione nullo");
+        if (!this.grafo.containsNode(targetNode))
+            throw new IllegalArgumentException("Nodo destinazione non presente nel grafo");
+        if (!this.isComputed)
+            throw new IllegalStateException("Richiesto un cammino, ma non " + "sono mai stati calcolati i cammini minimi");
+        int v = this.grafo.getNodeIndexOf(targetNode.getLabel());
+        if (this.state.getFloatingPointDistance(v) == Double.POSITIVE_INFINITY) {
+            // il nodo non è raggiungibile dalla sorgente
+            return null;
         }
         List<GraphEdge<L>> shortestPath = new ArrayList<>();
-
-        GraphNode<L> node1 = this.grafo.getNodeOf(targetNode.getLabel()).getPrevious();
-        GraphNode<L> node2 = this.grafo.getNodeOf(targetNode.getLabel());
-        Set<GraphEdge<L>> edges = this.grafo.getEdges();
-        do {
-            GraphEdge<L> edge = this.findEdgeOf(edges, node1, node2);
-            shortestPath.add(edge);
-            node2 = node1;
-            node1 = node2.getPrevious();
-        } while (node1 != null && !node1.equals(this.lastSource));
-        GraphEdge<L> last = this.findEdgeOf(edges, this.lastSource, node2);
-        if (last != null) {
-            shortestPath.add(last);
+        // risalgo i predecessori fino alla sorgente, che non ne ha
+        for (int u = this.state.getPreviousIndex(v); u != -1; u = this.state.getPreviousIndex(v)) {
+            shortestPath.add(this.grafo.getEdge(this.grafo.getNodeAtIndex(u), this.grafo.getNodeAtIndex(v)));
+            v = u;
         }
         Collections.reverse(shortestPath);
         return shortestPath;
     }
 
-    private void initializeSingleSource(Graph<L> grafo, GraphNode<L> source) {
-        for (GraphNode<L> nodo : grafo.getNodes()) {
-
-            if (nodo.equals(source)) {
-                nodo.setIntegerDistance(0);
-            } else {
-                nodo.setIntegerDistance(Integer.MAX_VALUE);
-            }
-            nodo.setPrevious(null);
-        }
-        source.setIntegerDistance(0);
-    }
-
-    private void relax(GraphNode<L> u, GraphNode<L> v) {
-        double peso = this.getWeightOfEdge(u, v);
-        if (v.getIntegerDistance() > u.getIntegerDistance() + peso) {
-            int newDistance = (int) (u.getIntegerDistance() + peso);
-            v.setIntegerDistance(newDistance);
-            v.setPrevious(u);
-        }
-    }
-
-    private double getWeightOfEdge(GraphNode<L> u, GraphNode<L> v) {
-        for (GraphEdge<L> arco : this.grafo.getEdges()) {
-            if (arco.getNode2().equals(v) && arco.getNode1().equals(u)) {
-                return arco.getWeight();
-            }
+    private GraphTraversalState<L> initializeSingleSource(GraphNode<L> source) {
+        GraphTraversalState<L> s = new GraphTraversalState<>(this.grafo);
+        for (int i = 0; i < this.grafo.nodeCount(); i++) {
+            s.setFloatingPointDistance(i, Double.POSITIVE_INFINITY);
         }
-        return 0;
+        s.setFloatingPointDistance(this.grafo.getNodeIndexOf(source.getLabel()), 0);
+        return s;
     }
 
-    private GraphNode<L> extractMinNode() {
-        GraphNode<L> min = this.queue.get(0);
-        for (GraphNode<L> nodo : this.queue) {
-            if (nodo.getIntegerDistance() < min.getIntegerDistance()) {
-                min = nodo;
-            }
-        }
-        this.queue.remove(min);
-        return min;
-    }
-
-    private GraphEdge<L> findEdgeOf(Set<GraphEdge<L>> edges, GraphNode<L> node1, GraphNode<L> node2) {
-        for (GraphEdge<L> edge : edges) {
-            if (edge.getNode1().equals(node1) && edge.getNode2().equals(node2)) {
-                return edge;
+    /*
+     * Rilassa l'arco da u a v e aggiorna la coda: v viene inserito la prima
+     * volta che viene raggiunto, poi la sua priorità può solo diminuire. I nodi
+     * neri non migliorano mai perché i pesi non sono negativi.
+     */
+    private void relax(GraphTraversalState<L> s, IndexedMinHeap queue, int u, int v, double peso) {
+        double d = s.getFloatingPointDistance(u) + peso;
+        if (s.getFloatingPointDistance(v) > d) {
+            s.setFloatingPointDistance(v, d);
+            s.setPreviousIndex(v, u);
+            if (queue.contains(v)) {
+                queue.decreaseKey(v, d);
+            } else {
+                queue.insert(v, d);
             }
         }
-        return null;
     }
 }
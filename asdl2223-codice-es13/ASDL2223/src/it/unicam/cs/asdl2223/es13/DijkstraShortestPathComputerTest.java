@@ -176,4 +176,83 @@ class DijkstraShortestPathComputerTest {
         assertEquals(nx, c.getLastSource());
     }
 
+    @Test
+    public void testIndependentComputers() {
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        GraphNode<String> ns = new GraphNode<>("s");
+        g.addNode(ns);
+        GraphNode<String> nu = new GraphNode<>("u");
+        g.addNode(nu);
+        GraphNode<String> nx = new GraphNode<>("x");
+        g.addNode(nx);
+        GraphNode<String> nz = new GraphNode<>("z");
+        g.addNode(nz);
+        g.addEdge(new GraphEdge<>(ns, nu, true, 1.5));
+        g.addEdge(new GraphEdge<>(nu, nx, true, 2.25));
+        g.addEdge(new GraphEdge<>(nx, ns, true, 4.0));
+        DijkstraShortestPathComputer<String> c1 = new DijkstraShortestPathComputer<String>(
+                g);
+        DijkstraShortestPathComputer<String> c2 = new DijkstraShortestPathComputer<String>(
+                g);
+        assertThrows(IllegalStateException.class, () -> {
+            c1.getTraversalState();
+        });
+        c1.computeShortestPathsFrom(ns);
+        c2.computeShortestPathsFrom(nx);
+        // i due calcoli sullo stesso grafo non si sovrascrivono
+        assertEquals(3.75, c1.getTraversalState().getFloatingPointDistance(nx),
+                0.0);
+        assertEquals(4.0, c2.getTraversalState().getFloatingPointDistance(ns),
+                0.0);
+        assertEquals(2, c1.getShortestPathTo(nx).size());
+        assertEquals(2, c2.getShortestPathTo(nu).size());
+        // i nodi non raggiungibili non hanno un cammino
+        assertNull(c1.getShortestPathTo(nz));
+        assertNull(nx.getPrevious());
+        c1.getTraversalState().copyToNodes();
+        assertEquals(nu, nx.getPrevious());
+        assertEquals(3.75, nx.getFloatingPointDistance(), 0.0);
+    }
+
+    @Test
+    public void testCompressedSparseRowGraph() {
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        String[] labels = { "s", "t", "y", "x", "z" };
+        for (String l : labels) {
+            g.addNode(new GraphNode<>(l));
+        }
+        g.addEdge(new GraphEdge<>(g.getNodeOf("s"), g.getNodeOf("t"), true, 10));
+        g.addEdge(new GraphEdge<>(g.getNodeOf("s"), g.getNodeOf("y"), true, 5));
+        g.addEdge(new GraphEdge<>(g.getNodeOf("t"), g.getNodeOf("y"), true, 2));
+        g.addEdge(new GraphEdge<>(g.getNodeOf("y"), g.getNodeOf("t"), true, 3));
+        g.addEdge(new GraphEdge<>(g.getNodeOf("t"), g.getNodeOf("x"), true, 1));
+        g.addEdge(new GraphEdge<>(g.getNodeOf("y"), g.getNodeOf("x"), true, 9));
+        g.addEdge(new GraphEdge<>(g.getNodeOf("x"), g.getNodeOf("z"), true, 4));
+        g.addEdge(new GraphEdge<>(g.getNodeOf("z"), g.getNodeOf("x"), true, 6));
+        g.addEdge(new GraphEdge<>(g.getNodeOf("y"), g.getNodeOf("z"), true, 2));
+        g.addEdge(new GraphEdge<>(g.getNodeOf("z"), g.getNodeOf("s"), true, 7));
+        Graph<String> csr = new CompressedSparseRowGraph<String>(g);
+        DijkstraShortestPathComputer<String> c1 = new DijkstraShortestPathComputer<String>(
+                g);
+        DijkstraShortestPathComputer<String> c2 = new DijkstraShortestPathComputer<String>(
+                csr);
+        for (String source : labels) {
+            c1.computeShortestPathsFrom(g.getNodeOf(source));
+            c2.computeShortestPathsFrom(csr.getNodeOf(source));
+            for (String target : labels) {
+                GraphNode<String> t = new GraphNode<>(target);
+                assertEquals(c1.getShortestPathTo(t), c2.getShortestPathTo(t));
+                assertEquals(
+                        c1.getTraversalState().getFloatingPointDistance(t),
+                        c2.getTraversalState().getFloatingPointDistance(t),
+                        0.0);
+            }
+        }
+        GraphNode<String> nx = new GraphNode<>("x");
+        c2.computeShortestPathsFrom(new GraphNode<>("s"));
+        assertEquals(9.0, c2.getTraversalState().getFloatingPointDistance(nx),
+                0.0);
+        assertEquals(3, c2.getShortestPathTo(nx).size());
+    }
+
 }
@@ -0,0 +1,418 @@
+package it.unicam.cs.asdl2223.es13;
+
+import java.util.Arrays;
+
+/**
+ * Informazioni associate ai nodi di un grafo durante una singola esecuzione di
+ * un algoritmo: colore, distanza intera e in virgola mobile, predecessore e
+ * tempi di ingresso e di uscita di una visita. Sono le stesse informazioni
+ * che la classe {@code GraphNode<L>} permette di memorizzare nei nodi, ma qui
+ * sono tenute fuori dal grafo, in array di tipi primitivi indicizzati con gli
+ * indici dei nodi restituiti da {@code Graph.getNodeIndexOf(L)}.
+ *
+ * Scrivendo le informazioni nei nodi due algoritmi che lavorano sullo stesso
+ * grafo si sovrascrivono a vicenda i valori; se invece ogni esecuzione usa un
+ * proprio oggetto di questa classe il grafo viene solo letto e più algoritmi
+ * possono lavorarci contemporaneamente, anche da thread diversi, purché il
+ * grafo non venga modificato nel frattempo.
+ *
+ * Ogni array viene creato solo la prima volta che viene assegnato un valore
+ * del tipo corrispondente, per cui un algoritmo che usa, ad esempio, solo
+ * distanze e predecessori non occupa memoria per colori e tempi. Finché non
+ * vengono assegnati, i valori sono quelli di un nodo appena creato: colore
+ * {@code GraphNode.COLOR_WHITE}, distanze e tempi uguali a zero e nessun
+ * predecessore. Il predecessore di un nodo è memorizzato come indice, -1 se
+ * non c'è.
+ *
+ * I metodi che prendono un nodo invece di un indice e il metodo
+ * {@code copyToNodes()} servono come compatibilità con il codice che legge le
+ * informazioni direttamente dai nodi.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ * @param <L>
+ *                etichette dei nodi del grafo
+ */
+public class GraphTraversalState<L> {
+
+    // il grafo di cui sono descritti i nodi
+    private final Graph<L> graph;
+
+    private int[] color;
+
+    private int[] integerDistance;
+
+    private double[] floatingPointDistance;
+
+    private int[] previous;
+
+    private int[] enteringTime;
+
+    private int[] exitingTime;
+
+    /**
+     * Crea le informazioni, inizialmente uguali ai valori di default, per
+     * tutti i nodi di un grafo.
+     *
+     * @param graph
+     *                  il grafo i cui nodi sono descritti da questo oggetto;
+     *                  deve supportare le operazioni indicizzate sui nodi
+     * @throws NullPointerException
+     *                                  se il grafo passato è null
+     */
+    public GraphTraversalState(Graph<L> graph) {
+        if (graph == null)
+            throw new NullPointerException(
+                    "Tentativo di creare lo stato di un grafo null");
+        this.graph = graph;
+    }
+
+    /**
+     * Restituisce il grafo i cui nodi sono descritti da questo oggetto.
+     *
+     * @return il grafo
+     */
+    public Graph<L> getGraph() {
+        return this.graph;
+    }
+
+    /**
+     * Restituisce il colore del nodo con un certo indice.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return il colore del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non corrisponde a un
+     *                                       nodo del grafo
+     */
+    public int getColor(int i) {
+        checkIndex(i);
+        return this.color == null ? GraphNode.COLOR_WHITE : this.color[i];
+    }
+
+    /**
+     * Assegna un colore al nodo con un certo indice.
+     *
+     * @param i
+     *                  l'indice del nodo
+     * @param color
+     *                  il colore da assegnare
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non corrisponde a un
+     *                                       nodo del grafo
+     */
+    public void setColor(int i, int color) {
+        checkIndex(i);
+        if (this.color == null)
+            this.color = newIntArray(GraphNode.COLOR_WHITE);
+        this.color[i] = color;
+    }
+
+    /**
+     * Restituisce la distanza intera del nodo con un certo indice.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return la distanza intera del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non corrisponde a un
+     *                                       nodo del grafo
+     */
+    public int getIntegerDistance(int i) {
+        checkIndex(i);
+        return this.integerDistance == null ? 0 : this.integerDistance[i];
+    }
+
+    /**
+     * Assegna una distanza intera al nodo con un certo indice.
+     *
+     * @param i
+     *                     l'indice del nodo
+     * @param distance
+     *                     la distanza da assegnare
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non corrisponde a un
+     *                                       nodo del grafo
+     */
+    public void setIntegerDistance(int i, int distance) {
+        checkIndex(i);
+        if (this.integerDistance == null)
+            this.integerDistance = newIntArray(0);
+        this.integerDistance[i] = distance;
+    }
+
+    /**
+     * Restituisce la distanza in virgola mobile del nodo con un certo indice.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return la distanza del nodo
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non corrisponde a un
+     *                                       nodo del grafo
+     */
+    public double getFloatingPointDistance(int i) {
+        checkIndex(i);
+        return this.floatingPointDistance == null ? 0
+                : this.floatingPointDistance[i];
+    }
+
+    /**
+     * Assegna una distanza in virgola mobile al nodo con un certo indice.
+     *
+     * @param i
+     *                     l'indice del nodo
+     * @param distance
+     *                     la distanza da assegnare
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non corrisponde a un
+     *                                       nodo del grafo
+     */
+    public void setFloatingPointDistance(int i, double distance) {
+        checkIndex(i);
+        if (this.floatingPointDistance == null)
+            this.floatingPointDistance = new double[this.graph.nodeCount()];
+        this.floatingPointDistance[i] = distance;
+    }
+
+    /**
+     * Restituisce l'indice del predecessore del nodo con un certo indice.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return l'indice del predecessore, -1 se il nodo non ha predecessore
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non corrisponde a un
+     *                                       nodo del grafo
+     */
+    public int getPreviousIndex(int i) {
+        checkIndex(i);
+        return this.previous == null ? -1 : this.previous[i];
+    }
+
+    /**
+     * Assegna un predecessore al nodo con un certo indice.
+     *
+     * @param i
+     *                     l'indice del nodo
+     * @param previous
+     *                     l'indice del predecessore, -1 per nessun
+     *                     predecessore
+     * @throws IndexOutOfBoundsException
+     *                                       se uno dei due indici non
+     *                                       corrisponde a un nodo del grafo
+     */
+    public void setPreviousIndex(int i, int previous) {
+        checkIndex(i);
+        if (previous != -1)
+            checkIndex(previous);
+        if (this.previous == null)
+            this.previous = newIntArray(-1);
+        this.previous[i] = previous;
+    }
+
+    /**
+     * Restituisce il tempo di ingresso del nodo con un certo indice.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return il tempo di ingresso
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non corrisponde a un
+     *                                       nodo del grafo
+     */
+    public int getEnteringTime(int i) {
+        checkIndex(i);
+        return this.enteringTime == null ? 0 : this.enteringTime[i];
+    }
+
+    /**
+     * Assegna un tempo di ingresso al nodo con un certo indice.
+     *
+     * @param i
+     *                 l'indice del nodo
+     * @param time
+     *                 il tempo di ingresso da assegnare
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non corrisponde a un
+     *                                       nodo del grafo
+     */
+    public void setEnteringTime(int i, int time) {
+        checkIndex(i);
+        if (this.enteringTime == null)
+            this.enteringTime = newIntArray(0);
+        this.enteringTime[i] = time;
+    }
+
+    /**
+     * Restituisce il tempo di uscita del nodo con un certo indice.
+     *
+     * @param i
+     *              l'indice del nodo
+     * @return il tempo di uscita
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non corrisponde a un
+     *                                       nodo del grafo
+     */
+    public int getExitingTime(int i) {
+        checkIndex(i);
+        return this.exitingTime == null ? 0 : this.exitingTime[i];
+    }
+
+    /**
+     * Assegna un tempo di uscita al nodo con un certo indice.
+     *
+     * @param i
+     *                 l'indice del nodo
+     * @param time
+     *                 il tempo di uscita da assegnare
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non corrisponde a un
+     *                                       nodo del grafo
+     */
+    public void setExitingTime(int i, int time) {
+        checkIndex(i);
+        if (this.exitingTime == null)
+            this.exitingTime = newIntArray(0);
+        this.exitingTime[i] = time;
+    }
+
+    /**
+     * Restituisce il colore di un nodo, come {@code GraphNode.getColor()}.
+     *
+     * @param node
+     *                 il nodo
+     * @return il colore del nodo
+     * @throws NullPointerException
+     *                                      se il nodo è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo non esiste nel grafo
+     */
+    public int getColor(GraphNode<L> node) {
+        return getColor(indexOf(node));
+    }
+
+    /**
+     * Restituisce la distanza intera di un nodo, come
+     * {@code GraphNode.getIntegerDistance()}.
+     *
+     * @param node
+     *                 il nodo
+     * @return la distanza intera del nodo
+     * @throws NullPointerException
+     *                                      se il nodo è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo non esiste nel grafo
+     */
+    public int getIntegerDistance(GraphNode<L> node) {
+        return getIntegerDistance(indexOf(node));
+    }
+
+    /**
+     * Restituisce la distanza in virgola mobile di un nodo, come
+     * {@code GraphNode.getFloatingPointDistance()}.
+     *
+     * @param node
+     *                 il nodo
+     * @return la distanza del nodo
+     * @throws NullPointerException
+     *                                      se il nodo è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo non esiste nel grafo
+     */
+    public double getFloatingPointDistance(GraphNode<L> node) {
+        return getFloatingPointDistance(indexOf(node));
+    }
+
+    /**
+     * Restituisce il predecessore di un nodo, come
+     * {@code GraphNode.getPrevious()}.
+     *
+     * @param node
+     *                 il nodo
+     * @return il nodo del grafo predecessore di {@code node}, null se non c'è
+     * @throws NullPointerException
+     *                                      se il nodo è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo non esiste nel grafo
+     */
+    public GraphNode<L> getPrevious(GraphNode<L> node) {
+        int p = getPreviousIndex(indexOf(node));
+        return p == -1 ? null : this.graph.getNodeAtIndex(p);
+    }
+
+    /**
+     * Restituisce il tempo di ingresso di un nodo, come
+     * {@code GraphNode.getEnteringTime()}.
+     *
+     * @param node
+     *                 il nodo
+     * @return il tempo di ingresso del nodo
+     * @throws NullPointerException
+     *                                      se il nodo è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo non esiste nel grafo
+     */
+    public int getEnteringTime(GraphNode<L> node) {
+        return getEnteringTime(indexOf(node));
+    }
+
+    /**
+     * Restituisce il tempo di uscita di un nodo, come
+     * {@code GraphNode.getExitingTime()}.
+     *
+     * @param node
+     *                 il nodo
+     * @return il tempo di uscita del nodo
+     * @throws NullPointerException
+     *                                      se il nodo è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo non esiste nel grafo
+     */
+    public int getExitingTime(GraphNode<L> node) {
+        return getExitingTime(indexOf(node));
+    }
+
+    /**
+     * Copia tutte le informazioni nei corrispondenti campi dei nodi del
+     * grafo, per il codice che le legge con i metodi di {@code GraphNode<L>}.
+     * Dopo questa operazione il grafo non può essere usato da altri algoritmi
+     * contemporaneamente.
+     */
+    public void copyToNodes() {
+        for (int i = 0; i < this.graph.nodeCount(); i++) {
+            GraphNode<L> node = this.graph.getNodeAtIndex(i);
+            node.setColor(getColor(i));
+            node.setIntegerDistance(getIntegerDistance(i));
+            node.setFloatingPointDistance(getFloatingPointDistance(i));
+            int p = getPreviousIndex(i);
+            node.setPrevious(p == -1 ? null : this.graph.getNodeAtIndex(p));
+            node.setEnteringTime(getEnteringTime(i));
+            node.setExitingTime(getExitingTime(i));
+        }
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= this.graph.nodeCount())
+            throw new IndexOutOfBoundsException(
+                    "Indice di nodo fuori dai limiti: " + i);
+    }
+
+    /*
+     * Restituisce l'indice di un nodo controllando che non sia null.
+     */
+    private int indexOf(GraphNode<L> node) {
+        if (node == null)
+            throw new NullPointerException("Tentativo di usare un nodo null");
+        return this.graph.getNodeIndexOf(node.getLabel());
+    }
+
+    private int[] newIntArray(int value) {
+        int[] a = new int[this.graph.nodeCount()];
+        if (value != 0)
+            Arrays.fill(a, value);
+        return a;
+    }
+
+}
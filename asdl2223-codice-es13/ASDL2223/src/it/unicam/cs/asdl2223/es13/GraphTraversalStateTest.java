@@ -0,0 +1,87 @@
+package it.unicam.cs.asdl2223.es13;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class GraphTraversalStateTest {
+
+    private static Graph<String> sample() {
+        Graph<String> g = new MapAdjacentListDirectedGraph<String>();
+        g.addNode(new GraphNode<String>("s"));
+        g.addNode(new GraphNode<String>("u"));
+        g.addNode(new GraphNode<String>("x"));
+        return g;
+    }
+
+    @Test
+    final void testGraphTraversalState() {
+        assertThrows(NullPointerException.class,
+                () -> new GraphTraversalState<String>(null));
+        Graph<String> g = sample();
+        GraphTraversalState<String> s = new GraphTraversalState<String>(g);
+        assertSame(g, s.getGraph());
+        // valori di default come in un nodo appena creato
+        for (int i = 0; i < g.nodeCount(); i++) {
+            assertEquals(GraphNode.COLOR_WHITE, s.getColor(i));
+            assertEquals(0, s.getIntegerDistance(i));
+            assertEquals(0.0, s.getFloatingPointDistance(i));
+            assertEquals(-1, s.getPreviousIndex(i));
+            assertEquals(0, s.getEnteringTime(i));
+            assertEquals(0, s.getExitingTime(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> s.getColor(3));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> s.setIntegerDistance(-1, 0));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> s.setPreviousIndex(0, 3));
+    }
+
+    @Test
+    final void testSettersAndNodeGetters() {
+        Graph<String> g = sample();
+        GraphTraversalState<String> s = new GraphTraversalState<String>(g);
+        int iu = g.getNodeIndexOf("u");
+        int ix = g.getNodeIndexOf("x");
+        s.setColor(iu, GraphNode.COLOR_GREY);
+        s.setIntegerDistance(iu, 4);
+        s.setFloatingPointDistance(ix, 2.5);
+        s.setPreviousIndex(ix, iu);
+        s.setEnteringTime(iu, 1);
+        s.setExitingTime(iu, 6);
+        GraphNode<String> nu = new GraphNode<String>("u");
+        GraphNode<String> nx = new GraphNode<String>("x");
+        assertEquals(GraphNode.COLOR_GREY, s.getColor(nu));
+        assertEquals(GraphNode.COLOR_WHITE, s.getColor(nx));
+        assertEquals(4, s.getIntegerDistance(nu));
+        assertEquals(2.5, s.getFloatingPointDistance(nx));
+        assertSame(g.getNodeOf("u"), s.getPrevious(nx));
+        assertNull(s.getPrevious(nu));
+        assertEquals(1, s.getEnteringTime(nu));
+        assertEquals(6, s.getExitingTime(nu));
+        assertThrows(NullPointerException.class, () -> s.getColor(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> s.getColor(new GraphNode<String>("a")));
+        // i nodi del grafo non sono stati toccati
+        assertEquals(GraphNode.COLOR_WHITE, g.getNodeOf("u").getColor());
+        assertNull(g.getNodeOf("x").getPrevious());
+    }
+
+    @Test
+    final void testCopyToNodes() {
+        Graph<String> g = sample();
+        GraphTraversalState<String> s = new GraphTraversalState<String>(g);
+        int iu = g.getNodeIndexOf("u");
+        int ix = g.getNodeIndexOf("x");
+        s.setColor(ix, GraphNode.COLOR_BLACK);
+        s.setPreviousIndex(ix, iu);
+        s.setFloatingPointDistance(ix, 1.5);
+        s.copyToNodes();
+        GraphNode<String> nx = g.getNodeOf("x");
+        assertEquals(GraphNode.COLOR_BLACK, nx.getColor());
+        assertSame(g.getNodeOf("u"), nx.getPrevious());
+        assertEquals(1.5, nx.getFloatingPointDistance());
+        assertNull(g.getNodeOf("u").getPrevious());
+    }
+
+}
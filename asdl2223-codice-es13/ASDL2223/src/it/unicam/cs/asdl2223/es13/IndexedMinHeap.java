@@ -0,0 +1,234 @@
+package it.unicam.cs.asdl2223.es13;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Heap binario minimo indicizzato, usato come coda con priorità dagli
+ * algoritmi su grafi. Gli elementi sono gli interi da 0 a {@code capacity - 1},
+ * ad esempio gli indici dei nodi di un grafo, e ognuno può essere presente al
+ * più una volta con una priorità di tipo double.
+ *
+ * Oltre all'array che rappresenta lo heap viene mantenuta la posizione nello
+ * heap di ogni elemento, per cui è possibile sapere in tempo costante se un
+ * elemento è presente e diminuirne la priorità in tempo O(log n) senza
+ * cercarlo. Inserimento ed estrazione del minimo costano O(log n). Tutte le
+ * informazioni sono in array di tipi primitivi allocati alla costruzione.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ */
+public class IndexedMinHeap {
+
+    // elementi organizzati a heap: heap[0] ha priorità minima
+    private final int[] heap;
+
+    // posizione di ogni elemento in heap, -1 se l'elemento non è presente
+    private final int[] position;
+
+    // priorità di ogni elemento, significativa solo se è presente
+    private final double[] keys;
+
+    private int size;
+
+    /**
+     * Costruisce uno heap vuoto per gli elementi da 0 a
+     * {@code capacity - 1}.
+     *
+     * @param capacity
+     *                     il numero di elementi possibili
+     * @throws IllegalArgumentException
+     *                                      se la capacità è negativa
+     */
+    public IndexedMinHeap(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException(
+                    "La capacità non può essere negativa");
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(this.position, -1);
+        this.size = 0;
+    }
+
+    /**
+     * Determina se lo heap è vuoto.
+     *
+     * @return true se non ci sono elementi
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Restituisce il numero di elementi presenti.
+     *
+     * @return il numero di elementi presenti
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Determina se un elemento è presente.
+     *
+     * @param i
+     *              l'elemento
+     * @return true se l'elemento è presente
+     * @throws IndexOutOfBoundsException
+     *                                       se l'elemento non è compreso fra 0
+     *                                       e la capacità meno uno
+     */
+    public boolean contains(int i) {
+        checkElement(i);
+        return this.position[i] != -1;
+    }
+
+    /**
+     * Restituisce la priorità di un elemento presente.
+     *
+     * @param i
+     *              l'elemento
+     * @return la priorità dell'elemento
+     * @throws IndexOutOfBoundsException
+     *                                       se l'elemento non è compreso fra 0
+     *                                       e la capacità meno uno
+     * @throws NoSuchElementException
+     *                                       se l'elemento non è presente
+     */
+    public double getKey(int i) {
+        checkPresent(i);
+        return this.keys[i];
+    }
+
+    /**
+     * Inserisce un elemento con una certa priorità.
+     *
+     * @param i
+     *                l'elemento
+     * @param key
+     *                la priorità
+     * @throws IndexOutOfBoundsException
+     *                                       se l'elemento non è compreso fra 0
+     *                                       e la capacità meno uno
+     * @throws IllegalArgumentException
+     *                                       se l'elemento è già presente
+     */
+    public void insert(int i, double key) {
+        checkElement(i);
+        if (this.position[i] != -1)
+            throw new IllegalArgumentException(
+                    "Elemento già presente nello heap: " + i);
+        this.keys[i] = key;
+        this.heap[this.size] = i;
+        this.position[i] = this.size;
+        siftUp(this.size++);
+    }
+
+    /**
+     * Diminuisce la priorità di un elemento presente.
+     *
+     * @param i
+     *                l'elemento
+     * @param key
+     *                la nuova priorità
+     * @throws IndexOutOfBoundsException
+     *                                       se l'elemento non è compreso fra 0
+     *                                       e la capacità meno uno
+     * @throws NoSuchElementException
+     *                                       se l'elemento non è presente
+     * @throws IllegalArgumentException
+     *                                       se la nuova priorità è maggiore di
+     *                                       quella attuale
+     */
+    public void decreaseKey(int i, double key) {
+        checkPresent(i);
+        if (key > this.keys[i])
+            throw new IllegalArgumentException(
+                    "La nuova priorità è maggiore di quella attuale");
+        this.keys[i] = key;
+        siftUp(this.position[i]);
+    }
+
+    /**
+     * Toglie dallo heap l'elemento con priorità minima e lo restituisce.
+     *
+     * @return l'elemento con priorità minima
+     * @throws NoSuchElementException
+     *                                    se lo heap è vuoto
+     */
+    public int extractMin() {
+        if (this.size == 0)
+            throw new NoSuchElementException(
+                    "Estrazione del minimo da uno heap vuoto");
+        int min = this.heap[0];
+        this.position[min] = -1;
+        if (--this.size > 0) {
+            int last = this.heap[this.size];
+            this.heap[0] = last;
+            this.position[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /*
+     * Fa risalire l'elemento in posizione p finché il padre ha priorità
+     * maggiore.
+     */
+    private void siftUp(int p) {
+        int e = this.heap[p];
+        double k = this.keys[e];
+        while (p > 0) {
+            int parent = (p - 1) / 2;
+            int pe = this.heap[parent];
+            if (this.keys[pe] <= k)
+                break;
+            this.heap[p] = pe;
+            this.position[pe] = p;
+            p = parent;
+        }
+        this.heap[p] = e;
+        this.position[e] = p;
+    }
+
+    /*
+     * Fa scendere l'elemento in posizione p finché un figlio ha priorità
+     * minore.
+     */
+    private void siftDown(int p) {
+        int e = this.heap[p];
+        double k = this.keys[e];
+        int half = this.size / 2;
+        while (p < half) {
+            int child = 2 * p + 1;
+            int ce = this.heap[child];
+            int right = child + 1;
+            if (right < this.size
+                    && this.keys[this.heap[right]] < this.keys[ce]) {
+                child = right;
+                ce = this.heap[right];
+            }
+            if (k <= this.keys[ce])
+                break;
+            this.heap[p] = ce;
+            this.position[ce] = p;
+            p = child;
+        }
+        this.heap[p] = e;
+        this.position[e] = p;
+    }
+
+    private void checkElement(int i) {
+        if (i < 0 || i >= this.position.length)
+            throw new IndexOutOfBoundsException(
+                    "Elemento fuori dai limiti: " + i);
+    }
+
+    private void checkPresent(int i) {
+        checkElement(i);
+        if (this.position[i] == -1)
+            throw new NoSuchElementException(
+                    "Elemento non presente nello heap: " + i);
+    }
+
+}
@@ -0,0 +1,91 @@
+package it.unicam.cs.asdl2223.es13;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IndexedMinHeapTest {
+
+    @Test
+    final void testIndexedMinHeap() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new IndexedMinHeap(-1));
+        IndexedMinHeap h = new IndexedMinHeap(5);
+        assertTrue(h.isEmpty());
+        assertEquals(0, h.size());
+        assertFalse(h.contains(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> h.contains(5));
+        assertThrows(NoSuchElementException.class, () -> h.extractMin());
+        assertThrows(NoSuchElementException.class, () -> h.getKey(0));
+    }
+
+    @Test
+    final void testInsertExtractMin() {
+        IndexedMinHeap h = new IndexedMinHeap(5);
+        h.insert(3, 7.5);
+        h.insert(0, 2.0);
+        h.insert(4, 9.0);
+        h.insert(1, 2.5);
+        assertThrows(IllegalArgumentException.class, () -> h.insert(0, 1.0));
+        assertEquals(4, h.size());
+        assertTrue(h.contains(3));
+        assertFalse(h.contains(2));
+        assertEquals(7.5, h.getKey(3));
+        assertEquals(0, h.extractMin());
+        assertFalse(h.contains(0));
+        assertEquals(1, h.extractMin());
+        assertEquals(3, h.extractMin());
+        // un elemento estratto può essere reinserito
+        h.insert(0, 8.0);
+        assertEquals(0, h.extractMin());
+        assertEquals(4, h.extractMin());
+        assertTrue(h.isEmpty());
+    }
+
+    @Test
+    final void testDecreaseKey() {
+        IndexedMinHeap h = new IndexedMinHeap(4);
+        h.insert(0, 1.0);
+        h.insert(1, 5.0);
+        h.insert(2, 6.0);
+        assertThrows(NoSuchElementException.class, () -> h.decreaseKey(3, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> h.decreaseKey(1, 5.5));
+        h.decreaseKey(2, 0.5);
+        assertEquals(0.5, h.getKey(2));
+        assertEquals(2, h.extractMin());
+        h.decreaseKey(1, 1.0);
+        assertEquals(1.0, h.getKey(1));
+        h.extractMin();
+        h.extractMin();
+        assertTrue(h.isEmpty());
+    }
+
+    @Test
+    final void testRandomOrder() {
+        int n = 1000;
+        Random r = new Random(42);
+        double[] keys = new double[n];
+        IndexedMinHeap h = new IndexedMinHeap(n);
+        for (int i = 0; i < n; i++) {
+            keys[i] = r.nextDouble() * 100;
+            h.insert(i, keys[i]);
+        }
+        for (int i = 0; i < n; i += 3) {
+            keys[i] = keys[i] / 2;
+            h.decreaseKey(i, keys[i]);
+        }
+        double[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < n; i++) {
+            int e = h.extractMin();
+            assertEquals(sorted[i], keys[e]);
+        }
+        assertTrue(h.isEmpty());
+    }
+
+}
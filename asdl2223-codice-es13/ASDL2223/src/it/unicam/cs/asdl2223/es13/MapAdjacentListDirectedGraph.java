@@ -3,6 +3,9 @@
  */
 package it.unicam.cs.asdl2223.es13;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Set;
@@ -31,8 +34,23 @@ import java.util.HashSet;
  * questo set. I test di presenza si basano sui metodi equals ridefiniti per
  * nodi e archi nelle classi GraphNode<L> e GraphEdge<L>.
  * 
- * Questa classe non supporta le operazioni di rimozione di nodi e archi e le
- * operazioni indicizzate di ricerca di nodi e archi.
+ * Oltre alle liste di adiacenza la classe mantiene, aggiornandole a ogni
+ * inserimento di un arco, le liste di adiacenza inverse, cioè per ogni nodo il
+ * set degli archi entranti, e un indice di tutti gli archi del grafo. In
+ * questo modo gli archi entranti e i predecessori di un nodo si ottengono in
+ * tempo proporzionale al numero di archi entranti, senza scorrere tutti gli
+ * archi del grafo, e l'arco che collega due nodi dati, con il suo peso, si
+ * trova in tempo pseudocostante.
+ * 
+ * I nodi sono inoltre numerati in ordine di inserimento con gli indici da 0 a
+ * {@code nodeCount() - 1}, memorizzati in una lista, e una tabella hash
+ * associa a ogni etichetta l'indice del suo nodo. La ricerca di un nodo data
+ * l'etichetta e le operazioni indicizzate sui nodi sono quindi pseudocostanti,
+ * e gli algoritmi possono memorizzare informazioni sui nodi in array
+ * indicizzati allo stesso modo. Poiché i nodi non possono essere rimossi,
+ * l'indice di un nodo non cambia finché il grafo non viene svuotato.
+ * 
+ * Questa classe non supporta le operazioni di rimozione di nodi e archi.
  * 
  * @author Luca Tesei
  *
@@ -48,12 +66,42 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
      */
     private final Map<GraphNode<L>, Set<GraphEdge<L>>> adjacentLists;
 
+    /*
+     * Liste di adiacenza inverse: ogni nodo viene associato con l'insieme
+     * degli archi entranti, eventualmente vuoto. Le chiavi sono sempre le
+     * stesse di adjacentLists.
+     */
+    private final Map<GraphNode<L>, Set<GraphEdge<L>>> ingoingLists;
+
+    /*
+     * Indice degli archi: associa ogni arco del grafo a se stesso. Poiché due
+     * archi orientati sono uguali se e solo se collegano gli stessi nodi
+     * nello stesso ordine, cercando un arco qualsiasi da u a v si ottiene
+     * l'arco (u,v) memorizzato nel grafo, con il suo peso.
+     */
+    private final Map<GraphEdge<L>, GraphEdge<L>> edgeIndex;
+
+    /*
+     * Nodi del grafo in ordine di inserimento: il nodo in posizione i ha
+     * indice i.
+     */
+    private final List<GraphNode<L>> nodeList;
+
+    /*
+     * Associa ogni etichetta all'indice del nodo corrispondente in nodeList.
+     */
+    private final Map<L, Integer> labelIndex;
+
     /**
      * Crea un grafo vuoto.
      */
     public MapAdjacentListDirectedGraph() {
         // Inizializza la mappa con la mappa vuota
         this.adjacentLists = new HashMap<GraphNode<L>, Set<GraphEdge<L>>>();
+        this.ingoingLists = new HashMap<GraphNode<L>, Set<GraphEdge<L>>>();
+        this.edgeIndex = new HashMap<GraphEdge<L>, GraphEdge<L>>();
+        this.nodeList = new ArrayList<GraphNode<L>>();
+        this.labelIndex = new HashMap<L, Integer>();
     }
 
     @Override
@@ -63,17 +111,17 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
 
     @Override
     public int edgeCount() {
-        int result = 0;
-        // Prendo tutti i nodi e conto il numero di archi per ognuno
-        Set<GraphNode<L>> nodes = this.adjacentLists.keySet();
-        for (GraphNode<L> n : nodes)
-            result += this.adjacentLists.get(n).size();
-        return result;
+        // L'indice contiene ogni arco esattamente una volta
+        return this.edgeIndex.size();
     }
 
     @Override
     public void clear() {
         this.adjacentLists.clear();
+        this.ingoingLists.clear();
+        this.edgeIndex.clear();
+        this.nodeList.clear();
+        this.labelIndex.clear();
     }
 
     @Override
@@ -97,6 +145,11 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
             return false;
         // inserisco il nodo associando un insieme vuoto di archi uscenti
         this.adjacentLists.put(node, new HashSet<GraphEdge<L>>());
+        // e un insieme vuoto di archi entranti
+        this.ingoingLists.put(node, new HashSet<GraphEdge<L>>());
+        // il nuovo nodo prende il primo indice libero
+        this.labelIndex.put(node.getLabel(), this.nodeList.size());
+        this.nodeList.add(node);
         return true;
     }
 
@@ -121,12 +174,11 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
         if (label == null)
             throw new NullPointerException(
                     "Tentativo di cercare un nodo con etichetta null");
-        Set<GraphNode<L>> nodes = this.adjacentLists.keySet();
-        for (GraphNode<L> n : nodes)
-            if (n.getLabel().equals(label))
-                return n;
-        // non esiste nessun nodo con etichetta uguale a label
-        return null;
+        Integer i = this.labelIndex.get(label);
+        if (i == null)
+            // non esiste nessun nodo con etichetta uguale a label
+            return null;
+        return this.nodeList.get(i);
     }
 
     @Override
@@ -134,14 +186,19 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
         if (label == null)
             throw new NullPointerException(
                     "Tentativo di ricercare un nodo con etichetta null");
-        throw new UnsupportedOperationException(
-                "Ricerca dei nodi con indice non supportata");
+        Integer i = this.labelIndex.get(label);
+        if (i == null)
+            throw new IllegalArgumentException(
+                    "Richiesta dell'indice di un nodo non esistente");
+        return i;
     }
 
     @Override
     public GraphNode<L> getNodeAtIndex(int i) {
-        throw new UnsupportedOperationException(
-                "Ricerca dei nodi con indice non supportata");
+        if (i < 0 || i >= this.nodeList.size())
+            throw new IndexOutOfBoundsException(
+                    "Indice di nodo fuori dai limiti: " + i);
+        return this.nodeList.get(i);
     }
 
     @Override
@@ -173,9 +230,9 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
                     "Richiesta dei predecessori di un nodo non esistente");
         // creo l'insieme risultato
         Set<GraphNode<L>> result = new HashSet<GraphNode<L>>();
-        // cerco tutti gli archi che entrano in node e inserisco i nodi sorgente
-        // nel risultato
-        Set<GraphEdge<L>> inEdges = this.getIngoingEdgesOf(node);
+        // scorro gli archi che entrano in node e inserisco i nodi sorgente nel
+        // risultato
+        Set<GraphEdge<L>> inEdges = this.ingoingLists.get(node);
         for (GraphEdge<L> e : inEdges)
             result.add(e.getNode1());
         return result;
@@ -183,13 +240,8 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
 
     @Override
     public Set<GraphEdge<L>> getEdges() {
-        // Scorro tutti i nodi e aggiungo nell'insieme risultato i relativi
-        // archi
-        Set<GraphEdge<L>> result = new HashSet<GraphEdge<L>>();
-        Set<GraphNode<L>> nodes = this.adjacentLists.keySet();
-        for (GraphNode<L> n : nodes)
-            result.addAll(this.adjacentLists.get(n));
-        return result;
+        // Copio tutti gli archi presenti nell'indice
+        return new HashSet<GraphEdge<L>>(this.edgeIndex.keySet());
     }
 
     @Override
@@ -204,8 +256,15 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
                 || !this.adjacentLists.containsKey(edge.getNode2()))
             throw new IllegalArgumentException(
                     "Inserimento di un arco con almeno uno dei due nodi collegati non esistente");
-        // Inserisco l'arco nella lista di adiacenza del nodo sorgente
-        return this.adjacentLists.get(edge.getNode1()).add(edge);
+        if (this.edgeIndex.containsKey(edge))
+            // l'arco è già presente
+            return false;
+        // Inserisco l'arco nella lista di adiacenza del nodo sorgente, in
+        // quella inversa del nodo destinazione e nell'indice
+        this.adjacentLists.get(edge.getNode1()).add(edge);
+        this.ingoingLists.get(edge.getNode2()).add(edge);
+        this.edgeIndex.put(edge, edge);
+        return true;
     }
 
     @Override
@@ -224,8 +283,23 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
                 || !this.adjacentLists.containsKey(edge.getNode2()))
             throw new IllegalArgumentException(
                     "Ricerca di un arco con almeno uno dei due nodi collegati non esistente");
-        // Cerco l'arco nella lista di adiacenza del nodo sorgente
-        return this.adjacentLists.get(edge.getNode1()).contains(edge);
+        // Cerco l'arco nell'indice
+        return this.edgeIndex.containsKey(edge);
+    }
+
+    /*
+     * Ricerca pseudocostante tramite l'indice degli archi.
+     */
+    @Override
+    public GraphEdge<L> getEdge(GraphNode<L> node1, GraphNode<L> node2) {
+        if (node1 == null || node2 == null)
+            throw new NullPointerException(
+                    "Tentativo di cercare un arco con un nodo null");
+        if (!this.adjacentLists.containsKey(node1)
+                || !this.adjacentLists.containsKey(node2))
+            throw new IllegalArgumentException(
+                    "Ricerca di un arco con almeno uno dei due nodi collegati non esistente");
+        return this.edgeIndex.get(new GraphEdge<L>(node1, node2, true));
     }
 
     @Override
@@ -237,7 +311,7 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
         if (edges == null)
             throw new IllegalArgumentException(
                     "Richiesta degli archi uscenti di un nodo non esistente");
-        return edges;
+        return Collections.unmodifiableSet(edges);
     }
 
     @Override
@@ -249,15 +323,9 @@ public class MapAdjacentListDirectedGraph<L> extends Graph<L> {
         if (!this.adjacentLists.containsKey(node))
             throw new IllegalArgumentException(
                     "Richiesta degli archi entranti di un nodo non esistente");
-        // creo l'insieme risultato
-        Set<GraphEdge<L>> result = new HashSet<GraphEdge<L>>();
-        // cerco fra tutti gli archi quelli che entrano in node e li inserisco
-        // nel risultato
-        Set<GraphEdge<L>> allEdges = this.getEdges();
-        for (GraphEdge<L> e : allEdges)
-            if (e.getNode2().equals(node))
-                result.add(e);
-        return result;
+        // restituisco la lista di adiacenza inversa, che non può essere
+        // modificata dall'esterno per non perdere la coerenza con le altre
+        return Collections.unmodifiableSet(this.ingoingLists.get(node));
     }
 
 }
@@ -3,13 +3,38 @@
  */
 package it.unicam.cs.asdl2223.es6sol;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Abstract Data Type Cons List, ovvero liste immutabili a contenuto generico
  * costruite a partire dalla lista vuota con inserimento in testa (operazione
  * cons). L'implementazione di default è data da due classi: EmptyList che
  * implemente la lista vuota e ConsList che implementa l'operazione cons con
- * campi immutabili. In questa interface sono definiti vari metodi ricorsivi
- * generici sulle ADTConsList.
+ * campi immutabili. In questa interface sono definiti vari metodi generici
+ * sulle ADTConsList.
+ * 
+ * I metodi di default sono definiti in modo ricorsivo sulla struttura della
+ * lista (caso base lista vuota, caso ricorsivo first/rest), ma sono
+ * implementati con cicli: una ricorsione per ogni elemento esaurirebbe lo
+ * stack con liste di 10^5 elementi. Dove il risultato deve contenere, in
+ * ordine, elementi che precedono una parte della lista, questi vengono
+ * raccolti durante la scansione e poi reinseriti in testa con cons partendo
+ * dall'ultimo, come farebbe il ritorno dalle chiamate ricorsive.
+ * 
+ * Essendo le liste immutabili, i metodi che "modificano" una lista
+ * condividono con essa la parte più lunga possibile: se non c'è niente da
+ * cambiare restituiscono la lista stessa, altrimenti ricostruiscono solo gli
+ * elementi fino all'ultima modifica e riusano il resto della lista originale.
+ * 
+ * Una ADTConsList è anche {@code Iterable} e può essere trasformata in uno
+ * {@code Stream}; l'iteratore tiene solo un riferimento alla parte di lista
+ * ancora da visitare.
  * 
  * Il nome "cons" deriva dal linguaggio LISP in cui questa è l'operazione per
  * creare una lista a partire da due campi: car (corrisponde al nostro first) e
@@ -20,7 +45,7 @@ package it.unicam.cs.asdl2223.es6sol;
  * @author Luca Tesei
  *
  */
-public interface ADTConsList<E> {
+public interface ADTConsList<E> extends Iterable<E> {
 
     /**
      * Lista vuota.
@@ -74,11 +99,10 @@ public interface ADTConsList<E> {
      * @return una stringa con tutti gli elementi di questa lista
      */
     default String print() {
-        // caso base
-        if (this.isEmpty())
-            return "";
-        // caso ricorsivo
-        return this.first().toString() + " " + this.rest().print();
+        StringBuilder sb = new StringBuilder();
+        for (ADTConsList<E> l = this; !l.isEmpty(); l = l.rest())
+            sb.append(l.first().toString()).append(' ');
+        return sb.toString();
     }
 
     /**
@@ -89,14 +113,10 @@ public interface ADTConsList<E> {
      * @return true se questa lista contiene {@code element}
      */
     default boolean find(E e) {
-        // caso base
-        if (this.isEmpty())
-            return false;
-        // caso ricorsivo
-        if (this.first().equals(e))
-            return true;
-        else
-            return this.rest().find(e);
+        for (ADTConsList<E> l = this; !l.isEmpty(); l = l.rest())
+            if (l.first().equals(e))
+                return true;
+        return false;
     }
 
     /**
@@ -108,14 +128,16 @@ public interface ADTConsList<E> {
      *         {@code element}, se presente, è stata cancellata.
      */
     default ADTConsList<E> removeFirst(E element) {
-        // caso base
-        if (this.isEmpty())
+        List<E> prefix = new ArrayList<E>();
+        ADTConsList<E> l = this;
+        while (!l.isEmpty() && !l.first().equals(element)) {
+            prefix.add(l.first());
+            l = l.rest();
+        }
+        if (l.isEmpty())
+            // element non c'è: la lista non cambia
             return this;
-        // caso ricorsivo
-        if (this.first().equals(element))
-            return this.rest();
-        else
-            return this.rest().removeFirst(element).cons(this.first());
+        return consAll(prefix, l.rest());
     }
 
     /**
@@ -127,14 +149,15 @@ public interface ADTConsList<E> {
      *         {@code element} sono state cancellate.
      */
     default ADTConsList<E> removeAll(E element) {
-        // caso base
-        if (this.isEmpty())
+        ADTConsList<E> lastMatch = lastMatch(element);
+        if (lastMatch == null)
             return this;
-        // caso ricorsivo
-        if (this.first().equals(element))
-            return this.rest().removeAll(element);
-        else
-            return this.rest().removeAll(element).cons(this.first());
+        // dopo l'ultima occorrenza la lista originale è condivisa
+        List<E> kept = new ArrayList<E>();
+        for (ADTConsList<E> l = this; l != lastMatch; l = l.rest())
+            if (!l.first().equals(element))
+                kept.add(l.first());
+        return consAll(kept, lastMatch.rest());
     }
 
     /**
@@ -151,15 +174,15 @@ public interface ADTConsList<E> {
      *         {@code newElement}
      */
     default ADTConsList<E> updateFirst(E element, E newElement) {
-        // caso base
-        if (this.isEmpty())
+        List<E> prefix = new ArrayList<E>();
+        ADTConsList<E> l = this;
+        while (!l.isEmpty() && !l.first().equals(element)) {
+            prefix.add(l.first());
+            l = l.rest();
+        }
+        if (l.isEmpty())
             return this;
-        // caso ricorsivo
-        if (this.first().equals(element))
-            return this.rest().cons(newElement);
-        else
-            return this.rest().updateFirst(element, newElement)
-                    .cons(this.first());
+        return consAll(prefix, l.rest().cons(newElement));
     }
 
     /**
@@ -176,15 +199,13 @@ public interface ADTConsList<E> {
      *         {@code newElement}
      */
     default ADTConsList<E> updateAll(E element, E newElement) {
-        // caso base
-        if (this.isEmpty())
+        ADTConsList<E> lastMatch = lastMatch(element);
+        if (lastMatch == null)
             return this;
-        // caso ricorsivo
-        if (this.first().equals(element))
-            return this.rest().updateAll(element, newElement).cons(newElement);
-        else
-            return this.rest().updateAll(element, newElement)
-                    .cons(this.first());
+        List<E> updated = new ArrayList<E>();
+        for (ADTConsList<E> l = this; l != lastMatch.rest(); l = l.rest())
+            updated.add(l.first().equals(element) ? newElement : l.first());
+        return consAll(updated, lastMatch.rest());
     }
 
     /**
@@ -196,27 +217,79 @@ public interface ADTConsList<E> {
      *         elementi di {@code list}.
      */
     default ADTConsList<E> append(ADTConsList<E> list) {
-        // caso base
-        if (this.isEmpty())
-            return list;
-        // caso ricorsivo
-        return this.rest().append(list).cons(this.first());
+        if (list.isEmpty())
+            return this;
+        List<E> prefix = new ArrayList<E>();
+        for (ADTConsList<E> l = this; !l.isEmpty(); l = l.rest())
+            prefix.add(l.first());
+        return consAll(prefix, list);
     }
 
     /**
      * Genera una lista che ha gli stessi elementi di questa lista, ma
-     * nell'ordine inverso.
+     * nell'ordine inverso. Costa O(n): ogni elemento viene inserito in testa
+     * alla lista risultato nell'ordine in cui si incontra.
      * 
      * @return una lista uguale a questa, ma con tutti gli elementi in ordine
      *         inverso.
      */
     @SuppressWarnings("unchecked")
     default ADTConsList<E> reverse() {
-        // caso base
         if (this.isEmpty())
             return this;
-        // caso ricorsivo
-        return this.rest().reverse().append(EMPTY_LIST.cons(this.first()));
+        ADTConsList<E> reversed = EMPTY_LIST;
+        for (ADTConsList<E> l = this; !l.isEmpty(); l = l.rest())
+            reversed = reversed.cons(l.first());
+        return reversed;
+    }
+
+    /**
+     * Restituisce un iteratore sugli elementi di questa lista, dalla testa
+     * alla fine. L'operazione {@code remove()} non è supportata.
+     * 
+     * @return un iteratore sugli elementi di questa lista
+     */
+    @Override
+    default Iterator<E> iterator() {
+        return new ConsListIterator<E>(this);
+    }
+
+    /**
+     * Restituisce uno stream sequenziale degli elementi di questa lista. Lo
+     * stream visita la lista solo man mano che servono elementi, per cui può
+     * essere usato anche con liste infinite, ad esempio insieme a
+     * {@code limit}.
+     * 
+     * @return uno stream degli elementi di questa lista
+     */
+    default Stream<E> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                iterator(), Spliterator.ORDERED | Spliterator.IMMUTABLE),
+                false);
+    }
+
+    /*
+     * Restituisce la sottolista che inizia con l'ultima occorrenza di element,
+     * null se element non compare in questa lista.
+     */
+    private ADTConsList<E> lastMatch(E element) {
+        ADTConsList<E> lastMatch = null;
+        for (ADTConsList<E> l = this; !l.isEmpty(); l = l.rest())
+            if (l.first().equals(element))
+                lastMatch = l;
+        return lastMatch;
+    }
+
+    /*
+     * Inserisce in testa a tail gli elementi di prefix, in modo che il
+     * risultato inizi con prefix.get(0).
+     */
+    private static <E> ADTConsList<E> consAll(List<E> prefix,
+            ADTConsList<E> tail) {
+        ADTConsList<E> result = tail;
+        for (int i = prefix.size() - 1; i >= 0; i--)
+            result = result.cons(prefix.get(i));
+        return result;
     }
 
 }
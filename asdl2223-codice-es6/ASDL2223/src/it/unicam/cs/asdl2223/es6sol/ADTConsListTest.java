@@ -0,0 +1,113 @@
+package it.unicam.cs.asdl2223.es6sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test JUnit per i metodi di default di ADTConsList
+ */
+class ADTConsListTest {
+
+	@SuppressWarnings("unchecked")
+	private static ADTConsList<Integer> of(int... elements) {
+		ADTConsList<Integer> l = ADTConsList.EMPTY_LIST;
+		for (int i = elements.length - 1; i >= 0; i--) {
+			l = l.cons(elements[i]);
+		}
+		return l;
+	}
+
+	@Test
+	void testPrintFind() {
+		assertEquals("", of().print());
+		ADTConsList<Integer> l = of(9, 8, 4, 5, 4, 3);
+		assertEquals("9 8 4 5 4 3 ", l.print());
+		assertTrue(l.find(4));
+		assertTrue(l.find(3));
+		assertFalse(l.find(7));
+		assertFalse(of().find(7));
+	}
+
+	@Test
+	void testRemove() {
+		ADTConsList<Integer> l = of(9, 8, 4, 5, 4, 3);
+		assertEquals("9 8 5 4 3 ", l.removeFirst(4).print());
+		assertEquals("9 8 5 3 ", l.removeAll(4).print());
+		assertEquals("9 8 4 5 4 3 ", l.removeFirst(7).print());
+		assertEquals("9 8 4 5 4 3 ", l.removeAll(7).print());
+		assertTrue(of(1, 1).removeAll(1).isEmpty());
+		// la lista originale non cambia
+		assertEquals("9 8 4 5 4 3 ", l.print());
+		// dopo l'elemento cancellato la lista originale è condivisa
+		assertSame(l.rest().rest().rest(), l.removeFirst(4).rest().rest());
+	}
+
+	@Test
+	void testUpdate() {
+		ADTConsList<Integer> l = of(6, 1, 6, 2);
+		assertEquals("100 1 6 2 ", l.updateFirst(6, 100).print());
+		assertEquals("100 1 100 2 ", l.updateAll(6, 100).print());
+		assertEquals("6 1 6 2 ", l.updateFirst(7, 100).print());
+		assertEquals("6 1 6 2 ", l.print());
+	}
+
+	@Test
+	void testAppendReverse() {
+		ADTConsList<Integer> l1 = of(1, 2);
+		ADTConsList<Integer> l2 = of(3, 4);
+		ADTConsList<Integer> l = l1.append(l2);
+		assertEquals("1 2 3 4 ", l.print());
+		assertSame(l2, l.rest().rest());
+		assertSame(l2, of().append(l2));
+		assertEquals("4 3 2 1 ", l.reverse().print());
+		assertTrue(of().reverse().isEmpty());
+	}
+
+	@Test
+	void testLongList() {
+		int n = 100000;
+		int[] elements = new int[n];
+		for (int i = 0; i < n; i++) {
+			elements[i] = i % 10;
+		}
+		ADTConsList<Integer> l = of(elements);
+		assertFalse(l.find(10));
+		ADTConsList<Integer> r = l.removeAll(0).updateAll(1, 0).reverse();
+		assertEquals(9, r.first());
+		assertTrue(r.append(l).find(0));
+		assertFalse(l.removeFirst(9).updateFirst(9, 1).find(10));
+		assertEquals(2 * n, l.print().length());
+	}
+
+	@Test
+	void testSharing() {
+		ADTConsList<Integer> l = of(1, 2, 3, 2, 4, 5);
+		assertSame(l, l.removeFirst(7));
+		assertSame(l, l.removeAll(7));
+		assertSame(l, l.updateFirst(7, 0));
+		assertSame(l, l.updateAll(7, 0));
+		assertSame(l, l.append(of()));
+		// dopo l'ultima occorrenza la lista originale è condivisa
+		ADTConsList<Integer> suffix = l.rest().rest().rest().rest();
+		ADTConsList<Integer> removed = l.removeAll(2);
+		assertEquals("1 3 4 5 ", removed.print());
+		assertSame(suffix, removed.rest().rest());
+		ADTConsList<Integer> updated = l.updateAll(2, 0);
+		assertEquals("1 0 3 0 4 5 ", updated.print());
+		assertSame(suffix, updated.rest().rest().rest().rest());
+	}
+
+	@Test
+	void testStream() {
+		ADTConsList<Integer> l = of(3, 1, 2);
+		assertEquals(6, l.stream().mapToInt(x -> x).sum());
+		int count = 0;
+		for (Integer i : l) {
+			count += i;
+		}
+		assertEquals(6, count);
+		assertFalse(of().iterator().hasNext());
+	}
+
+}
@@ -0,0 +1,714 @@
+package it.unicam.cs.asdl2223.es6sol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Un oggetto di questa classe rappresenta un insieme ordinato di etichette con
+ * le stesse operazioni di {@link BinarySearchTree}, realizzato però come B+
+ * tree: ogni nodo contiene fino a un numero massimo di etichette (di default
+ * 64) memorizzate in un array ordinato, in cui si cerca con la ricerca
+ * binaria. Le etichette stanno tutte nelle foglie, che sono collegate fra loro
+ * in una lista doppia; i nodi interni contengono solo le etichette separatrici
+ * usate per scegliere il figlio in cui scendere.
+ *
+ * Rispetto a un albero di nodi binari, ogni ricerca visita solo O(log_B n)
+ * nodi, ognuno dei quali è un array contiguo in memoria, e la visita in ordine
+ * scorre le foglie senza risalire l'albero. L'albero è sempre bilanciato:
+ * tutte le foglie sono alla stessa profondità e ogni nodo diverso dalla radice
+ * è pieno almeno a metà.
+ *
+ * Questa classe non accetta elementi null e non accetta elementi duplicati.
+ *
+ * @param <E>
+ *                il tipo delle etichette. La classe {@code E} deve avere un
+ *                ordinamento naturale definito tra gli elementi.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ */
+public class BPlusTree<E extends Comparable<E>> implements Iterable<E> {
+
+    /**
+     * Numero massimo di etichette per nodo usato dal costruttore di default
+     */
+    public static final int DEFAULT_MAX_KEYS = 64;
+
+    /*
+     * Numero massimo di etichette in un nodo
+     */
+    private final int maxKeys;
+
+    /*
+     * Numero minimo di etichette in un nodo diverso dalla radice
+     */
+    private final int minKeys;
+
+    /*
+     * Radice dell'albero, sempre presente: l'albero vuoto è una foglia vuota
+     */
+    private Node root;
+
+    /*
+     * Numero di etichette presenti
+     */
+    private int size;
+
+    /*
+     * Numero di livelli sotto la radice
+     */
+    private int height;
+
+    /*
+     * Numero di modifiche strutturali, per rendere l'iteratore fail-fast
+     */
+    private int numeroModifiche;
+
+    /*
+     * Impostato dalle operazioni ricorsive di inserimento e cancellazione per
+     * segnalare se l'albero è stato effettivamente modificato
+     */
+    private boolean modified;
+
+    /**
+     * Crea un B+ tree vuoto con al più {@link #DEFAULT_MAX_KEYS} etichette per
+     * nodo.
+     */
+    public BPlusTree() {
+        this(DEFAULT_MAX_KEYS);
+    }
+
+    /**
+     * Crea un B+ tree vuoto con un numero massimo di etichette per nodo dato.
+     *
+     * @param maxKeys
+     *                    il numero massimo di etichette per nodo
+     * @throws IllegalArgumentException
+     *                                      se maxKeys è minore di 3
+     */
+    public BPlusTree(int maxKeys) {
+        if (maxKeys < 3)
+            throw new IllegalArgumentException(
+                    "Il numero massimo di etichette per nodo deve essere almeno 3");
+        this.maxKeys = maxKeys;
+        this.minKeys = maxKeys / 2;
+        this.clear();
+    }
+
+    /**
+     * Determina se questo albero è vuoto.
+     *
+     * @return true se questo albero è vuoto, false altrimenti
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Determina il numero di etichette in questo albero.
+     *
+     * @return il numero di etichette in questo albero
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Cancella tutte le etichette di questo albero, che quindi diventa vuoto.
+     */
+    public void clear() {
+        this.root = new Leaf();
+        this.size = 0;
+        this.height = 0;
+        this.numeroModifiche++;
+    }
+
+    /**
+     * Restituisce l'altezza di questo albero, cioè il numero di livelli di
+     * nodi sotto la radice. L'altezza dell'albero vuoto è -1, quella di un
+     * albero con la sola radice/foglia è 0.
+     *
+     * @return l'altezza di questo albero oppure -1 se questo albero è vuoto.
+     */
+    public int getHeight() {
+        if (this.isEmpty())
+            return -1;
+        return this.height;
+    }
+
+    /**
+     * Aggiunge ad una lista data la lista delle etichette dell'albero
+     * nell'ordine naturale.
+     *
+     * @param l
+     *              una lista (può essere anche vuota) su cui inserire le
+     *              etichette in ordine.
+     * @throws NullPointerException
+     *                                  se la lista passata è null
+     */
+    public void addOrderedLabelsTo(List<E> l) {
+        if (l == null)
+            throw new NullPointerException(
+                    "Lista null su cui aggiungere le etichette");
+        for (E label : this)
+            l.add(label);
+    }
+
+    /**
+     * Restituisce la lista ordinata delle etichette di questo albero secondo
+     * l'ordinamento naturale della classe {@code E}.
+     *
+     * @return la lista ordinata delle etichette di questo albero
+     */
+    public List<E> getOrderedLabels() {
+        List<E> l = new ArrayList<E>(this.size);
+        this.addOrderedLabelsTo(l);
+        return l;
+    }
+
+    /**
+     * Determina se una etichetta è presente in questo albero.
+     *
+     * @param label
+     *                  l'etichetta da cercare
+     * @return true se l'etichetta è presente, false altrimenti
+     * @throws NullPointerException
+     *                                  se l'etichetta passata è null
+     */
+    public boolean contains(E label) {
+        if (label == null)
+            throw new NullPointerException("Etichetta da cercare null");
+        Leaf leaf = findLeaf(label);
+        return leaf.indexOf(label) >= 0;
+    }
+
+    /**
+     * Restituisce l'etichetta più piccola presente nell'albero.
+     *
+     * @return l'etichetta minima presente nell'albero oppure null se l'albero è
+     *         vuoto
+     */
+    public E getMin() {
+        if (this.isEmpty())
+            return null;
+        Node n = this.root;
+        while (n instanceof Inner)
+            n = ((Inner) n).children[0];
+        return n.key(0);
+    }
+
+    /**
+     * Restituisce l'etichetta più grande presente nell'albero.
+     *
+     * @return l'etichetta massima presente nell'albero oppure null se l'albero
+     *         è vuoto
+     */
+    public E getMax() {
+        if (this.isEmpty())
+            return null;
+        Node n = this.root;
+        while (n instanceof Inner)
+            n = ((Inner) n).children[n.n];
+        return n.key(n.n - 1);
+    }
+
+    /**
+     * Restituisce l'etichetta successiva a una etichetta data.
+     *
+     * @param label
+     *                  l'etichetta di cui trovare il successore
+     * @return l'etichetta successore di {@code label} in questo albero, oppure
+     *         null se {@code label} non ha un successore
+     * @throws IllegalArgumentException
+     *                                      se l'etichetta {@code label} non è
+     *                                      presente in questo albero
+     * @throws NullPointerException
+     *                                      se l'etichetta passata è null
+     */
+    public E getSuccessor(E label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Etichetta di cui cercare il successore null");
+        Leaf leaf = findLeaf(label);
+        int i = leaf.indexOf(label);
+        if (i < 0)
+            throw new IllegalArgumentException(
+                    "Tentativo di cercare il successore di una etichetta non esistente");
+        if (i + 1 < leaf.n)
+            return leaf.key(i + 1);
+        if (leaf.next == null)
+            return null;
+        return leaf.next.key(0);
+    }
+
+    /**
+     * Restituisce l'etichetta precedente a una etichetta data.
+     *
+     * @param label
+     *                  l'etichetta di cui trovare il predecessore
+     * @return l'etichetta predecessore di {@code label} in questo albero,
+     *         oppure null se {@code label} non ha un predecessore
+     * @throws IllegalArgumentException
+     *                                      se l'etichetta {@code label} non è
+     *                                      presente in questo albero
+     * @throws NullPointerException
+     *                                      se l'etichetta passata è null
+     */
+    public E getPredecessor(E label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Etichetta di cui cercare il predecessore null");
+        Leaf leaf = findLeaf(label);
+        int i = leaf.indexOf(label);
+        if (i < 0)
+            throw new IllegalArgumentException(
+                    "Tentativo di cercare il predecessore di una etichetta non esistente");
+        if (i > 0)
+            return leaf.key(i - 1);
+        if (leaf.prev == null)
+            return null;
+        return leaf.prev.key(leaf.prev.n - 1);
+    }
+
+    /**
+     * Aggiunge una etichetta a questo albero.
+     *
+     * @param label
+     *                  etichetta da inserire
+     * @return true se l'etichetta è stata effettivamente inserita, false se
+     *         era già presente
+     * @throws NullPointerException
+     *                                  se l'etichetta passata è null
+     */
+    public boolean add(E label) {
+        if (label == null)
+            throw new NullPointerException("Etichetta da aggiungere null");
+        this.modified = false;
+        Node sibling = this.root.insert(label);
+        if (sibling != null) {
+            // la radice si è divisa: nuova radice con due figli
+            Inner newRoot = new Inner();
+            newRoot.keys[0] = sibling.splitKey;
+            newRoot.children[0] = this.root;
+            newRoot.children[1] = sibling;
+            newRoot.n = 1;
+            sibling.splitKey = null;
+            this.root = newRoot;
+            this.height++;
+        }
+        if (this.modified) {
+            this.size++;
+            this.numeroModifiche++;
+        }
+        return this.modified;
+    }
+
+    /**
+     * Rimuove da questo albero una certa etichetta.
+     *
+     * @param label
+     *                  l'etichetta da rimuovere
+     * @return true se l'etichetta è stata rimossa, false se non era presente
+     * @throws NullPointerException
+     *                                  se l'etichetta passata è null
+     */
+    public boolean remove(E label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Tentativo di rimuovere etichetta null");
+        this.modified = false;
+        this.root.delete(label);
+        if (this.root instanceof Inner && this.root.n == 0) {
+            // la radice è rimasta con un solo figlio
+            this.root = ((Inner) this.root).children[0];
+            this.height--;
+        }
+        if (this.modified) {
+            this.size--;
+            this.numeroModifiche++;
+        }
+        return this.modified;
+    }
+
+    /**
+     * Restituisce un iteratore fail-fast sulle etichette di questo albero in
+     * ordine crescente, che scorre la lista delle foglie. L'operazione
+     * {@code remove()} non è supportata.
+     *
+     * @return un iteratore sulle etichette in ordine crescente
+     */
+    @Override
+    public Iterator<E> iterator() {
+        Node n = this.root;
+        while (n instanceof Inner)
+            n = ((Inner) n).children[0];
+        return new Itr((Leaf) n, 0, null);
+    }
+
+    /**
+     * Restituisce una vista delle etichette di questo albero comprese fra
+     * {@code fromLabel}, incluso, e {@code toLabel}, escluso. Ogni iteratore
+     * della vista scende fino alla foglia del primo elemento in tempo
+     * O(log n) e poi scorre la lista delle foglie.
+     *
+     * @param fromLabel
+     *                      l'estremo inferiore, incluso
+     * @param toLabel
+     *                      l'estremo superiore, escluso
+     * @return la vista delle etichette x con
+     *         {@code fromLabel <= x < toLabel}, in ordine crescente
+     * @throws NullPointerException
+     *                                      se uno degli estremi è null
+     * @throws IllegalArgumentException
+     *                                      se {@code fromLabel} è maggiore di
+     *                                      {@code toLabel}
+     */
+    public Iterable<E> subSet(E fromLabel, E toLabel) {
+        if (fromLabel == null || toLabel == null)
+            throw new NullPointerException("Estremo dell'intervallo null");
+        if (fromLabel.compareTo(toLabel) > 0)
+            throw new IllegalArgumentException(
+                    "Estremo inferiore maggiore dell'estremo superiore");
+        return () -> {
+            Leaf leaf = findLeaf(fromLabel);
+            return new Itr(leaf, leaf.lowerBound(fromLabel), toLabel);
+        };
+    }
+
+    /*
+     * Scende dalla radice fino alla foglia in cui si trova, o si troverebbe,
+     * l'etichetta data.
+     */
+    private Leaf findLeaf(E label) {
+        Node n = this.root;
+        while (n instanceof Inner) {
+            Inner in = (Inner) n;
+            n = in.children[in.upperBound(label)];
+        }
+        return (Leaf) n;
+    }
+
+    /*
+     * Iteratore che scorre la lista delle foglie a partire da una posizione
+     * data, fino a un eventuale estremo superiore escluso.
+     */
+    private class Itr implements Iterator<E> {
+
+        private Leaf leaf;
+
+        private int index;
+
+        private final E toLabel;
+
+        private int numeroModificheAtteso;
+
+        private Itr(Leaf leaf, int index, E toLabel) {
+            this.leaf = leaf;
+            this.index = index;
+            this.toLabel = toLabel;
+            this.numeroModificheAtteso = BPlusTree.this.numeroModifiche;
+            skipEmpty();
+        }
+
+        /*
+         * Si sposta sulla foglia successiva se la posizione corrente è oltre
+         * la fine della foglia.
+         */
+        private void skipEmpty() {
+            while (this.leaf != null && this.index >= this.leaf.n) {
+                this.leaf = this.leaf.next;
+                this.index = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.leaf != null && (this.toLabel == null || this.leaf
+                    .key(this.index).compareTo(this.toLabel) < 0);
+        }
+
+        @Override
+        public E next() {
+            if (this.numeroModificheAtteso != BPlusTree.this.numeroModifiche)
+                throw new ConcurrentModificationException(
+                        "Albero modificato durante l'iterazione");
+            if (!hasNext())
+                throw new NoSuchElementException(
+                        "Richiesta di next quando hasNext è falso");
+            E label = this.leaf.key(this.index++);
+            skipEmpty();
+            return label;
+        }
+    }
+
+    /*
+     * Nodo generico: un array ordinato di n etichette. Gli array hanno una
+     * posizione in più del massimo per poter contenere temporaneamente
+     * l'etichetta che causa una divisione.
+     */
+    private abstract class Node {
+
+        protected Object[] keys = new Object[BPlusTree.this.maxKeys + 1];
+
+        protected int n;
+
+        /*
+         * Etichetta separatrice con cui un nodo appena creato da una divisione
+         * va inserito nel genitore
+         */
+        protected E splitKey;
+
+        @SuppressWarnings("unchecked")
+        protected E key(int i) {
+            return (E) this.keys[i];
+        }
+
+        /*
+         * Prima posizione con etichetta maggiore o uguale a label
+         */
+        protected int lowerBound(E label) {
+            int lo = 0;
+            int hi = this.n;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (key(mid).compareTo(label) < 0)
+                    lo = mid + 1;
+                else
+                    hi = mid;
+            }
+            return lo;
+        }
+
+        /*
+         * Prima posizione con etichetta strettamente maggiore di label
+         */
+        protected int upperBound(E label) {
+            int lo = 0;
+            int hi = this.n;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (key(mid).compareTo(label) <= 0)
+                    lo = mid + 1;
+                else
+                    hi = mid;
+            }
+            return lo;
+        }
+
+        /*
+         * Inserisce l'etichetta nel sottoalbero. Se il nodo si divide
+         * restituisce il nuovo fratello destro, con la separatrice in
+         * splitKey, altrimenti null.
+         */
+        protected abstract Node insert(E label);
+
+        /*
+         * Cancella l'etichetta dal sottoalbero. Il chiamante controlla poi se
+         * il nodo è sotto il minimo.
+         */
+        protected abstract void delete(E label);
+    }
+
+    /*
+     * Foglia: contiene le etichette ed è collegata alle foglie adiacenti.
+     */
+    private class Leaf extends Node {
+
+        private Leaf next;
+
+        private Leaf prev;
+
+        /*
+         * Posizione dell'etichetta, o -1 se non presente
+         */
+        private int indexOf(E label) {
+            int i = lowerBound(label);
+            if (i < this.n && key(i).compareTo(label) == 0)
+                return i;
+            return -1;
+        }
+
+        @Override
+        protected Node insert(E label) {
+            int i = lowerBound(label);
+            if (i < this.n && key(i).compareTo(label) == 0)
+                return null;
+            System.arraycopy(this.keys, i, this.keys, i + 1, this.n - i);
+            this.keys[i] = label;
+            this.n++;
+            BPlusTree.this.modified = true;
+            if (this.n <= BPlusTree.this.maxKeys)
+                return null;
+            // divisione: la metà destra va in una nuova foglia
+            Leaf right = new Leaf();
+            int mid = this.n / 2;
+            right.n = this.n - mid;
+            System.arraycopy(this.keys, mid, right.keys, 0, right.n);
+            Arrays.fill(this.keys, mid, this.n, null);
+            this.n = mid;
+            right.next = this.next;
+            if (this.next != null)
+                this.next.prev = right;
+            right.prev = this;
+            this.next = right;
+            right.splitKey = right.key(0);
+            return right;
+        }
+
+        @Override
+        protected void delete(E label) {
+            int i = indexOf(label);
+            if (i < 0)
+                return;
+            System.arraycopy(this.keys, i + 1, this.keys, i, this.n - i - 1);
+            this.keys[--this.n] = null;
+            BPlusTree.this.modified = true;
+        }
+    }
+
+    /*
+     * Nodo interno: n etichette separatrici e n + 1 figli. Il figlio i
+     * contiene le etichette minori di keys[i] e maggiori o uguali a
+     * keys[i - 1].
+     */
+    private class Inner extends Node {
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private Node[] children = (Node[]) new BPlusTree.Node[BPlusTree.this.maxKeys
+                + 2];
+
+        @Override
+        protected Node insert(E label) {
+            int i = upperBound(label);
+            Node sibling = this.children[i].insert(label);
+            if (sibling == null)
+                return null;
+            // il figlio si è diviso: inserisco la separatrice e il nuovo figlio
+            System.arraycopy(this.keys, i, this.keys, i + 1, this.n - i);
+            System.arraycopy(this.children, i + 1, this.children, i + 2,
+                    this.n - i);
+            this.keys[i] = sibling.splitKey;
+            this.children[i + 1] = sibling;
+            sibling.splitKey = null;
+            this.n++;
+            if (this.n <= BPlusTree.this.maxKeys)
+                return null;
+            // divisione: la separatrice centrale sale nel genitore
+            Inner right = new Inner();
+            int mid = this.n / 2;
+            right.n = this.n - mid - 1;
+            System.arraycopy(this.keys, mid + 1, right.keys, 0, right.n);
+            System.arraycopy(this.children, mid + 1, right.children, 0,
+                    right.n + 1);
+            right.splitKey = key(mid);
+            Arrays.fill(this.keys, mid, this.n, null);
+            Arrays.fill(this.children, mid + 1, this.n + 1, null);
+            this.n = mid;
+            return right;
+        }
+
+        @Override
+        protected void delete(E label) {
+            int i = upperBound(label);
+            Node child = this.children[i];
+            child.delete(label);
+            if (child.n >= BPlusTree.this.minKeys)
+                return;
+            // il figlio è sotto il minimo: prendo in prestito da un fratello
+            // o lo fondo con un fratello
+            if (i > 0 && this.children[i - 1].n > BPlusTree.this.minKeys)
+                borrowFromLeft(i);
+            else if (i < this.n
+                    && this.children[i + 1].n > BPlusTree.this.minKeys)
+                borrowFromRight(i);
+            else if (i > 0)
+                merge(i - 1);
+            else
+                merge(i);
+        }
+
+        /*
+         * Sposta l'ultima etichetta del fratello sinistro nel figlio i.
+         */
+        private void borrowFromLeft(int i) {
+            Node child = this.children[i];
+            Node left = this.children[i - 1];
+            System.arraycopy(child.keys, 0, child.keys, 1, child.n);
+            if (child instanceof Leaf) {
+                child.keys[0] = left.keys[left.n - 1];
+                this.keys[i - 1] = child.keys[0];
+            } else {
+                Inner c = (Inner) child;
+                Inner l = (Inner) left;
+                System.arraycopy(c.children, 0, c.children, 1, c.n + 1);
+                c.keys[0] = this.keys[i - 1];
+                c.children[0] = l.children[l.n];
+                l.children[l.n] = null;
+                this.keys[i - 1] = left.keys[left.n - 1];
+            }
+            left.keys[--left.n] = null;
+            child.n++;
+        }
+
+        /*
+         * Sposta la prima etichetta del fratello destro nel figlio i.
+         */
+        private void borrowFromRight(int i) {
+            Node child = this.children[i];
+            Node right = this.children[i + 1];
+            if (child instanceof Leaf) {
+                child.keys[child.n] = right.keys[0];
+                System.arraycopy(right.keys, 1, right.keys, 0, right.n - 1);
+                right.keys[--right.n] = null;
+                this.keys[i] = right.keys[0];
+            } else {
+                Inner c = (Inner) child;
+                Inner r = (Inner) right;
+                c.keys[c.n] = this.keys[i];
+                c.children[c.n + 1] = r.children[0];
+                this.keys[i] = r.keys[0];
+                System.arraycopy(r.keys, 1, r.keys, 0, r.n - 1);
+                System.arraycopy(r.children, 1, r.children, 0, r.n);
+                r.children[r.n] = null;
+                r.keys[--r.n] = null;
+            }
+            child.n++;
+        }
+
+        /*
+         * Fonde il figlio i + 1 nel figlio i e toglie la separatrice fra i
+         * due.
+         */
+        private void merge(int i) {
+            Node left = this.children[i];
+            Node right = this.children[i + 1];
+            if (left instanceof Leaf) {
+                Leaf l = (Leaf) left;
+                Leaf r = (Leaf) right;
+                System.arraycopy(r.keys, 0, l.keys, l.n, r.n);
+                l.n += r.n;
+                l.next = r.next;
+                if (r.next != null)
+                    r.next.prev = l;
+            } else {
+                Inner l = (Inner) left;
+                Inner r = (Inner) right;
+                l.keys[l.n] = this.keys[i];
+                System.arraycopy(r.keys, 0, l.keys, l.n + 1, r.n);
+                System.arraycopy(r.children, 0, l.children, l.n + 1,
+                        r.n + 1);
+                l.n += r.n + 1;
+            }
+            System.arraycopy(this.keys, i + 1, this.keys, i, this.n - i - 1);
+            System.arraycopy(this.children, i + 2, this.children, i + 1,
+                    this.n - i - 1);
+            this.keys[this.n - 1] = null;
+            this.children[this.n] = null;
+            this.n--;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package it.unicam.cs.asdl2223.es6sol;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.Random;
+
+/**
+ * Confronta un {@link BPlusTree} con un {@link BinarySearchTree} autobilanciante
+ * sulle stesse etichette intere casuali distinte. Per ogni struttura misura il
+ * tempo in nanosecondi di inserimento di tutte le etichette, di ricerca di
+ * tutte le etichette (in un ordine diverso da quello di inserimento) e di una
+ * visita in ordine completa. I risultati sono scritti su un file .csv (Comma
+ * Separated Values).
+ *
+ * Il main può essere chiamato con il nome della directory di destinazione del
+ * file come primo parametro di linea di comando (di default la directory
+ * corrente) e con il numero di etichette come secondo parametro (di default
+ * {@link #DEFAULT_N}). Con 10 milioni di etichette serve una heap di qualche
+ * GB (ad esempio -Xmx4g).
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ */
+public class BPlusTreeEvaluationFramework {
+
+    /**
+     * Numero di etichette usato se non specificato
+     */
+    public static final int DEFAULT_N = 1000000;
+
+    /**
+     * Numero di ripetizioni di ogni misura (la prima serve da riscaldamento)
+     */
+    public static final int NUMBER_OF_SAMPLES = 3;
+
+    public static void main(String[] args) {
+        String dirName = args.length > 0 ? args[0] : ".";
+        int n = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_N;
+        PrintStream o = null;
+        try {
+            o = new PrintStream(new File(dirName + "/" + "bplustree.csv"));
+        } catch (FileNotFoundException e) {
+            System.out.println("Errore creazione file di ouput" + dirName + "/"
+                    + "bplustree.csv");
+            System.exit(1);
+        }
+        o.print("Sample,N,Structure,InsertTns,LookupTns,ScanTns\n");
+        // Etichette distinte in ordine casuale e un'altra permutazione per le
+        // ricerche
+        Integer[] labels = shuffledRange(n, new Random(1));
+        Integer[] lookups = shuffledRange(n, new Random(2));
+        for (int s = 0; s < NUMBER_OF_SAMPLES; s++) {
+            // BinarySearchTree
+            long startTimeNano = System.nanoTime();
+            BinarySearchTree<Integer> bst = new BinarySearchTree<Integer>(true);
+            for (Integer x : labels)
+                bst.add(x);
+            long insert = System.nanoTime() - startTimeNano;
+            startTimeNano = System.nanoTime();
+            int found = 0;
+            for (Integer x : lookups)
+                if (bst.contains(x))
+                    found++;
+            long lookup = System.nanoTime() - startTimeNano;
+            startTimeNano = System.nanoTime();
+            long sum = 0;
+            for (Integer x : bst)
+                sum += x;
+            long scan = System.nanoTime() - startTimeNano;
+            check(found, sum, n);
+            o.print(s + "," + n + ",BinarySearchTree," + insert + "," + lookup
+                    + "," + scan + "\n");
+            bst = null;
+            // BPlusTree
+            startTimeNano = System.nanoTime();
+            BPlusTree<Integer> bpt = new BPlusTree<Integer>();
+            for (Integer x : labels)
+                bpt.add(x);
+            insert = System.nanoTime() - startTimeNano;
+            startTimeNano = System.nanoTime();
+            found = 0;
+            for (Integer x : lookups)
+                if (bpt.contains(x))
+                    found++;
+            lookup = System.nanoTime() - startTimeNano;
+            startTimeNano = System.nanoTime();
+            sum = 0;
+            for (Integer x : bpt)
+                sum += x;
+            scan = System.nanoTime() - startTimeNano;
+            check(found, sum, n);
+            o.print(s + "," + n + ",BPlusTree," + insert + "," + lookup + ","
+                    + scan + "\n");
+            System.out.println("Completato campione " + s);
+        }
+        o.close();
+    } // end main
+
+    /*
+     * Restituisce i numeri da 0 a n - 1 in ordine casuale.
+     */
+    private static Integer[] shuffledRange(int n, Random random) {
+        Integer[] a = new Integer[n];
+        for (int i = 0; i < n; i++)
+            a[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer tmp = a[i];
+            a[i] = a[j];
+            a[j] = tmp;
+        }
+        return a;
+    }
+
+    /*
+     * Controlla che tutte le etichette siano state trovate e visitate.
+     */
+    private static void check(int found, long sum, int n) {
+        if (found != n || sum != (long) n * (n - 1) / 2)
+            throw new IllegalStateException(
+                    "Risultato non corretto: trovate " + found + " etichette");
+    }
+
+}
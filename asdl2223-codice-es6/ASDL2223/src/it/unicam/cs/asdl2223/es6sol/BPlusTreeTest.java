@@ -0,0 +1,139 @@
+package it.unicam.cs.asdl2223.es6sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test JUnit per la classe BPlusTree
+ */
+class BPlusTreeTest {
+
+	@Test
+	void testBPlusTree() {
+		assertThrows(IllegalArgumentException.class, () -> new BPlusTree<Integer>(2));
+		BPlusTree<Integer> t = new BPlusTree<Integer>();
+		assertTrue(t.isEmpty());
+		assertEquals(0, t.size());
+		assertEquals(-1, t.getHeight());
+		assertNull(t.getMin());
+		assertNull(t.getMax());
+		assertFalse(t.contains(1));
+		assertFalse(t.remove(1));
+		assertTrue(t.getOrderedLabels().isEmpty());
+	}
+
+	@Test
+	void testAddContains() {
+		BPlusTree<Integer> t = new BPlusTree<Integer>(3);
+		assertThrows(NullPointerException.class, () -> t.add(null));
+		assertThrows(NullPointerException.class, () -> t.contains(null));
+		for (int i : new int[] { 50, 20, 70, 10, 30, 60, 80, 40 }) {
+			assertTrue(t.add(i));
+		}
+		assertFalse(t.add(30));
+		assertEquals(8, t.size());
+		assertTrue(t.getHeight() > 0);
+		assertTrue(t.contains(40));
+		assertFalse(t.contains(45));
+		assertEquals(10, t.getMin());
+		assertEquals(80, t.getMax());
+		assertEquals(Arrays.asList(10, 20, 30, 40, 50, 60, 70, 80), t.getOrderedLabels());
+	}
+
+	@Test
+	void testSuccessorPredecessor() {
+		BPlusTree<Integer> t = new BPlusTree<Integer>(3);
+		assertThrows(IllegalArgumentException.class, () -> t.getSuccessor(1));
+		for (int i = 0; i < 50; i++) {
+			t.add(i * 2);
+		}
+		for (int i = 0; i < 49; i++) {
+			assertEquals(i * 2 + 2, t.getSuccessor(i * 2));
+			assertEquals(i * 2, t.getPredecessor(i * 2 + 2));
+		}
+		assertNull(t.getSuccessor(98));
+		assertNull(t.getPredecessor(0));
+		assertThrows(IllegalArgumentException.class, () -> t.getSuccessor(1));
+		assertThrows(IllegalArgumentException.class, () -> t.getPredecessor(1));
+		assertThrows(NullPointerException.class, () -> t.getSuccessor(null));
+	}
+
+	@Test
+	void testRandomOperations() {
+		// confronto con TreeSet su sequenze casuali di inserimenti e cancellazioni
+		for (int order : new int[] { 3, 4, 5, 8, 64 }) {
+			Random random = new Random(order);
+			BPlusTree<Integer> t = new BPlusTree<Integer>(order);
+			TreeSet<Integer> expected = new TreeSet<Integer>();
+			for (int i = 0; i < 20000; i++) {
+				int x = random.nextInt(2000);
+				if (random.nextInt(3) == 0) {
+					assertEquals(expected.remove(x), t.remove(x));
+				} else {
+					assertEquals(expected.add(x), t.add(x));
+				}
+				assertEquals(expected.size(), t.size());
+			}
+			assertEquals(new ArrayList<Integer>(expected), t.getOrderedLabels());
+			assertEquals(expected.first(), t.getMin());
+			assertEquals(expected.last(), t.getMax());
+			for (int x = 0; x < 2000; x++) {
+				assertEquals(expected.contains(x), t.contains(x));
+			}
+			for (Integer x : new ArrayList<Integer>(expected)) {
+				assertTrue(t.remove(x));
+			}
+			assertTrue(t.isEmpty());
+			assertEquals(-1, t.getHeight());
+		}
+	}
+
+	@Test
+	void testIterator() {
+		BPlusTree<Integer> t = new BPlusTree<Integer>(4);
+		assertFalse(t.iterator().hasNext());
+		for (int i = 99; i >= 0; i--) {
+			t.add(i);
+		}
+		int expected = 0;
+		for (Integer x : t) {
+			assertEquals(expected++, x);
+		}
+		assertEquals(100, expected);
+		Iterator<Integer> it = t.iterator();
+		it.next();
+		t.remove(50);
+		assertThrows(ConcurrentModificationException.class, () -> it.next());
+	}
+
+	@Test
+	void testSubSet() {
+		BPlusTree<Integer> t = new BPlusTree<Integer>(3);
+		for (int i = 0; i < 100; i++) {
+			t.add(i * 10);
+		}
+		List<Integer> l = new ArrayList<Integer>();
+		for (Integer x : t.subSet(95, 150)) {
+			l.add(x);
+		}
+		assertEquals(Arrays.asList(100, 110, 120, 130, 140), l);
+		l.clear();
+		for (Integer x : t.subSet(985, 2000)) {
+			l.add(x);
+		}
+		assertEquals(Arrays.asList(990), l);
+		assertFalse(t.subSet(991, 2000).iterator().hasNext());
+		assertThrows(IllegalArgumentException.class, () -> t.subSet(5, 4));
+		assertThrows(NullPointerException.class, () -> t.subSet(null, 4));
+	}
+
+}
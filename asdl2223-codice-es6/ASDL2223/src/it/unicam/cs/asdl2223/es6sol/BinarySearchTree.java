@@ -1,15 +1,19 @@
 package it.unicam.cs.asdl2223.es6sol;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Un oggetto di questa classe rappresenta un binary search tree, cioè un albero
  * binario di ricerca, realizzato tramite nodi ricorsivi (rappresentati da
- * oggetti della classe interna RecBST). Le API pubbliche chiamano i
- * corrispondenti metodi ricorsivi sul nodo RecBST che attualmente è la radice.
+ * oggetti della classe interna RecBST) collegati anche al proprio genitore. Le
+ * API pubbliche chiamano i corrispondenti metodi sul nodo RecBST che
+ * attualmente è la radice, i quali scendono o risalgono l'albero con un ciclo
+ * invece che con chiamate ricorsive.
  * Questa classe non accetta elementi null e non accetta elementi duplicati.
  * 
  * Il binary search tree rappresentato da un oggetto di questa classe può essere
@@ -18,10 +22,24 @@ import java.util.Set;
  * puntatore all'oggetto RecBST è null, cioè dal fatto che l'oggetto non esiste.
  * 
  * La complessità delle operazioni di ricerca, inserimento e cancellazione nel
- * caso pessimo sono O(h) dove h è l'altezza dell'albero. Questa classe non
- * esegue un autobilanciamento dell'altezza, quindi nei casi degeneri la
- * complessità delle operazioni può diventare O(n) dove n è il numero degli
- * elementi presenti.
+ * caso pessimo sono O(h) dove h è l'altezza dell'albero. Per default questa
+ * classe non esegue un autobilanciamento dell'altezza, quindi nei casi degeneri
+ * (ad esempio inserendo etichette in ordine crescente) la complessità delle
+ * operazioni può diventare O(n) dove n è il numero degli elementi presenti. Un
+ * albero creato con {@link #BinarySearchTree(boolean)} passando true è invece
+ * un albero AVL: dopo ogni inserimento e cancellazione le altezze dei
+ * sottoalberi sinistro e destro di ogni nodo differiscono al più di uno, per
+ * cui l'altezza è sempre O(log n).
+ * 
+ * Tutte le operazioni sui nodi sono realizzate iterativamente, per cui anche
+ * alberi molto profondi non causano uno stack overflow. L'iteratore restituito
+ * da {@link #iterator()} visita le etichette in ordine passando di successore
+ * in successore tramite i puntatori ai genitori, senza allocare liste o pile.
+ * 
+ * Ogni nodo mantiene anche il numero di nodi del proprio sottoalbero, il che
+ * permette di rispondere alle interrogazioni di rango ({@link #rank(Comparable)},
+ * {@link #select(int)}, {@link #countInRange(Comparable, Comparable)}) in tempo
+ * O(h).
  * 
  * @param E
  *              il tipo delle etichette dei nodi in questo Binary Search Tree.
@@ -31,7 +49,7 @@ import java.util.Set;
  * @author Luca Tesei
  *
  */
-public class BinarySearchTree<E extends Comparable<E>> {
+public class BinarySearchTree<E extends Comparable<E>> implements Iterable<E> {
 
     /*
      * Puntatore all'attuale nodo radice dell'albero, se null allora l'albero è
@@ -44,12 +62,36 @@ public class BinarySearchTree<E extends Comparable<E>> {
      */
     private int size;
 
+    /*
+     * Se true l'albero viene ribilanciato (AVL) dopo ogni modifica
+     */
+    private final boolean selfBalancing;
+
+    /*
+     * Numero di modifiche strutturali, per rendere l'iteratore fail-fast
+     */
+    private int numeroModifiche;
+
     /**
      * Crea un albero binario di ricerca vuoto.
      */
     public BinarySearchTree() {
+        this(false);
+    }
+
+    /**
+     * Crea un albero binario di ricerca vuoto, specificando se deve
+     * mantenersi bilanciato.
+     * 
+     * @param selfBalancing
+     *                          se true l'albero si ribilancia dopo ogni
+     *                          inserimento e cancellazione, garantendo
+     *                          un'altezza O(log n)
+     */
+    public BinarySearchTree(boolean selfBalancing) {
         this.root = null;
         this.size = 0;
+        this.selfBalancing = selfBalancing;
     }
 
     /**
@@ -65,6 +107,186 @@ public class BinarySearchTree<E extends Comparable<E>> {
             throw new NullPointerException("Etichetta della radice null");
         this.root = new RecBST(label);
         this.size = 1;
+        this.selfBalancing = false;
+    }
+
+    /**
+     * Costruisce un albero perfettamente bilanciato a partire da una lista di
+     * etichette già ordinata in modo strettamente crescente, in tempo O(n):
+     * la radice di ogni sottoalbero è l'etichetta centrale del rispettivo
+     * intervallo della lista. L'albero ottenuto ha altezza minima ma non si
+     * mantiene bilanciato nelle modifiche successive (vedi
+     * {@link #rebalance()}).
+     * 
+     * @param labels
+     *                   la lista ordinata delle etichette
+     * @return un nuovo albero con le etichette date
+     * @throws NullPointerException
+     *                                      se la lista è null o contiene
+     *                                      etichette null
+     * @throws IllegalArgumentException
+     *                                      se la lista non è ordinata in modo
+     *                                      strettamente crescente
+     */
+    public static <E extends Comparable<E>> BinarySearchTree<E> fromSorted(
+            List<E> labels) {
+        return fromSorted(labels, false);
+    }
+
+    /**
+     * Come {@link #fromSorted(List)}, ma se {@code parallel} è true i
+     * sottoalberi sinistro e destro dei nodi più alti vengono costruiti in
+     * parallelo nel ForkJoinPool comune.
+     * 
+     * @param labels
+     *                     la lista ordinata delle etichette
+     * @param parallel
+     *                     se true la costruzione avviene in parallelo
+     * @return un nuovo albero con le etichette date
+     * @throws NullPointerException
+     *                                      se la lista è null o contiene
+     *                                      etichette null
+     * @throws IllegalArgumentException
+     *                                      se la lista non è ordinata in modo
+     *                                      strettamente crescente
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Comparable<E>> BinarySearchTree<E> fromSorted(
+            List<E> labels, boolean parallel) {
+        if (labels == null)
+            throw new NullPointerException("Lista di etichette null");
+        Object[] a = labels.toArray();
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == null)
+                throw new NullPointerException("Etichetta da aggiungere null");
+            if (i > 0 && ((E) a[i - 1]).compareTo((E) a[i]) >= 0)
+                throw new IllegalArgumentException(
+                        "Lista di etichette non ordinata in modo strettamente crescente");
+        }
+        BinarySearchTree<E> tree = new BinarySearchTree<E>();
+        tree.root = tree.build(a, null, parallel);
+        tree.size = a.length;
+        return tree;
+    }
+
+    /**
+     * Ricostruisce questo albero in modo che sia perfettamente bilanciato, in
+     * tempo O(n) e senza allocare nuovi nodi: i nodi esistenti vengono messi
+     * in ordine in un array e ricollegati scegliendo ogni volta come radice
+     * il nodo centrale.
+     */
+    public void rebalance() {
+        if (this.isEmpty())
+            return;
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        RecBST[] nodes = (RecBST[]) new BinarySearchTree.RecBST[this.size];
+        int i = 0;
+        for (RecBST n = this.root.getMinNode(); n != null; n = n
+                .getSuccessorNode())
+            nodes[i++] = n;
+        this.root = this.build(null, nodes, false);
+        this.numeroModifiche++;
+    }
+
+    /*
+     * Costruisce un albero perfettamente bilanciato con le etichette date
+     * oppure ricollegando i nodi dati, entrambi in ordine crescente.
+     */
+    private RecBST build(Object[] labels, RecBST[] nodes, boolean parallel) {
+        int n = labels != null ? labels.length : nodes.length;
+        if (n == 0)
+            return null;
+        RecBST r;
+        if (parallel)
+            r = new Builder(labels, nodes, 0, n - 1).invoke();
+        else
+            r = build(labels, nodes, 0, n - 1);
+        r.parent = null;
+        return r;
+    }
+
+    /*
+     * Costruisce il sottoalbero bilanciato per l'intervallo [lo, hi] e ne
+     * restituisce la radice, già collegata ai figli.
+     */
+    @SuppressWarnings("unchecked")
+    private RecBST build(Object[] labels, RecBST[] nodes, int lo, int hi) {
+        if (lo > hi)
+            return null;
+        int mid = (lo + hi) >>> 1;
+        RecBST left = build(labels, nodes, lo, mid - 1);
+        RecBST right = build(labels, nodes, mid + 1, hi);
+        return link(labels != null ? new RecBST((E) labels[mid]) : nodes[mid],
+                left, right);
+    }
+
+    /*
+     * Collega un nodo ai suoi due sottoalberi e ne aggiorna altezza e numero
+     * di nodi.
+     */
+    private RecBST link(RecBST n, RecBST left, RecBST right) {
+        n.left = left;
+        n.right = right;
+        if (left != null)
+            left.parent = n;
+        if (right != null)
+            right.parent = n;
+        update(n);
+        return n;
+    }
+
+    /*
+     * Costruzione parallela: sopra una certa dimensione il sottoalbero
+     * sinistro è costruito in un altro task mentre questo costruisce il
+     * destro.
+     */
+    private class Builder extends RecursiveTask<RecBST> {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+        private final Object[] labels;
+
+        private final RecBST[] nodes;
+
+        private final int lo;
+
+        private final int hi;
+
+        private Builder(Object[] labels, RecBST[] nodes, int lo, int hi) {
+            this.labels = labels;
+            this.nodes = nodes;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected RecBST compute() {
+            if (this.hi - this.lo < SEQUENTIAL_THRESHOLD)
+                return build(this.labels, this.nodes, this.lo, this.hi);
+            int mid = (this.lo + this.hi) >>> 1;
+            Builder leftTask = new Builder(this.labels, this.nodes, this.lo,
+                    mid - 1);
+            leftTask.fork();
+            RecBST right = new Builder(this.labels, this.nodes, mid + 1,
+                    this.hi).compute();
+            RecBST left = leftTask.join();
+            return link(this.labels != null
+                    ? new RecBST((E) this.labels[mid])
+                    : this.nodes[mid], left, right);
+        }
+    }
+
+    /**
+     * Determina se questo albero si mantiene bilanciato.
+     * 
+     * @return true se questo albero si ribilancia dopo ogni modifica, false
+     *         altrimenti
+     */
+    public boolean isSelfBalancing() {
+        return this.selfBalancing;
     }
 
     /**
@@ -91,20 +313,22 @@ public class BinarySearchTree<E extends Comparable<E>> {
     public void clear() {
         this.root = null;
         this.size = 0;
+        this.numeroModifiche++;
     }
 
     /**
      * Restituisce l'altezza di questo albero. L'altezza è definita come la
      * massima lunghezza di un percorso dal nodo radice a un nodo foglia in
      * questo albero. L'altezza dell'albero vuoto è -1, l'altezza dell'albero
-     * con una radice/foglia è 0, e così via.
+     * con una radice/foglia è 0, e così via. L'altezza è mantenuta nei nodi,
+     * per cui il costo è O(1).
      * 
      * @return l'altezza di questo albero oppure -1 se questo albero è vuoto.
      */
     public int getHeight() {
         if (this.isEmpty())
             return -1;
-        return this.root.computeHeight();
+        return this.root.height;
     }
 
     /**
@@ -271,12 +495,15 @@ public class BinarySearchTree<E extends Comparable<E>> {
             // aggiunge la radice
             this.root = new RecBST(label);
             this.size = 1;
+            this.numeroModifiche++;
             return true;
         } // chiama il corrispondente metodo sulla radice
         else {
             boolean result = this.root.insert(label);
-            if (result)
+            if (result) {
                 this.size++;
+                this.numeroModifiche++;
+            }
             return result;
         }
     }
@@ -304,9 +531,255 @@ public class BinarySearchTree<E extends Comparable<E>> {
             return false;
         n.deleteSelfLabel();
         this.size--;
+        this.numeroModifiche++;
         return true;
     }
 
+    /**
+     * Restituisce il numero di etichette di questo albero strettamente minori
+     * di una etichetta data, che non deve necessariamente essere presente. Se
+     * l'etichetta è presente, coincide con la sua posizione nella lista
+     * ordinata delle etichette. Il costo è O(h), grazie al numero di nodi
+     * mantenuto in ogni sottoalbero.
+     * 
+     * @param label
+     *                  l'etichetta di cui calcolare il rango
+     * @return il numero di etichette minori di {@code label}
+     * @throws NullPointerException
+     *                                  se l'etichetta passata è null
+     */
+    public int rank(E label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Etichetta di cui calcolare il rango null");
+        return countLess(label, false);
+    }
+
+    /**
+     * Restituisce l'etichetta che si trova in una data posizione nella lista
+     * ordinata delle etichette di questo albero. Il costo è O(h).
+     * 
+     * @param k
+     *              la posizione, a partire da 0
+     * @return la k-esima etichetta più piccola
+     * @throws IndexOutOfBoundsException
+     *                                       se k è negativo o non minore del
+     *                                       numero di nodi dell'albero
+     */
+    public E select(int k) {
+        if (k < 0 || k >= this.size)
+            throw new IndexOutOfBoundsException(
+                    "Posizione " + k + " non valida per un albero di "
+                            + this.size + " nodi");
+        RecBST n = this.root;
+        while (true) {
+            int leftSize = subtreeSize(n.left);
+            if (k < leftSize) {
+                n = n.left;
+            } else if (k > leftSize) {
+                k -= leftSize + 1;
+                n = n.right;
+            } else
+                return n.label;
+        }
+    }
+
+    /**
+     * Restituisce il numero di etichette di questo albero comprese fra due
+     * etichette date, estremi inclusi. Il costo è O(h).
+     * 
+     * @param lo
+     *               l'estremo inferiore
+     * @param hi
+     *               l'estremo superiore
+     * @return il numero di etichette x con {@code lo <= x <= hi}
+     * @throws NullPointerException
+     *                                      se uno degli estremi è null
+     * @throws IllegalArgumentException
+     *                                      se {@code lo} è maggiore di
+     *                                      {@code hi}
+     */
+    public int countInRange(E lo, E hi) {
+        if (lo == null || hi == null)
+            throw new NullPointerException("Estremo dell'intervallo null");
+        if (lo.compareTo(hi) > 0)
+            throw new IllegalArgumentException(
+                    "Estremo inferiore maggiore dell'estremo superiore");
+        return countLess(hi, true) - countLess(lo, false);
+    }
+
+    /*
+     * Conta le etichette minori (o minori o uguali, se inclusive) di label
+     * scendendo dalla radice: ogni volta che si va a destra si contano il
+     * nodo corrente e il suo sottoalbero sinistro.
+     */
+    private int countLess(E label, boolean inclusive) {
+        int count = 0;
+        RecBST n = this.root;
+        while (n != null) {
+            int cmp = n.label.compareTo(label);
+            if (cmp < 0 || (cmp == 0 && inclusive)) {
+                count += subtreeSize(n.left) + 1;
+                n = n.right;
+            } else if (cmp > 0)
+                n = n.left;
+            else {
+                // etichetta trovata, non inclusa
+                count += subtreeSize(n.left);
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Restituisce un iteratore sulle etichette di questo albero in ordine
+     * crescente. L'iteratore è fail-fast: se l'albero viene modificato durante
+     * l'iterazione la successiva chiamata di {@code next()} lancia una
+     * {@code ConcurrentModificationException}. L'operazione {@code remove()}
+     * non è supportata.
+     * 
+     * @return un iteratore sulle etichette in ordine crescente
+     */
+    @Override
+    public Iterator<E> iterator() {
+        if (this.root == null)
+            return new Itr(null, null);
+        return new Itr(this.root.getMinNode(), null);
+    }
+
+    /**
+     * Restituisce una vista delle etichette di questo albero comprese fra
+     * {@code fromLabel}, incluso, e {@code toLabel}, escluso. La vista non
+     * copia le etichette: ogni suo iteratore cerca il primo nodo
+     * dell'intervallo in tempo O(h) e poi passa di successore in successore,
+     * per cui visitare k etichette costa O(h + k). Gli iteratori della vista
+     * riflettono lo stato dell'albero al momento della loro creazione e sono
+     * fail-fast come quello restituito da {@link #iterator()}.
+     * 
+     * @param fromLabel
+     *                      l'estremo inferiore, incluso
+     * @param toLabel
+     *                      l'estremo superiore, escluso
+     * @return la vista delle etichette x con
+     *         {@code fromLabel <= x < toLabel}, in ordine crescente
+     * @throws NullPointerException
+     *                                      se uno degli estremi è null
+     * @throws IllegalArgumentException
+     *                                      se {@code fromLabel} è maggiore di
+     *                                      {@code toLabel}
+     */
+    public Iterable<E> subSet(E fromLabel, E toLabel) {
+        if (fromLabel == null || toLabel == null)
+            throw new NullPointerException("Estremo dell'intervallo null");
+        if (fromLabel.compareTo(toLabel) > 0)
+            throw new IllegalArgumentException(
+                    "Estremo inferiore maggiore dell'estremo superiore");
+        return () -> new Itr(ceilingNode(fromLabel), toLabel);
+    }
+
+    /**
+     * Restituisce una vista delle etichette di questo albero strettamente
+     * minori di {@code toLabel}, con le stesse caratteristiche di
+     * {@link #subSet(Comparable, Comparable)}.
+     * 
+     * @param toLabel
+     *                    l'estremo superiore, escluso
+     * @return la vista delle etichette x con {@code x < toLabel}, in ordine
+     *         crescente
+     * @throws NullPointerException
+     *                                  se l'estremo è null
+     */
+    public Iterable<E> headSet(E toLabel) {
+        if (toLabel == null)
+            throw new NullPointerException("Estremo dell'intervallo null");
+        return () -> new Itr(
+                this.root == null ? null : this.root.getMinNode(), toLabel);
+    }
+
+    /**
+     * Restituisce una vista delle etichette di questo albero maggiori o
+     * uguali a {@code fromLabel}, con le stesse caratteristiche di
+     * {@link #subSet(Comparable, Comparable)}.
+     * 
+     * @param fromLabel
+     *                      l'estremo inferiore, incluso
+     * @return la vista delle etichette x con {@code fromLabel <= x}, in
+     *         ordine crescente
+     * @throws NullPointerException
+     *                                  se l'estremo è null
+     */
+    public Iterable<E> tailSet(E fromLabel) {
+        if (fromLabel == null)
+            throw new NullPointerException("Estremo dell'intervallo null");
+        return () -> new Itr(ceilingNode(fromLabel), null);
+    }
+
+    /*
+     * Restituisce il nodo con la più piccola etichetta maggiore o uguale a
+     * label, oppure null se non esiste. Il costo è O(h).
+     */
+    private RecBST ceilingNode(E label) {
+        RecBST candidate = null;
+        RecBST n = this.root;
+        while (n != null) {
+            int cmp = n.label.compareTo(label);
+            if (cmp == 0)
+                return n;
+            if (cmp > 0) {
+                // n è un candidato, ma potrebbe essercene uno più piccolo a
+                // sinistra
+                candidate = n;
+                n = n.left;
+            } else
+                n = n.right;
+        }
+        return candidate;
+    }
+
+    /*
+     * Iteratore in-order che tiene solo il puntatore al prossimo nodo da
+     * restituire e avanza con il successore, fermandosi prima della prima
+     * etichetta non minore di un eventuale estremo superiore. L'intera visita
+     * costa O(n).
+     */
+    private class Itr implements Iterator<E> {
+
+        private RecBST next;
+
+        /*
+         * Estremo superiore escluso, null se la visita arriva fino al massimo
+         */
+        private final E toLabel;
+
+        private int numeroModificheAtteso;
+
+        private Itr(RecBST first, E toLabel) {
+            this.next = first;
+            this.toLabel = toLabel;
+            this.numeroModificheAtteso = BinarySearchTree.this.numeroModifiche;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null && (this.toLabel == null
+                    || this.next.label.compareTo(this.toLabel) < 0);
+        }
+
+        @Override
+        public E next() {
+            if (this.numeroModificheAtteso != BinarySearchTree.this.numeroModifiche)
+                throw new ConcurrentModificationException(
+                        "Albero modificato durante l'iterazione");
+            if (!hasNext())
+                throw new NoSuchElementException(
+                        "Richiesta di next quando hasNext è falso");
+            E label = this.next.label;
+            this.next = this.next.getSuccessorNode();
+            return label;
+        }
+    }
+
     /**
      * Just for JUnit testing purposes.
      * 
@@ -318,9 +791,116 @@ public class BinarySearchTree<E extends Comparable<E>> {
     }
 
     /*
-     * Classe interna che implementa tutti i metodi ricorsivamente e in cui ogni
-     * nodo è un (sotto-)albero. Lo specificatore è protected solamente per
-     * permettere i test JUnit.
+     * Altezza di un (sotto-)albero, -1 se vuoto.
+     */
+    private int height(RecBST n) {
+        return n == null ? -1 : n.height;
+    }
+
+    /*
+     * Numero di nodi di un (sotto-)albero, 0 se vuoto.
+     */
+    private int subtreeSize(RecBST n) {
+        return n == null ? 0 : n.subtreeSize;
+    }
+
+    /*
+     * Ricalcola l'altezza e il numero di nodi di un nodo a partire da quelli
+     * dei figli.
+     */
+    private void update(RecBST n) {
+        n.height = 1 + Math.max(height(n.left), height(n.right));
+        n.subtreeSize = 1 + subtreeSize(n.left) + subtreeSize(n.right);
+    }
+
+    /*
+     * Risale dal nodo dato fino alla radice aggiornando altezze e dimensioni e, se
+     * l'albero è autobilanciante, eseguendo le rotazioni necessarie. Va
+     * chiamato sul genitore del nodo inserito o eliminato fisicamente.
+     */
+    private void retrace(RecBST n) {
+        while (n != null) {
+            update(n);
+            if (this.selfBalancing)
+                n = fixBalance(n);
+            n = n.parent;
+        }
+    }
+
+    /*
+     * Ripristina la proprietà AVL nel nodo n, assumendo che valga nei suoi
+     * sottoalberi. Restituisce la nuova radice del sottoalbero.
+     */
+    private RecBST fixBalance(RecBST n) {
+        int balance = height(n.left) - height(n.right);
+        if (balance > 1) {
+            // caso sinistra-destra: prima si porta a sinistra lo sbilanciamento
+            if (height(n.left.left) < height(n.left.right))
+                rotateLeft(n.left);
+            return rotateRight(n);
+        }
+        if (balance < -1) {
+            // caso destra-sinistra, simmetrico
+            if (height(n.right.right) < height(n.right.left))
+                rotateRight(n.right);
+            return rotateLeft(n);
+        }
+        return n;
+    }
+
+    /*
+     * Sostituisce nel genitore di n (o nella radice) il figlio n con m.
+     */
+    private void replaceChild(RecBST n, RecBST m) {
+        m.parent = n.parent;
+        if (n.parent == null)
+            this.root = m;
+        else if (n.parent.left == n)
+            n.parent.left = m;
+        else
+            n.parent.right = m;
+    }
+
+    /*
+     * Rotazione a sinistra del nodo n, che deve avere un figlio destro.
+     * Restituisce la nuova radice del sottoalbero.
+     */
+    private RecBST rotateLeft(RecBST n) {
+        RecBST r = n.right;
+        replaceChild(n, r);
+        n.right = r.left;
+        if (r.left != null)
+            r.left.parent = n;
+        r.left = n;
+        n.parent = r;
+        update(n);
+        update(r);
+        return r;
+    }
+
+    /*
+     * Rotazione a destra del nodo n, che deve avere un figlio sinistro.
+     * Restituisce la nuova radice del sottoalbero.
+     */
+    private RecBST rotateRight(RecBST n) {
+        RecBST l = n.left;
+        replaceChild(n, l);
+        n.left = l.right;
+        if (l.right != null)
+            l.right.parent = n;
+        l.right = n;
+        n.parent = l;
+        update(n);
+        update(l);
+        return l;
+    }
+
+    /*
+     * Classe interna in cui ogni nodo è un (sotto-)albero con un puntatore al
+     * genitore. I metodi sono iterativi: ricerca, inserimento, minimo e
+     * massimo scendono dal nodo con un ciclo, mentre predecessore e
+     * successore risalgono tramite i genitori quando serve. Lo specificatore
+     * è protected solamente per permettere i test JUnit.
      */
     protected class RecBST {
         /*
@@ -345,6 +925,18 @@ public class BinarySearchTree<E extends Comparable<E>> {
          */
         private RecBST parent;
 
+        /*
+         * Altezza di questo (sotto-)albero, mantenuta da inserimenti,
+         * cancellazioni e rotazioni
+         */
+        private int height;
+
+        /*
+         * Numero di nodi di questo (sotto-)albero, mantenuto da inserimenti,
+         * cancellazioni e rotazioni
+         */
+        private int subtreeSize;
+
         /*
          * Costruisce un (sotto-)albero che contiene solo la radice/foglia.
          * 
@@ -355,6 +947,8 @@ public class BinarySearchTree<E extends Comparable<E>> {
             this.left = null;
             this.right = null;
             this.parent = null;
+            this.height = 0;
+            this.subtreeSize = 1;
         }
 
         /*
@@ -396,6 +990,8 @@ public class BinarySearchTree<E extends Comparable<E>> {
             // allora copio qui l'etichetta del nodo cancellato
             if (nodeToDelete != this)
                 this.label = nodeToDelete.label;
+            // Aggiorno le altezze risalendo dal punto della cancellazione
+            retrace(nodeToDelete.parent);
         }
 
         /*
@@ -415,6 +1011,7 @@ public class BinarySearchTree<E extends Comparable<E>> {
             this.left = aLeft;
             this.right = aRight;
             this.parent = aParent;
+            update(this);
         }
 
         /**
@@ -476,46 +1073,33 @@ public class BinarySearchTree<E extends Comparable<E>> {
         protected void setParent(RecBST parent) {
             this.parent = parent;
         }
-
         /*
-         * Restituisce l'altezza di questo nodo.
+         * Restituisce l'altezza di questo nodo. L'altezza è mantenuta da
+         * inserimenti, cancellazioni e rotazioni, per cui non serve
+         * ricalcolarla visitando il sottoalbero.
          * 
          * @return la lunghezza del massimo cammino da questo nodo a una foglia.
          */
         protected int computeHeight() {
-            if (this.left == null && this.right == null)
-                // Sono una radice foglia
-                return 0;
-            else if (this.left == null)
-                // Ho solo il figlio destro
-                return 1 + this.right.computeHeight();
-            else if (this.right == null)
-                // Ho solo il figlio sinistro
-                return 1 + this.left.computeHeight();
-            else
-                // Ho tutti e due i figli
-                return 1 + Math.max(this.left.computeHeight(),
-                        this.right.computeHeight());
+            return this.height;
         }
 
         /*
          * Aggiunge ad una lista data le etichette dei nodi di questo
          * (sotto-)albero nell'ordine naturale. Per far questo esegue una visita
-         * in-order di questo (sotto-)albero.
+         * in-order di questo (sotto-)albero, iterativa: si parte dal nodo
+         * minimo e si passa di successore in successore seguendo i puntatori
+         * ai genitori, senza usare né la ricorsione né una pila.
          * 
          * @param l una lista (può essere anche vuota) su cui inserire le
          * etichette in ordine
          */
         protected void addLabelsInOrder(List<E> l) {
-            // Visita simmetrica
-            // Visito il sottoalbero sinistro, se esiste
-            if (this.left != null)
-                this.left.addLabelsInOrder(l);
-            // Adesso visito il nodo corrente
-            l.add(this.label);
-            // Visito il sottoalbero destro, se esiste
-            if (this.right != null)
-                this.right.addLabelsInOrder(l);
+            RecBST n = this.getMinNode();
+            while (n != null) {
+                l.add(n.label);
+                n = n.nextInOrder(this);
+            }
         }
 
         /*
@@ -527,21 +1111,8 @@ public class BinarySearchTree<E extends Comparable<E>> {
          * (sotto-)albero secondo l'ordinamento naturale della classe {@code E}
          */
         protected List<E> inOrderVisit() {
-            List<E> l = null;
-            // Visito il sottoalbero sinistro, se esiste
-            if (this.left != null)
-                // la lista ls non è mai vuota perché l'albero non null contiene
-                // sempre
-                // almeno un elemento
-                l = this.left.inOrderVisit();
-            else // creo io la lista vuota
-                l = new ArrayList<E>();
-            // aggiungo alla lista ordinata dei valori a sinistra me stesso
-            l.add(this.label);
-            // aggiungo tutti gli elementi della lista ordinata dei valori a
-            // destra
-            if (this.right != null)
-                l.addAll(this.right.inOrderVisit());
+            List<E> l = new ArrayList<E>();
+            this.addLabelsInOrder(l);
             return l;
         }
 
@@ -554,27 +1125,17 @@ public class BinarySearchTree<E extends Comparable<E>> {
          * null se l'etichetta non è presente
          */
         protected RecBST search(E label) {
-            // caso base
-            if (this.left == null && this.right == null)
-                // sono radice foglia
-                if (this.label.equals(label))
-                    return this;
-                else
-                    return null;
-            // caso ricorsivo
-            int cmp = this.label.compareTo(label);
-            if (cmp == 0)
-                return this;
-            else if (cmp > 0) {
-                if (this.left == null)
-                    return null;
-                else
-                    return this.left.search(label);
-            } else // cmp < 0
-            if (this.right == null)
-                return null;
-            else
-                return this.right.search(label);
+            RecBST n = this;
+            while (n != null) {
+                int cmp = n.label.compareTo(label);
+                if (cmp == 0)
+                    return n;
+                else if (cmp > 0)
+                    n = n.left;
+                else // cmp < 0
+                    n = n.right;
+            }
+            return null;
         }
 
         /*
@@ -585,12 +1146,10 @@ public class BinarySearchTree<E extends Comparable<E>> {
          * questo (sotto-)albero
          */
         protected RecBST getMinNode() {
-            if (this.left == null)
-                // Sono il nodo più a sinistra che non ha il figlio sinistro
-                return this;
-            else
-                // Mi richiamo sul sottoalbero sinistro
-                return this.left.getMinNode();
+            RecBST n = this;
+            while (n.left != null)
+                n = n.left;
+            return n;
         }
 
         /*
@@ -601,12 +1160,10 @@ public class BinarySearchTree<E extends Comparable<E>> {
          * questo (sotto-)albero
          */
         protected RecBST getMaxNode() {
-            if (this.right == null)
-                // Sono il nodo più a destra che non ha il figlio destro
-                return this;
-            else
-                // Mi richiamo sul sottoalbero destro
-                return this.right.getMaxNode();
+            RecBST n = this;
+            while (n.right != null)
+                n = n.right;
+            return n;
         }
 
         /*
@@ -618,28 +1175,7 @@ public class BinarySearchTree<E extends Comparable<E>> {
          * non ha successore
          */
         protected RecBST getSuccessorNode() {
-            // Caso 1 - questo nodo ha un figlio destro
-            if (this.right != null)
-                return this.right.getMinNode();
-            // Caso 2 - questo nodo non ha un figlio destro
-            Set<E> ancestors = new HashSet<E>();
-            // Questo nodo è considerato antenato di se stesso
-            ancestors.add(this.label);
-            // Cerco il primo nodo che ha un figlio sinistro che è tra gli
-            // antenati
-            RecBST p = this;
-            while (p.parent != null) {
-                if (p.parent.left != null
-                        && ancestors.contains(p.parent.left.label))
-                    // p.parent è il successore
-                    return p.parent;
-                // altrimenti aggiungi p.parent agli antenati e continua a
-                // salire
-                ancestors.add(p.parent.label);
-                p = p.parent;
-            }
-            // non ho trovato il successore
-            return null;
+            return this.nextInOrder(null);
         }
 
         /*
@@ -654,25 +1190,35 @@ public class BinarySearchTree<E extends Comparable<E>> {
             // Caso 1 - questo nodo ha un figlio sinistro
             if (this.left != null)
                 return this.left.getMaxNode();
-            // Caso 2 - questo nodo non ha un figlio sinistro
-            Set<E> ancestors = new HashSet<E>();
-            // Questo nodo è considerato antenato di se stesso
-            ancestors.add(this.label);
-            // Cerco il primo nodo che ha un figlio destro che è tra gli
-            // antenati
+            // Caso 2 - risalgo finché sono un figlio sinistro: il primo
+            // antenato di cui sono nel sottoalbero destro è il predecessore
             RecBST p = this;
-            while (p.parent != null) {
-                if (p.parent.right != null
-                        && ancestors.contains(p.parent.right.label))
-                    // p.parent è il predecessore
-                    return p.parent;
-                // altrimenti aggiungi p.parent agli antenati e continua a
-                // salire
-                ancestors.add(p.parent.label);
+            while (p.parent != null && p.parent.left == p)
                 p = p.parent;
-            }
-            // non ho trovato il predecessore
-            return null;
+            return p.parent;
+        }
+
+        /*
+         * Restituisce il successore di questo nodo all'interno del
+         * sottoalbero con radice bound, oppure in tutto l'albero se bound è
+         * null.
+         * 
+         * @param bound la radice del sottoalbero entro cui cercare, o null
+         * 
+         * @return il nodo successore oppure null se non esiste
+         */
+        private RecBST nextInOrder(RecBST bound) {
+            // Caso 1 - questo nodo ha un figlio destro
+            if (this.right != null)
+                return this.right.getMinNode();
+            // Caso 2 - risalgo finché sono un figlio destro: il primo
+            // antenato di cui sono nel sottoalbero sinistro è il successore
+            RecBST p = this;
+            while (p != bound && p.parent != null && p.parent.right == p)
+                p = p.parent;
+            if (p == bound)
+                return null;
+            return p.parent;
         }
 
         /*
@@ -686,32 +1232,33 @@ public class BinarySearchTree<E extends Comparable<E>> {
          */
         protected boolean insert(E label) {
             // Un nuovo nodo inserito non presente è sempre
-            // inserito come foglia
-            // Confronto l'elemento con la radice
-            int x = this.label.compareTo(label);
-            // Caso di uguaglianza
-            if (x == 0)
-                // L'elemento è già presente in questo nodo
-                return false;
-            // Caso non di uguaglianza
-            if (x < 0)
-                // L'elemento da inserire va nel sottoalbero destro
-                if (this.right == null) {
-                    // Inseriamo l'elemento come sottoalbero destro
-                    this.right = new RecBST(label);
-                    this.right.setParent(this);
-                    return true;
-                } else
-                    return this.right.insert(label);
-            else
-            // L'elemento da inserire va nel sottoalbero sinistro
-            if (this.left == null) {
-                // Inseriamo l'elemento come sottoalbero sinistro
-                this.left = new RecBST(label);
-                this.left.setParent(this);
-                return true;
-            } else
-                return this.left.insert(label);
+            // inserito come foglia: scendo fino al punto di inserimento
+            RecBST n = this;
+            while (true) {
+                int x = n.label.compareTo(label);
+                if (x == 0)
+                    // L'elemento è già presente in questo nodo
+                    return false;
+                if (x < 0) {
+                    // L'elemento da inserire va nel sottoalbero destro
+                    if (n.right == null) {
+                        n.right = new RecBST(label);
+                        n.right.setParent(n);
+                        break;
+                    }
+                    n = n.right;
+                } else {
+                    // L'elemento da inserire va nel sottoalbero sinistro
+                    if (n.left == null) {
+                        n.left = new RecBST(label);
+                        n.left.setParent(n);
+                        break;
+                    }
+                    n = n.left;
+                }
+            }
+            retrace(n);
+            return true;
         }
     }
 
@@ -4,7 +4,10 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.junit.jupiter.api.Test;
 
@@ -416,4 +419,279 @@ class BinarySearchTreeTest {
 	
 	
 
+	@Test
+	void testSelfBalancingSorted() {
+		BinarySearchTree<Integer> bst = new BinarySearchTree<Integer>(true);
+		assertTrue(bst.isSelfBalancing());
+		assertFalse(new BinarySearchTree<Integer>().isSelfBalancing());
+		for (int i = 0; i < 1023; i++) {
+			bst.add(i);
+		}
+		assertEquals(1023, bst.size());
+		// con inserimenti crescenti un albero AVL risulta perfettamente bilanciato
+		assertEquals(9, bst.getHeight());
+		assertAVL(bst.getRoot());
+		for (int i = 0; i < 1023; i++) {
+			assertTrue(bst.contains(i));
+		}
+		assertEquals(0, bst.getMin());
+		assertEquals(1022, bst.getMax());
+		assertEquals(501, bst.getSuccessor(500));
+		assertEquals(499, bst.getPredecessor(500));
+	}
+
+	@Test
+	void testSelfBalancingRemove() {
+		BinarySearchTree<Integer> bst = new BinarySearchTree<Integer>(true);
+		List<Integer> expected = new ArrayList<Integer>();
+		for (int i = 0; i < 500; i++) {
+			bst.add(i);
+			expected.add(i);
+		}
+		for (int i = 0; i < 500; i += 3) {
+			assertTrue(bst.remove(i));
+			expected.remove(Integer.valueOf(i));
+			assertAVL(bst.getRoot());
+		}
+		assertFalse(bst.remove(0));
+		assertEquals(expected.size(), bst.size());
+		assertEquals(expected, bst.getOrderedLabels());
+		for (int i = 1; i < 500; i += 3) {
+			bst.remove(i);
+			bst.remove(i + 1);
+		}
+		assertTrue(bst.isEmpty());
+		assertEquals(-1, bst.getHeight());
+	}
+
+	/*
+	 * Controlla ricorsivamente la proprietà AVL e la coerenza dei puntatori ai
+	 * genitori, restituendo l'altezza del sottoalbero.
+	 */
+	private int assertAVL(BinarySearchTree<Integer>.RecBST n) {
+		if (n == null)
+			return -1;
+		if (n.getLeft() != null) {
+			assertSame(n, n.getLeft().getParent());
+			assertTrue(n.getLeft().getLabel() < n.getLabel());
+		}
+		if (n.getRight() != null) {
+			assertSame(n, n.getRight().getParent());
+			assertTrue(n.getRight().getLabel() > n.getLabel());
+		}
+		int hl = assertAVL(n.getLeft());
+		int hr = assertAVL(n.getRight());
+		assertTrue(Math.abs(hl - hr) <= 1);
+		return 1 + Math.max(hl, hr);
+	}
+
+	@Test
+	void testIterator() {
+		BinarySearchTree<Integer> bst = new BinarySearchTree<Integer>();
+		assertFalse(bst.iterator().hasNext());
+		assertThrows(NoSuchElementException.class, () -> bst.iterator().next());
+		bst.add(5);
+		bst.add(2);
+		bst.add(8);
+		bst.add(1);
+		bst.add(3);
+		bst.add(7);
+		List<Integer> labels = new ArrayList<Integer>();
+		for (Integer x : bst) {
+			labels.add(x);
+		}
+		assertEquals(Arrays.asList(1, 2, 3, 5, 7, 8), labels);
+		Iterator<Integer> it = bst.iterator();
+		it.next();
+		bst.add(4);
+		assertThrows(ConcurrentModificationException.class, () -> it.next());
+	}
+
+	@Test
+	void testDeepTree() {
+		// albero degenere molto profondo: nessuna operazione deve essere ricorsiva
+		BinarySearchTree<Integer> bst = new BinarySearchTree<Integer>();
+		int n = 30000;
+		for (int i = 0; i < n; i++) {
+			bst.add(i);
+		}
+		assertEquals(n - 1, bst.getHeight());
+		assertTrue(bst.contains(n - 1));
+		assertEquals(n, bst.getOrderedLabels().size());
+		assertEquals(n - 1, bst.getSuccessor(n - 2));
+		assertEquals(n - 2, bst.getPredecessor(n - 1));
+		int expected = 0;
+		for (Integer x : bst) {
+			assertEquals(expected++, x);
+		}
+		assertTrue(bst.remove(n / 2));
+		assertEquals(n - 1, bst.size());
+	}
+
+	@Test
+	void testRank() {
+		BinarySearchTree<Integer> bst = new BinarySearchTree<Integer>();
+		assertEquals(0, bst.rank(42));
+		assertThrows(NullPointerException.class, () -> bst.rank(null));
+		bst.add(50);
+		bst.add(20);
+		bst.add(70);
+		bst.add(10);
+		bst.add(30);
+		bst.add(60);
+		assertEquals(0, bst.rank(10));
+		assertEquals(0, bst.rank(5));
+		assertEquals(2, bst.rank(30));
+		assertEquals(3, bst.rank(40));
+		assertEquals(6, bst.rank(100));
+		bst.remove(20);
+		assertEquals(1, bst.rank(30));
+	}
+
+	@Test
+	void testSelect() {
+		BinarySearchTree<Integer> bst = new BinarySearchTree<Integer>(true);
+		assertThrows(IndexOutOfBoundsException.class, () -> bst.select(0));
+		for (int i = 0; i < 200; i++) {
+			bst.add(2 * i);
+		}
+		for (int k = 0; k < 200; k++) {
+			assertEquals(2 * k, bst.select(k));
+			assertEquals(k, bst.rank(bst.select(k)));
+		}
+		assertThrows(IndexOutOfBoundsException.class, () -> bst.select(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> bst.select(200));
+		for (int i = 0; i < 200; i += 2) {
+			bst.remove(2 * i);
+		}
+		// restano i multipli di 4 più 2
+		for (int k = 0; k < 100; k++) {
+			assertEquals(4 * k + 2, bst.select(k));
+		}
+	}
+
+	@Test
+	void testCountInRange() {
+		BinarySearchTree<Integer> bst = new BinarySearchTree<Integer>();
+		assertEquals(0, bst.countInRange(1, 10));
+		for (int i : new int[] { 50, 20, 70, 10, 30, 60, 80 }) {
+			bst.add(i);
+		}
+		assertEquals(7, bst.countInRange(0, 100));
+		assertEquals(3, bst.countInRange(20, 50));
+		assertEquals(3, bst.countInRange(21, 60));
+		assertEquals(1, bst.countInRange(30, 30));
+		assertEquals(0, bst.countInRange(31, 49));
+		assertThrows(IllegalArgumentException.class, () -> bst.countInRange(5, 4));
+		assertThrows(NullPointerException.class, () -> bst.countInRange(null, 4));
+	}
+
+	@Test
+	void testSubSet() {
+		BinarySearchTree<Integer> bst = new BinarySearchTree<Integer>();
+		assertFalse(bst.subSet(1, 10).iterator().hasNext());
+		for (int i : new int[] { 50, 20, 70, 10, 30, 60, 80 }) {
+			bst.add(i);
+		}
+		assertEquals(Arrays.asList(20, 30, 50), toList(bst.subSet(20, 60)));
+		assertEquals(Arrays.asList(30, 50, 60), toList(bst.subSet(21, 61)));
+		assertEquals(Arrays.asList(), toList(bst.subSet(31, 50)));
+		assertEquals(Arrays.asList(), toList(bst.subSet(30, 30)));
+		assertEquals(Arrays.asList(80), toList(bst.subSet(75, 1000)));
+		assertThrows(IllegalArgumentException.class, () -> bst.subSet(5, 4));
+		assertThrows(NullPointerException.class, () -> bst.subSet(null, 4));
+		// la vista è pigra: riflette l'albero al momento dell'iterazione
+		Iterable<Integer> view = bst.subSet(20, 60);
+		bst.add(40);
+		assertEquals(Arrays.asList(20, 30, 40, 50), toList(view));
+		Iterator<Integer> it = view.iterator();
+		it.next();
+		bst.remove(40);
+		assertThrows(ConcurrentModificationException.class, () -> it.next());
+	}
+
+	@Test
+	void testHeadSetTailSet() {
+		BinarySearchTree<Integer> bst = new BinarySearchTree<Integer>();
+		assertFalse(bst.headSet(10).iterator().hasNext());
+		assertFalse(bst.tailSet(10).iterator().hasNext());
+		for (int i : new int[] { 50, 20, 70, 10, 30, 60, 80 }) {
+			bst.add(i);
+		}
+		assertEquals(Arrays.asList(10, 20, 30), toList(bst.headSet(50)));
+		assertEquals(Arrays.asList(), toList(bst.headSet(10)));
+		assertEquals(Arrays.asList(50, 60, 70, 80), toList(bst.tailSet(50)));
+		assertEquals(Arrays.asList(60, 70, 80), toList(bst.tailSet(51)));
+		assertEquals(Arrays.asList(), toList(bst.tailSet(81)));
+		assertThrows(NullPointerException.class, () -> bst.headSet(null));
+		assertThrows(NullPointerException.class, () -> bst.tailSet(null));
+	}
+
+	private List<Integer> toList(Iterable<Integer> view) {
+		List<Integer> l = new ArrayList<Integer>();
+		for (Integer x : view) {
+			l.add(x);
+		}
+		return l;
+	}
+
+	@Test
+	void testFromSorted() {
+		assertThrows(NullPointerException.class, () -> BinarySearchTree.fromSorted(null));
+		assertThrows(NullPointerException.class,
+				() -> BinarySearchTree.fromSorted(Arrays.asList(1, null, 3)));
+		assertThrows(IllegalArgumentException.class,
+				() -> BinarySearchTree.fromSorted(Arrays.asList(1, 3, 2)));
+		assertThrows(IllegalArgumentException.class,
+				() -> BinarySearchTree.fromSorted(Arrays.asList(1, 2, 2)));
+		assertTrue(BinarySearchTree.fromSorted(new ArrayList<Integer>()).isEmpty());
+		BinarySearchTree<Integer> bst = BinarySearchTree.fromSorted(Arrays.asList(1, 2, 3, 4, 5, 6, 7));
+		assertEquals(7, bst.size());
+		assertEquals(2, bst.getHeight());
+		assertEquals(4, bst.getRoot().getLabel());
+		assertAVL(bst.getRoot());
+		assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7), bst.getOrderedLabels());
+		assertEquals(3, bst.select(2));
+		assertTrue(bst.add(8));
+		assertTrue(bst.remove(4));
+		assertEquals(Arrays.asList(1, 2, 3, 5, 6, 7, 8), bst.getOrderedLabels());
+	}
+
+	@Test
+	void testFromSortedParallel() {
+		List<Integer> labels = new ArrayList<Integer>();
+		for (int i = 0; i < 100000; i++) {
+			labels.add(i);
+		}
+		BinarySearchTree<Integer> bst = BinarySearchTree.fromSorted(labels, true);
+		assertEquals(100000, bst.size());
+		assertEquals(16, bst.getHeight());
+		assertNull(bst.getRoot().getParent());
+		assertAVL(bst.getRoot());
+		assertEquals(labels, bst.getOrderedLabels());
+		assertEquals(54321, bst.select(54321));
+	}
+
+	@Test
+	void testRebalance() {
+		BinarySearchTree<Integer> bst = new BinarySearchTree<Integer>();
+		bst.rebalance();
+		assertTrue(bst.isEmpty());
+		for (int i = 0; i < 1023; i++) {
+			bst.add(i);
+		}
+		assertEquals(1022, bst.getHeight());
+		Iterator<Integer> it = bst.iterator();
+		bst.rebalance();
+		assertThrows(ConcurrentModificationException.class, () -> it.next());
+		assertEquals(9, bst.getHeight());
+		assertEquals(1023, bst.size());
+		assertNull(bst.getRoot().getParent());
+		assertAVL(bst.getRoot());
+		assertEquals(511, bst.getRoot().getLabel());
+		assertEquals(100, bst.rank(100));
+		assertTrue(bst.remove(511));
+		assertEquals(1022, bst.getOrderedLabels().size());
+	}
+
 }
@@ -0,0 +1,242 @@
+package it.unicam.cs.asdl2223.es6sol;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Un oggetto di questa classe rappresenta un binary search tree con le stesse
+ * operazioni di {@link BinarySearchTree}, che può essere letto e modificato da
+ * più thread contemporaneamente senza sincronizzazione esterna.
+ *
+ * Lo stato corrente è una versione di un {@link PersistentBinarySearchTree}.
+ * Una modifica non cambia nessun nodo esistente: costruisce la nuova versione,
+ * che copia solo i nodi sul cammino dalla radice al punto modificato, e poi la
+ * pubblica atomicamente con una compare-and-set. Le letture partono da
+ * una lettura della radice corrente e non acquisiscono lock né vengono mai
+ * bloccate o ripetute, per cui il loro throughput cresce con il numero di
+ * core anche mentre un thread scrive. Ogni lettura vede uno stato consistente
+ * dell'albero: quello pubblicato al momento in cui ha letto la radice.
+ *
+ * Scritture concorrenti sono corrette, ma se due scritture si sovrappongono
+ * una delle due viene ripetuta; la struttura è pensata per molte letture e
+ * poche scritture. Ogni scrittura alloca O(log n) nodi.
+ *
+ * @param <E>
+ *                il tipo delle etichette dei nodi in questo Binary Search
+ *                Tree. La classe {@code E} deve avere un ordinamento naturale
+ *                definito tra gli elementi.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ */
+public class ConcurrentBinarySearchTree<E extends Comparable<E>>
+        implements Iterable<E> {
+
+    /*
+     * Versione attualmente pubblicata
+     */
+    private final AtomicReference<PersistentBinarySearchTree<E>> tree;
+
+    /**
+     * Crea un albero binario di ricerca vuoto.
+     */
+    public ConcurrentBinarySearchTree() {
+        this.tree = new AtomicReference<PersistentBinarySearchTree<E>>(
+                new PersistentBinarySearchTree<E>());
+    }
+
+    /**
+     * Determina se questo albero è vuoto.
+     *
+     * @return true se questo albero è vuoto, false altrimenti
+     */
+    public boolean isEmpty() {
+        return this.tree.get().isEmpty();
+    }
+
+    /**
+     * Determina il numero di nodi in questo albero.
+     *
+     * @return il numero di nodi in questo albero
+     */
+    public int size() {
+        return this.tree.get().size();
+    }
+
+    /**
+     * Cancella tutti i nodi di questo albero, che quindi diventa vuoto.
+     */
+    public void clear() {
+        this.tree.set(new PersistentBinarySearchTree<E>());
+    }
+
+    /**
+     * Restituisce l'altezza di questo albero, -1 se l'albero è vuoto.
+     *
+     * @return l'altezza di questo albero oppure -1 se questo albero è vuoto.
+     */
+    public int getHeight() {
+        return this.tree.get().getHeight();
+    }
+
+    /**
+     * Aggiunge ad una lista data la lista delle etichette dei nodi dell'albero
+     * nell'ordine naturale.
+     *
+     * @param l
+     *              una lista (può essere anche vuota) su cui inserire le
+     *              etichette in ordine.
+     * @throws NullPointerException
+     *                                  se la lista passata è null
+     */
+    public void addOrderedLabelsTo(List<E> l) {
+        this.tree.get().addOrderedLabelsTo(l);
+    }
+
+    /**
+     * Restituisce la lista ordinata delle etichette dei nodi di questo albero.
+     *
+     * @return la lista ordinata delle etichette dei nodi di questo albero
+     */
+    public List<E> getOrderedLabels() {
+        return this.tree.get().getOrderedLabels();
+    }
+
+    /**
+     * Determina se una etichetta è presente in questo albero.
+     *
+     * @param label
+     *                  l'etichetta da cercare
+     * @return true se l'etichetta è presente, false altrimenti
+     * @throws NullPointerException
+     *                                  se l'etichetta passata è null
+     */
+    public boolean contains(E label) {
+        return this.tree.get().contains(label);
+    }
+
+    /**
+     * Restituisce l'etichetta più piccola presente nell'albero.
+     *
+     * @return l'etichetta minima presente nell'albero oppure null se l'albero è
+     *         vuoto
+     */
+    public E getMin() {
+        return this.tree.get().getMin();
+    }
+
+    /**
+     * Restituisce l'etichetta più grande presente nell'albero.
+     *
+     * @return l'etichetta massima presente nell'albero oppure null se l'albero
+     *         è vuoto
+     */
+    public E getMax() {
+        return this.tree.get().getMax();
+    }
+
+    /**
+     * Restituisce l'etichetta successiva a una etichetta data.
+     *
+     * @param label
+     *                  l'etichetta di cui trovare il successore
+     * @return l'etichetta successore di {@code label} in questo albero, oppure
+     *         null se {@code label} non ha un successore
+     * @throws IllegalArgumentException
+     *                                      se l'etichetta {@code label} non è
+     *                                      presente in questo albero
+     * @throws NullPointerException
+     *                                      se l'etichetta passata è null
+     */
+    public E getSuccessor(E label) {
+        return this.tree.get().getSuccessor(label);
+    }
+
+    /**
+     * Restituisce l'etichetta precedente a una etichetta data.
+     *
+     * @param label
+     *                  l'etichetta di cui trovare il predecessore
+     * @return l'etichetta predecessore di {@code label} in questo albero,
+     *         oppure null se {@code label} non ha un predecessore
+     * @throws IllegalArgumentException
+     *                                      se l'etichetta {@code label} non è
+     *                                      presente in questo albero
+     * @throws NullPointerException
+     *                                      se l'etichetta passata è null
+     */
+    public E getPredecessor(E label) {
+        return this.tree.get().getPredecessor(label);
+    }
+
+    /**
+     * Aggiunge un nodo a questo albero con una etichetta specificata.
+     *
+     * @param label
+     *                  etichetta da inserire
+     * @return true se il nodo è stato effettivamente inserito, false se
+     *         l'etichetta era già presente
+     * @throws NullPointerException
+     *                                  se l'etichetta passata è null
+     */
+    public boolean add(E label) {
+        while (true) {
+            PersistentBinarySearchTree<E> current = this.tree.get();
+            PersistentBinarySearchTree<E> updated = current.add(label);
+            if (updated == current)
+                // etichetta già presente
+                return false;
+            if (this.tree.compareAndSet(current, updated))
+                return true;
+            // un'altra scrittura ha pubblicato una versione diversa: riprovo
+        }
+    }
+
+    /**
+     * Rimuove da questo albero il nodo contenente una certa etichetta.
+     *
+     * @param label
+     *                  l'etichetta del nodo da rimuovere
+     * @return true se il nodo è stato rimosso, false se l'etichetta non era
+     *         presente
+     * @throws NullPointerException
+     *                                  se l'etichetta passata è null
+     */
+    public boolean remove(E label) {
+        while (true) {
+            PersistentBinarySearchTree<E> current = this.tree.get();
+            PersistentBinarySearchTree<E> updated = current.remove(label);
+            if (updated == current)
+                // etichetta non presente
+                return false;
+            if (this.tree.compareAndSet(current, updated))
+                return true;
+        }
+    }
+
+    /**
+     * Restituisce una fotografia immutabile dello stato attuale di questo
+     * albero, in tempo O(1). Le modifiche successive a questo albero non sono
+     * visibili nella fotografia.
+     *
+     * @return la versione attualmente pubblicata di questo albero
+     */
+    public PersistentBinarySearchTree<E> snapshot() {
+        return this.tree.get();
+    }
+
+    /**
+     * Restituisce un iteratore sulle etichette in ordine crescente. L'iteratore
+     * visita lo stato dell'albero al momento della sua creazione: non vede le
+     * modifiche successive e non lancia mai
+     * {@code ConcurrentModificationException}. L'operazione {@code remove()}
+     * non è supportata.
+     *
+     * @return un iteratore sulle etichette in ordine crescente
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return this.tree.get().iterator();
+    }
+}
@@ -0,0 +1,173 @@
+package it.unicam.cs.asdl2223.es6sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test JUnit per la classe ConcurrentBinarySearchTree
+ */
+class ConcurrentBinarySearchTreeTest {
+
+	@Test
+	void testConcurrentBinarySearchTree() {
+		ConcurrentBinarySearchTree<Integer> t = new ConcurrentBinarySearchTree<Integer>();
+		assertTrue(t.isEmpty());
+		assertEquals(0, t.size());
+		assertEquals(-1, t.getHeight());
+		assertNull(t.getMin());
+		assertNull(t.getMax());
+		assertFalse(t.contains(1));
+		assertFalse(t.remove(1));
+		assertTrue(t.getOrderedLabels().isEmpty());
+	}
+
+	@Test
+	void testAddRemove() {
+		ConcurrentBinarySearchTree<Integer> t = new ConcurrentBinarySearchTree<Integer>();
+		assertThrows(NullPointerException.class, () -> t.add(null));
+		assertThrows(NullPointerException.class, () -> t.remove(null));
+		assertThrows(NullPointerException.class, () -> t.contains(null));
+		for (int i : new int[] { 50, 20, 70, 10, 30, 60, 80, 40 }) {
+			assertTrue(t.add(i));
+		}
+		assertFalse(t.add(30));
+		assertEquals(8, t.size());
+		assertEquals(10, t.getMin());
+		assertEquals(80, t.getMax());
+		assertEquals(Arrays.asList(10, 20, 30, 40, 50, 60, 70, 80), t.getOrderedLabels());
+		assertTrue(t.remove(50));
+		assertTrue(t.remove(10));
+		assertFalse(t.remove(10));
+		assertEquals(Arrays.asList(20, 30, 40, 60, 70, 80), t.getOrderedLabels());
+		t.clear();
+		assertTrue(t.isEmpty());
+	}
+
+	@Test
+	void testSuccessorPredecessor() {
+		ConcurrentBinarySearchTree<Integer> t = new ConcurrentBinarySearchTree<Integer>();
+		assertThrows(IllegalArgumentException.class, () -> t.getSuccessor(1));
+		assertThrows(IllegalArgumentException.class, () -> t.getPredecessor(1));
+		for (int i = 0; i < 100; i++) {
+			t.add(i * 2);
+		}
+		for (int i = 0; i < 99; i++) {
+			assertEquals(i * 2 + 2, t.getSuccessor(i * 2));
+			assertEquals(i * 2, t.getPredecessor(i * 2 + 2));
+		}
+		assertNull(t.getSuccessor(198));
+		assertNull(t.getPredecessor(0));
+		assertThrows(IllegalArgumentException.class, () -> t.getSuccessor(3));
+	}
+
+	@Test
+	void testBalance() {
+		ConcurrentBinarySearchTree<Integer> t = new ConcurrentBinarySearchTree<Integer>();
+		for (int i = 0; i < 1023; i++) {
+			t.add(i);
+		}
+		assertEquals(9, t.getHeight());
+		TreeSet<Integer> expected = new TreeSet<Integer>();
+		for (int i = 0; i < 1023; i++) {
+			expected.add(i);
+		}
+		Random random = new Random(7);
+		for (int i = 0; i < 5000; i++) {
+			int x = random.nextInt(1500);
+			if (random.nextBoolean()) {
+				assertEquals(expected.add(x), t.add(x));
+			} else {
+				assertEquals(expected.remove(x), t.remove(x));
+			}
+		}
+		assertEquals(expected.size(), t.size());
+		assertEquals(new ArrayList<Integer>(expected), t.getOrderedLabels());
+		// altezza di un AVL: al più 1.44 log2(n + 2)
+		assertTrue(t.getHeight() <= 1.45 * Math.log(t.size() + 2) / Math.log(2));
+	}
+
+	@Test
+	void testIterator() {
+		ConcurrentBinarySearchTree<Integer> t = new ConcurrentBinarySearchTree<Integer>();
+		for (int i : new int[] { 5, 3, 8, 1, 4 }) {
+			t.add(i);
+		}
+		Iterator<Integer> it = t.iterator();
+		assertEquals(1, it.next());
+		// le modifiche successive alla creazione non sono viste
+		t.add(2);
+		t.remove(8);
+		List<Integer> rest = new ArrayList<Integer>();
+		it.forEachRemaining(rest::add);
+		assertEquals(Arrays.asList(3, 4, 5, 8), rest);
+		assertThrows(NoSuchElementException.class, it::next);
+		assertThrows(UnsupportedOperationException.class, () -> t.iterator().remove());
+	}
+
+	@Test
+	void testConcurrentReadersAndWriters() throws InterruptedException {
+		ConcurrentBinarySearchTree<Integer> t = new ConcurrentBinarySearchTree<Integer>();
+		// le etichette pari restano sempre presenti, le dispari vanno e vengono
+		for (int i = 0; i < 2000; i += 2) {
+			t.add(i);
+		}
+		AtomicBoolean stop = new AtomicBoolean(false);
+		AtomicInteger errors = new AtomicInteger(0);
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int w = 0; w < 2; w++) {
+			int seed = w;
+			threads.add(new Thread(() -> {
+				Random random = new Random(seed);
+				for (int i = 0; i < 20000; i++) {
+					int x = 2 * random.nextInt(1000) + 1;
+					if (random.nextBoolean())
+						t.add(x);
+					else
+						t.remove(x);
+				}
+			}));
+		}
+		for (int r = 0; r < 4; r++) {
+			threads.add(new Thread(() -> {
+				Random random = new Random();
+				while (!stop.get()) {
+					int x = 2 * random.nextInt(999);
+					Integer next = t.getSuccessor(x);
+					if (!t.contains(x) || next == null || next > x + 2)
+						errors.incrementAndGet();
+					Integer previous = null;
+					for (Integer y : t) {
+						if (previous != null && previous >= y)
+							errors.incrementAndGet();
+						previous = y;
+					}
+				}
+			}));
+		}
+		for (Thread th : threads)
+			th.start();
+		threads.get(0).join();
+		threads.get(1).join();
+		stop.set(true);
+		for (Thread th : threads)
+			th.join();
+		assertEquals(0, errors.get());
+		List<Integer> labels = t.getOrderedLabels();
+		assertEquals(labels.size(), t.size());
+		for (int i = 0; i < 2000; i += 2) {
+			assertTrue(t.contains(i));
+		}
+	}
+
+}
@@ -0,0 +1,39 @@
+package it.unicam.cs.asdl2223.es6sol;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iteratore sugli elementi di una {@code ADTConsList<E>}, usato dal metodo di
+ * default {@link ADTConsList#iterator()}. Tiene solo un riferimento alla parte
+ * di lista ancora da visitare e non alla lista di partenza, così durante la
+ * visita di una lista pigra i nodi già visitati possono essere liberati.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ * @param <E>
+ *            il tipo degli elementi della lista.
+ */
+final class ConsListIterator<E> implements Iterator<E> {
+
+    private ADTConsList<E> current;
+
+    ConsListIterator(ADTConsList<E> list) {
+        this.current = list;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !this.current.isEmpty();
+    }
+
+    @Override
+    public E next() {
+        if (this.current.isEmpty())
+            throw new NoSuchElementException(
+                    "Richiesta di next quando hasNext è falso");
+        E e = this.current.first();
+        this.current = this.current.rest();
+        return e;
+    }
+}
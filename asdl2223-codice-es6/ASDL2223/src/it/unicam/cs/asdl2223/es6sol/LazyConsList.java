@@ -0,0 +1,174 @@
+package it.unicam.cs.asdl2223.es6sol;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Classe che implementa {@code ADTConsList<E>} in modo pigro: il primo
+ * elemento è noto, mentre la "coda" è data da una funzione che la calcola solo
+ * alla prima chiamata di {@code rest()}. Il risultato viene memorizzato, per
+ * cui ogni coda è calcolata al più una volta e la lista si comporta come una
+ * lista immutabile, anche se usata da più thread. Dopo il calcolo la funzione
+ * viene dimenticata, così non trattiene in memoria quello che le serviva per
+ * calcolare la coda.
+ *
+ * Una lista pigra può essere infinita o molto lunga: se viene visitata con
+ * l'iteratore o con {@code stream()} senza tenere un riferimento alla sua
+ * testa, i nodi già visitati possono essere liberati dal garbage collector e
+ * la visita usa memoria costante. I metodi {@code cons}, {@code removeAll},
+ * {@code updateAll} e {@code append} restituiscono a loro volta liste pigre;
+ * gli altri metodi di {@link ADTConsList} visitano la lista fino in fondo (o
+ * fino al primo elemento cercato) e non terminano su liste infinite.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ * @param <E>
+ *            il tipo degli elementi della lista.
+ */
+public final class LazyConsList<E> implements ADTConsList<E> {
+    private final E first;
+
+    private Supplier<ADTConsList<E>> restSupplier;
+
+    private volatile ADTConsList<E> rest;
+
+    /**
+     * Costruisce una lista con un elemento in testa e una funzione che calcola
+     * la coda quando serve.
+     *
+     * @param first
+     *                  l'elemento in testa
+     * @param rest
+     *                  la funzione che restituisce la coda della lista; non
+     *                  deve restituire null
+     * @throws NullPointerException
+     *                                  se la funzione è null
+     */
+    public LazyConsList(E first, Supplier<ADTConsList<E>> rest) {
+        if (rest == null)
+            throw new NullPointerException("Funzione per la coda null");
+        this.first = first;
+        this.restSupplier = rest;
+        this.rest = null;
+    }
+
+    /*
+     * Costruisce una lista con la coda già calcolata.
+     */
+    private LazyConsList(E first, ADTConsList<E> rest) {
+        this.first = first;
+        this.restSupplier = null;
+        this.rest = rest;
+    }
+
+    /**
+     * Restituisce la lista infinita {@code seed, f(seed), f(f(seed)), ...}.
+     *
+     * @param <E>
+     *                 il tipo degli elementi
+     * @param seed
+     *                 il primo elemento
+     * @param f
+     *                 la funzione che calcola ogni elemento dal precedente
+     * @return la lista infinita degli elementi generati
+     * @throws NullPointerException
+     *                                  se la funzione è null
+     */
+    public static <E> ADTConsList<E> iterate(E seed, UnaryOperator<E> f) {
+        if (f == null)
+            throw new NullPointerException("Funzione di generazione null");
+        return new LazyConsList<E>(seed, () -> iterate(f.apply(seed), f));
+    }
+
+    /**
+     * Restituisce una lista pigra con gli elementi restituiti da un iteratore.
+     * Ogni elemento viene chiesto all'iteratore solo quando serve; l'iteratore
+     * non deve essere usato da altri.
+     *
+     * @param <E>
+     *                 il tipo degli elementi
+     * @param iterator
+     *                     l'iteratore da cui prendere gli elementi
+     * @return la lista degli elementi dell'iteratore, vuota se l'iteratore
+     *         non ha elementi
+     * @throws NullPointerException
+     *                                  se l'iteratore è null
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> ADTConsList<E> fromIterator(Iterator<E> iterator) {
+        if (iterator == null)
+            throw new NullPointerException("Iteratore null");
+        if (!iterator.hasNext())
+            return ADTConsList.EMPTY_LIST;
+        return new LazyConsList<E>(iterator.next(),
+                () -> fromIterator(iterator));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public E first() {
+        return this.first;
+    }
+
+    @Override
+    public ADTConsList<E> rest() {
+        ADTConsList<E> r = this.rest;
+        if (r == null) {
+            synchronized (this) {
+                r = this.rest;
+                if (r == null) {
+                    r = this.restSupplier.get();
+                    if (r == null)
+                        throw new IllegalStateException(
+                                "La funzione per la coda ha restituito null");
+                    this.rest = r;
+                    this.restSupplier = null;
+                }
+            }
+        }
+        return r;
+    }
+
+    @Override
+    public ADTConsList<E> cons(E first) {
+        // resta una lista pigra, così removeAll, updateAll e append non
+        // visitano la coda, che può essere infinita
+        return new LazyConsList<E>(first, this);
+    }
+
+    /*
+     * Versione pigra: la coda viene filtrata solo quando serve. Se la lista
+     * inizia con element si cerca subito il primo elemento da tenere.
+     */
+    @Override
+    public ADTConsList<E> removeAll(E element) {
+        ADTConsList<E> l = this;
+        while (!l.isEmpty() && l.first().equals(element))
+            l = l.rest();
+        if (l.isEmpty())
+            return l;
+        ADTConsList<E> source = l;
+        return new LazyConsList<E>(source.first(),
+                () -> source.rest().removeAll(element));
+    }
+
+    @Override
+    public ADTConsList<E> updateAll(E element, E newElement) {
+        E e = this.first.equals(element) ? newElement : this.first;
+        return new LazyConsList<E>(e,
+                () -> rest().updateAll(element, newElement));
+    }
+
+    @Override
+    public ADTConsList<E> append(ADTConsList<E> list) {
+        if (list.isEmpty())
+            return this;
+        return new LazyConsList<E>(this.first, () -> rest().append(list));
+    }
+
+}
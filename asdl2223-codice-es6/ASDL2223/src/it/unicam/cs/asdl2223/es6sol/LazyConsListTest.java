@@ -0,0 +1,82 @@
+package it.unicam.cs.asdl2223.es6sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test JUnit per la classe LazyConsList
+ */
+class LazyConsListTest {
+
+	@Test
+	void testLazyConsList() {
+		assertThrows(NullPointerException.class, () -> new LazyConsList<Integer>(1, null));
+		AtomicInteger evaluations = new AtomicInteger(0);
+		@SuppressWarnings("unchecked")
+		ADTConsList<Integer> l = new LazyConsList<Integer>(1, () -> {
+			evaluations.incrementAndGet();
+			return ADTConsList.EMPTY_LIST.cons(2);
+		});
+		assertEquals(0, evaluations.get());
+		assertFalse(l.isEmpty());
+		assertEquals(1, l.first());
+		assertEquals(0, evaluations.get());
+		assertEquals(2, l.rest().first());
+		assertSame(l.rest(), l.rest());
+		assertEquals(1, evaluations.get());
+		assertEquals("0 1 2 ", l.cons(0).print());
+	}
+
+	@Test
+	void testIterate() {
+		ADTConsList<Integer> naturals = LazyConsList.iterate(0, x -> x + 1);
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4),
+				naturals.stream().limit(5).collect(Collectors.toList()));
+		assertTrue(naturals.find(1000));
+		ADTConsList<Integer> odds = naturals.removeAll(0).updateAll(2, 3);
+		assertEquals(Arrays.asList(1, 3, 3, 4),
+				odds.stream().limit(4).collect(Collectors.toList()));
+		// cons su una lista infinita resta pigra
+		ADTConsList<Integer> extended = naturals.cons(-1);
+		assertTrue(extended instanceof LazyConsList);
+		assertSame(naturals, extended.rest());
+		assertEquals(Arrays.asList(-1, 0, 1, 2, 3, 4, 6),
+				extended.removeAll(5).stream().limit(7).collect(Collectors.toList()));
+		assertEquals(Arrays.asList(-1, 0, 1, 7),
+				extended.updateAll(2, 7).stream().limit(4).collect(Collectors.toList()));
+		assertEquals(Arrays.asList(-2, -1, 0, 1),
+				extended.cons(-2).append(naturals).stream().limit(4).collect(Collectors.toList()));
+		// un milione di elementi senza tenere la testa della lista
+		assertEquals(499999500000L,
+				LazyConsList.iterate(0L, x -> x + 1).stream().limit(1000000).mapToLong(x -> x).sum());
+	}
+
+	@Test
+	void testFromIterator() {
+		assertTrue(LazyConsList.fromIterator(Collections.<Integer>emptyIterator()).isEmpty());
+		List<Integer> source = Arrays.asList(4, 1, 4, 2);
+		ADTConsList<Integer> l = LazyConsList.fromIterator(source.iterator());
+		assertEquals("4 1 4 2 ", l.print());
+		assertEquals("1 2 ", l.removeAll(4).print());
+		assertEquals("4 1 4 2 4 1 4 2 ", l.append(l).print());
+		assertSame(l, l.append(LazyConsList.fromIterator(Collections.<Integer>emptyIterator())));
+		assertEquals("4 4 2 ", l.removeFirst(1).print());
+		assertEquals("4 1 4 2 ", l.removeFirst(7).print());
+		Iterator<Integer> itr = l.iterator();
+		for (Integer i : source) {
+			assertEquals(i, itr.next());
+		}
+		assertFalse(itr.hasNext());
+		assertThrows(NoSuchElementException.class, itr::next);
+	}
+
+}
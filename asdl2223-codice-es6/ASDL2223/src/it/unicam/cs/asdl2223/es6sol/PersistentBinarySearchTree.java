@@ -0,0 +1,440 @@
+package it.unicam.cs.asdl2223.es6sol;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Un oggetto di questa classe rappresenta un binary search tree persistente,
+ * cioè immutabile, con le stesse operazioni di lettura di
+ * {@link BinarySearchTree}. Le operazioni {@code add} e {@code remove} non
+ * modificano l'albero ma restituiscono una nuova versione, e tutte le versioni
+ * restano valide e utilizzabili.
+ *
+ * I nodi sono immutabili e l'albero è un albero AVL. Una nuova versione copia
+ * solo gli O(log n) nodi sul cammino dalla radice al punto modificato e
+ * condivide con la versione precedente tutti gli altri sottoalberi. Tenere una
+ * versione come fotografia dello stato dell'insieme costa quindi O(1), invece
+ * di O(n) come copiare {@link BinarySearchTree#getOrderedLabels()}, e ogni
+ * modifica costa O(log n) memoria in più. Essendo immutabile, ogni versione
+ * può essere letta da più thread senza sincronizzazione.
+ *
+ * @param <E>
+ *                il tipo delle etichette dei nodi in questo Binary Search
+ *                Tree. La classe {@code E} deve avere un ordinamento naturale
+ *                definito tra gli elementi.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ */
+public final class PersistentBinarySearchTree<E extends Comparable<E>>
+        implements Iterable<E> {
+
+    /*
+     * Radice di questa versione, null se l'albero è vuoto
+     */
+    private final Node<E> root;
+
+    /**
+     * Crea un albero binario di ricerca persistente vuoto.
+     */
+    public PersistentBinarySearchTree() {
+        this(null);
+    }
+
+    private PersistentBinarySearchTree(Node<E> root) {
+        this.root = root;
+    }
+
+    /**
+     * Determina se questo albero è vuoto.
+     *
+     * @return true se questo albero è vuoto, false altrimenti
+     */
+    public boolean isEmpty() {
+        return this.root == null;
+    }
+
+    /**
+     * Determina il numero di nodi in questo albero.
+     *
+     * @return il numero di nodi in questo albero
+     */
+    public int size() {
+        return size(this.root);
+    }
+
+    /**
+     * Restituisce l'altezza di questo albero, -1 se l'albero è vuoto.
+     *
+     * @return l'altezza di questo albero oppure -1 se questo albero è vuoto.
+     */
+    public int getHeight() {
+        return height(this.root);
+    }
+
+    /**
+     * Aggiunge ad una lista data la lista delle etichette dei nodi dell'albero
+     * nell'ordine naturale.
+     *
+     * @param l
+     *              una lista (può essere anche vuota) su cui inserire le
+     *              etichette in ordine.
+     * @throws NullPointerException
+     *                                  se la lista passata è null
+     */
+    public void addOrderedLabelsTo(List<E> l) {
+        if (l == null)
+            throw new NullPointerException(
+                    "Lista null su cui aggiungere le etichette");
+        for (E label : this)
+            l.add(label);
+    }
+
+    /**
+     * Restituisce la lista ordinata delle etichette dei nodi di questo albero.
+     *
+     * @return la lista ordinata delle etichette dei nodi di questo albero
+     */
+    public List<E> getOrderedLabels() {
+        List<E> l = new ArrayList<E>();
+        this.addOrderedLabelsTo(l);
+        return l;
+    }
+
+    /**
+     * Determina se una etichetta è presente in questo albero.
+     *
+     * @param label
+     *                  l'etichetta da cercare
+     * @return true se l'etichetta è presente, false altrimenti
+     * @throws NullPointerException
+     *                                  se l'etichetta passata è null
+     */
+    public boolean contains(E label) {
+        if (label == null)
+            throw new NullPointerException("Etichetta da cercare null");
+        Node<E> n = this.root;
+        while (n != null) {
+            int cmp = n.label.compareTo(label);
+            if (cmp == 0)
+                return true;
+            n = cmp > 0 ? n.left : n.right;
+        }
+        return false;
+    }
+
+    /**
+     * Restituisce l'etichetta più piccola presente nell'albero.
+     *
+     * @return l'etichetta minima presente nell'albero oppure null se l'albero è
+     *         vuoto
+     */
+    public E getMin() {
+        Node<E> n = this.root;
+        if (n == null)
+            return null;
+        while (n.left != null)
+            n = n.left;
+        return n.label;
+    }
+
+    /**
+     * Restituisce l'etichetta più grande presente nell'albero.
+     *
+     * @return l'etichetta massima presente nell'albero oppure null se l'albero
+     *         è vuoto
+     */
+    public E getMax() {
+        Node<E> n = this.root;
+        if (n == null)
+            return null;
+        while (n.right != null)
+            n = n.right;
+        return n.label;
+    }
+
+    /**
+     * Restituisce l'etichetta successiva a una etichetta data. Non essendoci
+     * puntatori ai genitori, il successore è l'ultimo nodo in cui si è scesi a
+     * sinistra durante la ricerca, oppure il minimo del sottoalbero destro.
+     *
+     * @param label
+     *                  l'etichetta di cui trovare il successore
+     * @return l'etichetta successore di {@code label} in questo albero, oppure
+     *         null se {@code label} non ha un successore
+     * @throws IllegalArgumentException
+     *                                      se l'etichetta {@code label} non è
+     *                                      presente in questo albero
+     * @throws NullPointerException
+     *                                      se l'etichetta passata è null
+     */
+    public E getSuccessor(E label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Etichetta di cui cercare il successore null");
+        Node<E> n = this.root;
+        Node<E> candidate = null;
+        while (n != null) {
+            int cmp = n.label.compareTo(label);
+            if (cmp == 0) {
+                if (n.right == null)
+                    return candidate == null ? null : candidate.label;
+                n = n.right;
+                while (n.left != null)
+                    n = n.left;
+                return n.label;
+            }
+            if (cmp > 0) {
+                candidate = n;
+                n = n.left;
+            } else
+                n = n.right;
+        }
+        throw new IllegalArgumentException(
+                "Tentativo di cercare il successore di una etichetta non esistente");
+    }
+
+    /**
+     * Restituisce l'etichetta precedente a una etichetta data.
+     *
+     * @param label
+     *                  l'etichetta di cui trovare il predecessore
+     * @return l'etichetta predecessore di {@code label} in questo albero,
+     *         oppure null se {@code label} non ha un predecessore
+     * @throws IllegalArgumentException
+     *                                      se l'etichetta {@code label} non è
+     *                                      presente in questo albero
+     * @throws NullPointerException
+     *                                      se l'etichetta passata è null
+     */
+    public E getPredecessor(E label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Etichetta di cui cercare il predecessore null");
+        Node<E> n = this.root;
+        Node<E> candidate = null;
+        while (n != null) {
+            int cmp = n.label.compareTo(label);
+            if (cmp == 0) {
+                if (n.left == null)
+                    return candidate == null ? null : candidate.label;
+                n = n.left;
+                while (n.right != null)
+                    n = n.right;
+                return n.label;
+            }
+            if (cmp < 0) {
+                candidate = n;
+                n = n.right;
+            } else
+                n = n.left;
+        }
+        throw new IllegalArgumentException(
+                "Tentativo di cercare il predecessore di una etichetta non esistente");
+    }
+
+    /**
+     * Restituisce la versione di questo albero con in più un nodo con una
+     * etichetta specificata. Questo albero non viene modificato.
+     *
+     * @param label
+     *                  etichetta da inserire
+     * @return un albero con le etichette di questo e {@code label}; questo
+     *         stesso albero se l'etichetta era già presente
+     * @throws NullPointerException
+     *                                  se l'etichetta passata è null
+     */
+    public PersistentBinarySearchTree<E> add(E label) {
+        if (label == null)
+            throw new NullPointerException("Etichetta da aggiungere null");
+        Node<E> updated = insert(this.root, label);
+        return updated == this.root ? this
+                : new PersistentBinarySearchTree<E>(updated);
+    }
+
+    /**
+     * Restituisce la versione di questo albero senza il nodo contenente una
+     * certa etichetta. Questo albero non viene modificato.
+     *
+     * @param label
+     *                  l'etichetta del nodo da rimuovere
+     * @return un albero con le etichette di questo tranne {@code label};
+     *         questo stesso albero se l'etichetta non era presente
+     * @throws NullPointerException
+     *                                  se l'etichetta passata è null
+     */
+    public PersistentBinarySearchTree<E> remove(E label) {
+        if (label == null)
+            throw new NullPointerException(
+                    "Tentativo di rimuovere etichetta null");
+        Node<E> updated = delete(this.root, label);
+        return updated == this.root ? this
+                : new PersistentBinarySearchTree<E>(updated);
+    }
+
+    /**
+     * Restituisce un iteratore sulle etichette in ordine crescente. L'operazione
+     * {@code remove()} non è supportata.
+     *
+     * @return un iteratore sulle etichette in ordine crescente
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr<E>(this.root);
+    }
+
+    /*
+     * Nodo immutabile con altezza e numero di nodi del sottoalbero.
+     */
+    private static final class Node<E> {
+
+        private final E label;
+
+        private final Node<E> left;
+
+        private final Node<E> right;
+
+        private final int height;
+
+        private final int size;
+
+        private Node(E label, Node<E> left, Node<E> right) {
+            this.label = label;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(height(left), height(right));
+            this.size = 1 + size(left) + size(right);
+        }
+    }
+
+    private static int height(Node<?> n) {
+        return n == null ? -1 : n.height;
+    }
+
+    private static int size(Node<?> n) {
+        return n == null ? 0 : n.size;
+    }
+
+    /*
+     * Restituisce la radice di un albero uguale a n con in più label. Se
+     * label è già presente restituisce n stesso.
+     */
+    private static <E extends Comparable<E>> Node<E> insert(Node<E> n,
+            E label) {
+        if (n == null)
+            return new Node<E>(label, null, null);
+        int cmp = n.label.compareTo(label);
+        if (cmp == 0)
+            return n;
+        if (cmp > 0) {
+            Node<E> l = insert(n.left, label);
+            return l == n.left ? n : balance(n.label, l, n.right);
+        } else {
+            Node<E> r = insert(n.right, label);
+            return r == n.right ? n : balance(n.label, n.left, r);
+        }
+    }
+
+    /*
+     * Restituisce la radice di un albero uguale a n senza label. Se label non
+     * è presente restituisce n stesso.
+     */
+    private static <E extends Comparable<E>> Node<E> delete(Node<E> n,
+            E label) {
+        if (n == null)
+            return null;
+        int cmp = n.label.compareTo(label);
+        if (cmp > 0) {
+            Node<E> l = delete(n.left, label);
+            return l == n.left ? n : balance(n.label, l, n.right);
+        }
+        if (cmp < 0) {
+            Node<E> r = delete(n.right, label);
+            return r == n.right ? n : balance(n.label, n.left, r);
+        }
+        if (n.left == null)
+            return n.right;
+        if (n.right == null)
+            return n.left;
+        // due figli: il successore prende il posto dell'etichetta cancellata
+        Node<E> min = n.right;
+        while (min.left != null)
+            min = min.left;
+        return balance(min.label, n.left, deleteMin(n.right));
+    }
+
+    private static <E> Node<E> deleteMin(Node<E> n) {
+        if (n.left == null)
+            return n.right;
+        return balance(n.label, deleteMin(n.left), n.right);
+    }
+
+    /*
+     * Crea un nodo con i sottoalberi dati, le cui altezze differiscono al più
+     * di due, applicando le rotazioni AVL necessarie.
+     */
+    private static <E> Node<E> balance(E label, Node<E> l, Node<E> r) {
+        int hl = height(l);
+        int hr = height(r);
+        if (hl > hr + 1) {
+            if (height(l.left) >= height(l.right))
+                // rotazione a destra
+                return new Node<E>(l.label, l.left,
+                        new Node<E>(label, l.right, r));
+            // rotazione sinistra-destra
+            Node<E> lr = l.right;
+            return new Node<E>(lr.label, new Node<E>(l.label, l.left, lr.left),
+                    new Node<E>(label, lr.right, r));
+        }
+        if (hr > hl + 1) {
+            if (height(r.right) >= height(r.left))
+                // rotazione a sinistra
+                return new Node<E>(r.label, new Node<E>(label, l, r.left),
+                        r.right);
+            // rotazione destra-sinistra
+            Node<E> rl = r.left;
+            return new Node<E>(rl.label, new Node<E>(label, l, rl.left),
+                    new Node<E>(r.label, rl.right, r.right));
+        }
+        return new Node<E>(label, l, r);
+    }
+
+    /*
+     * Visita in ordine con una pila dei nodi di cui resta da visitare il
+     * sottoalbero destro, di dimensione O(log n).
+     */
+    private static class Itr<E> implements Iterator<E> {
+
+        private final Deque<Node<E>> stack = new ArrayDeque<Node<E>>();
+
+        private Itr(Node<E> root) {
+            pushLeft(root);
+        }
+
+        private void pushLeft(Node<E> n) {
+            while (n != null) {
+                this.stack.push(n);
+                n = n.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.stack.isEmpty();
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext())
+                throw new NoSuchElementException(
+                        "Richiesta di next quando hasNext è falso");
+            Node<E> n = this.stack.pop();
+            pushLeft(n.right);
+            return n.label;
+        }
+    }
+}
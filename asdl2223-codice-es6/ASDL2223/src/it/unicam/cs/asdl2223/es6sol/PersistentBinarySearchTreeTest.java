@@ -0,0 +1,102 @@
+package it.unicam.cs.asdl2223.es6sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test JUnit per la classe PersistentBinarySearchTree
+ */
+class PersistentBinarySearchTreeTest {
+
+	@Test
+	void testPersistentBinarySearchTree() {
+		PersistentBinarySearchTree<Integer> t = new PersistentBinarySearchTree<Integer>();
+		assertTrue(t.isEmpty());
+		assertEquals(0, t.size());
+		assertEquals(-1, t.getHeight());
+		assertNull(t.getMin());
+		assertNull(t.getMax());
+		assertFalse(t.contains(1));
+		assertSame(t, t.remove(1));
+		assertTrue(t.getOrderedLabels().isEmpty());
+		assertThrows(NullPointerException.class, () -> t.add(null));
+		assertThrows(NullPointerException.class, () -> t.remove(null));
+	}
+
+	@Test
+	void testAddRemoveVersions() {
+		PersistentBinarySearchTree<Integer> empty = new PersistentBinarySearchTree<Integer>();
+		PersistentBinarySearchTree<Integer> v1 = empty.add(50).add(20).add(70);
+		PersistentBinarySearchTree<Integer> v2 = v1.add(10).add(30);
+		PersistentBinarySearchTree<Integer> v3 = v2.remove(50);
+		assertSame(v2, v2.add(30));
+		assertSame(v2, v2.remove(40));
+		// tutte le versioni restano invariate
+		assertTrue(empty.isEmpty());
+		assertEquals(Arrays.asList(20, 50, 70), v1.getOrderedLabels());
+		assertEquals(Arrays.asList(10, 20, 30, 50, 70), v2.getOrderedLabels());
+		assertEquals(Arrays.asList(10, 20, 30, 70), v3.getOrderedLabels());
+		assertTrue(v2.contains(50));
+		assertFalse(v3.contains(50));
+		assertEquals(30, v3.getSuccessor(20));
+		assertEquals(70, v3.getSuccessor(30));
+		assertNull(v3.getSuccessor(70));
+		assertEquals(10, v3.getPredecessor(20));
+		assertNull(v3.getPredecessor(10));
+		assertThrows(IllegalArgumentException.class, () -> v3.getSuccessor(50));
+		assertEquals(10, v3.getMin());
+		assertEquals(70, v3.getMax());
+	}
+
+	@Test
+	void testRandomHistory() {
+		Random random = new Random(3);
+		List<PersistentBinarySearchTree<Integer>> versions = new ArrayList<PersistentBinarySearchTree<Integer>>();
+		List<List<Integer>> expected = new ArrayList<List<Integer>>();
+		PersistentBinarySearchTree<Integer> t = new PersistentBinarySearchTree<Integer>();
+		TreeSet<Integer> set = new TreeSet<Integer>();
+		for (int i = 0; i < 3000; i++) {
+			int x = random.nextInt(500);
+			if (random.nextInt(3) > 0) {
+				t = t.add(x);
+				set.add(x);
+			} else {
+				t = t.remove(x);
+				set.remove(x);
+			}
+			if (i % 100 == 0) {
+				versions.add(t);
+				expected.add(new ArrayList<Integer>(set));
+			}
+		}
+		for (int i = 0; i < versions.size(); i++) {
+			assertEquals(expected.get(i), versions.get(i).getOrderedLabels());
+			assertEquals(expected.get(i).size(), versions.get(i).size());
+		}
+		assertTrue(t.getHeight() <= 1.45 * Math.log(t.size() + 2) / Math.log(2));
+	}
+
+	@Test
+	void testSnapshot() {
+		ConcurrentBinarySearchTree<Integer> t = new ConcurrentBinarySearchTree<Integer>();
+		for (int i = 0; i < 10; i++) {
+			t.add(i);
+		}
+		PersistentBinarySearchTree<Integer> s = t.snapshot();
+		t.remove(0);
+		t.add(10);
+		assertEquals(10, s.size());
+		assertTrue(s.contains(0));
+		assertFalse(s.contains(10));
+		assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), t.getOrderedLabels());
+		assertSame(t.snapshot(), t.snapshot());
+	}
+
+}
@@ -0,0 +1,311 @@
+package it.unicam.cs.asdl2223.es6sol;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Vettore immutabile a contenuto generico, complementare a
+ * {@link ADTConsList}: mentre una cons list permette solo di accedere alla
+ * testa, un vettore persistente permette di leggere e "modificare" qualsiasi
+ * posizione. Come per {@link ConsList}, nessuna operazione cambia il vettore
+ * su cui è chiamata: {@code set} e {@code append} restituiscono un nuovo
+ * vettore, e tutti i campi e gli array interni non vengono mai modificati dopo
+ * la costruzione, per cui un vettore può essere letto da più thread senza
+ * sincronizzazione.
+ *
+ * Gli elementi sono nelle foglie di un albero in cui ogni nodo è un array di
+ * 32 posizioni: l'elemento di indice {@code i} si trova seguendo a ogni livello
+ * il gruppo di 5 bit di {@code i} corrispondente, per cui {@code get},
+ * {@code set} e {@code append} costano O(log32 n), cioè al più 7 livelli per
+ * vettori con meno di 2^31 elementi. Una nuova versione copia solo i nodi sul
+ * cammino dalla radice alla foglia modificata e condivide tutti gli altri.
+ * Gli ultimi (fino a 32) elementi sono tenuti fuori dall'albero in un array di
+ * coda, che viene inserito nell'albero solo quando è pieno: così quasi tutte
+ * le {@code append} copiano solo la coda e costano O(1).
+ *
+ * Sono ammessi elementi null.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ * @param <E>
+ *            il tipo degli elementi del vettore.
+ */
+public final class PersistentVector<E> implements Iterable<E> {
+
+    /*
+     * Numero di bit dell'indice usati a ogni livello e ampiezza dei nodi
+     */
+    private static final int BITS = 5;
+
+    private static final int WIDTH = 1 << BITS;
+
+    private static final int MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+
+    private final int size;
+
+    /*
+     * Numero di bit di cui spostare l'indice per scegliere il figlio della
+     * radice; è BITS per un albero con un solo livello di nodi interni
+     */
+    private final int shift;
+
+    private final Object[] root;
+
+    private final Object[] tail;
+
+    /**
+     * Crea un vettore vuoto.
+     */
+    public PersistentVector() {
+        this(0, BITS, EMPTY_NODE, new Object[0]);
+    }
+
+    private PersistentVector(int size, int shift, Object[] root,
+            Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Crea un vettore con gli elementi di una lista, nello stesso ordine.
+     *
+     * @param <E>
+     *                 il tipo degli elementi
+     * @param list
+     *                 la lista da convertire
+     * @return un vettore con gli elementi di {@code list}
+     * @throws NullPointerException
+     *                                  se la lista è null
+     */
+    public static <E> PersistentVector<E> fromConsList(ADTConsList<E> list) {
+        if (list == null)
+            throw new NullPointerException("Lista da convertire null");
+        PersistentVector<E> v = new PersistentVector<E>();
+        for (ADTConsList<E> l = list; !l.isEmpty(); l = l.rest())
+            v = v.append(l.first());
+        return v;
+    }
+
+    /**
+     * Restituisce una lista con gli elementi di questo vettore, nello stesso
+     * ordine, in tempo O(n): le foglie vengono visitate dall'ultima alla
+     * prima, cercando ognuna una sola volta, e gli elementi di ogni foglia
+     * vengono inseriti in testa alla lista dall'ultimo al primo.
+     *
+     * @return una cons list con gli elementi di questo vettore
+     */
+    @SuppressWarnings("unchecked")
+    public ADTConsList<E> toConsList() {
+        ADTConsList<E> list = ADTConsList.EMPTY_LIST;
+        int i = this.size - 1;
+        while (i >= 0) {
+            Object[] leaf = leafFor(i);
+            int start = i & ~MASK;
+            for (; i >= start; i--)
+                list = list.cons((E) leaf[i & MASK]);
+        }
+        return list;
+    }
+
+    /**
+     * Determina se questo vettore è vuoto.
+     *
+     * @return true se questo vettore non ha elementi
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Restituisce il numero di elementi di questo vettore.
+     *
+     * @return il numero di elementi
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Restituisce l'elemento in una posizione data.
+     *
+     * @param index
+     *                  la posizione dell'elemento
+     * @return l'elemento in posizione {@code index}
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è compreso fra 0 e
+     *                                       {@code size() - 1}
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Restituisce un vettore uguale a questo in cui l'elemento in una
+     * posizione data è sostituito da un nuovo elemento.
+     *
+     * @param index
+     *                    la posizione dell'elemento da sostituire
+     * @param element
+     *                    il nuovo elemento
+     * @return un nuovo vettore con {@code element} in posizione {@code index}
+     * @throws IndexOutOfBoundsException
+     *                                       se l'indice non è compreso fra 0 e
+     *                                       {@code size() - 1}
+     */
+    public PersistentVector<E> set(int index, E element) {
+        checkIndex(index);
+        if (index >= tailOffset()) {
+            Object[] newTail = this.tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<E>(this.size, this.shift, this.root,
+                    newTail);
+        }
+        return new PersistentVector<E>(this.size, this.shift,
+                setInNode(this.shift, this.root, index, element), this.tail);
+    }
+
+    /**
+     * Restituisce un vettore uguale a questo con un elemento in più in fondo.
+     *
+     * @param element
+     *                    l'elemento da aggiungere
+     * @return un nuovo vettore con {@code element} in posizione
+     *         {@code size()}
+     */
+    public PersistentVector<E> append(E element) {
+        if (this.size - tailOffset() < WIDTH) {
+            // c'è posto nella coda
+            Object[] newTail = new Object[this.tail.length + 1];
+            System.arraycopy(this.tail, 0, newTail, 0, this.tail.length);
+            newTail[this.tail.length] = element;
+            return new PersistentVector<E>(this.size + 1, this.shift,
+                    this.root, newTail);
+        }
+        // coda piena: la inserisco nell'albero e ne inizio una nuova
+        Object[] newRoot;
+        int newShift = this.shift;
+        if ((this.size >>> BITS) > (1 << this.shift)) {
+            // l'albero è pieno: aggiungo un livello sopra la radice
+            newRoot = new Object[WIDTH];
+            newRoot[0] = this.root;
+            newRoot[1] = newPath(this.shift, this.tail);
+            newShift += BITS;
+        } else
+            newRoot = pushTail(this.shift, this.root, this.tail);
+        return new PersistentVector<E>(this.size + 1, newShift, newRoot,
+                new Object[] { element });
+    }
+
+    /**
+     * Restituisce un iteratore sugli elementi di questo vettore. L'operazione
+     * {@code remove()} non è supportata.
+     *
+     * @return un iteratore sugli elementi in ordine di posizione
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int index = 0;
+
+            private Object[] leaf = null;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < PersistentVector.this.size;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public E next() {
+                if (!hasNext())
+                    throw new NoSuchElementException(
+                            "Richiesta di next quando hasNext è falso");
+                // scendo nell'albero solo all'inizio di ogni foglia
+                if ((this.index & MASK) == 0)
+                    this.leaf = leafFor(this.index);
+                return (E) this.leaf[this.index++ & MASK];
+            }
+        };
+    }
+
+    /*
+     * Indice del primo elemento nella coda.
+     */
+    private int tailOffset() {
+        return this.size < WIDTH ? 0 : ((this.size - 1) >>> BITS) << BITS;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size)
+            throw new IndexOutOfBoundsException(
+                    "Indice fuori dai limiti: " + index);
+    }
+
+    /*
+     * Restituisce l'array (foglia o coda) che contiene l'elemento di indice
+     * index.
+     */
+    private Object[] leafFor(int index) {
+        checkIndex(index);
+        if (index >= tailOffset())
+            return this.tail;
+        Object[] node = this.root;
+        for (int level = this.shift; level > 0; level -= BITS)
+            node = (Object[]) node[(index >>> level) & MASK];
+        return node;
+    }
+
+    /*
+     * Copia il cammino da node alla foglia che contiene index, sostituendo
+     * l'elemento nella copia della foglia.
+     */
+    private static Object[] setInNode(int level, Object[] node, int index,
+            Object element) {
+        Object[] copy = node.clone();
+        if (level == 0)
+            copy[index & MASK] = element;
+        else {
+            int child = (index >>> level) & MASK;
+            copy[child] = setInNode(level - BITS, (Object[]) node[child], index,
+                    element);
+        }
+        return copy;
+    }
+
+    /*
+     * Restituisce una copia di parent in cui la foglia leaf è stata aggiunta
+     * come ultima foglia, copiando solo il cammino verso di essa.
+     */
+    private Object[] pushTail(int level, Object[] parent, Object[] leaf) {
+        // la nuova foglia contiene gli elementi da size - 32 a size - 1
+        int child = ((this.size - 1) >>> level) & MASK;
+        Object[] copy = parent.clone();
+        if (level == BITS)
+            copy[child] = leaf;
+        else {
+            Object[] node = (Object[]) parent[child];
+            copy[child] = node != null
+                    ? pushTail(level - BITS, node, leaf)
+                    : newPath(level - BITS, leaf);
+        }
+        return copy;
+    }
+
+    /*
+     * Crea una catena di nodi, ognuno con solo il primo figlio, alta level
+     * bit che termina nella foglia leaf.
+     */
+    private static Object[] newPath(int level, Object[] leaf) {
+        if (level == 0)
+            return leaf;
+        Object[] node = new Object[WIDTH];
+        node[0] = newPath(level - BITS, leaf);
+        return node;
+    }
+
+}
@@ -0,0 +1,111 @@
+package it.unicam.cs.asdl2223.es6sol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test JUnit per la classe PersistentVector
+ */
+class PersistentVectorTest {
+
+	@Test
+	void testPersistentVector() {
+		PersistentVector<Integer> v = new PersistentVector<Integer>();
+		assertTrue(v.isEmpty());
+		assertEquals(0, v.size());
+		assertThrows(IndexOutOfBoundsException.class, () -> v.get(0));
+		assertThrows(IndexOutOfBoundsException.class, () -> v.set(0, 1));
+		assertFalse(v.iterator().hasNext());
+		assertTrue(v.toConsList().isEmpty());
+	}
+
+	@Test
+	void testAppendGet() {
+		// abbastanza elementi da avere tre livelli di nodi interni
+		int n = 40000;
+		PersistentVector<Integer> v = new PersistentVector<Integer>();
+		List<PersistentVector<Integer>> versions = new ArrayList<PersistentVector<Integer>>();
+		for (int i = 0; i < n; i++) {
+			if (i % 1000 == 0) {
+				versions.add(v);
+			}
+			v = v.append(i);
+		}
+		assertEquals(n, v.size());
+		for (int i = 0; i < n; i++) {
+			assertEquals(i, v.get(i));
+		}
+		PersistentVector<Integer> full = v;
+		assertThrows(IndexOutOfBoundsException.class, () -> full.get(n));
+		// le versioni precedenti non cambiano
+		for (int k = 0; k < versions.size(); k++) {
+			PersistentVector<Integer> old = versions.get(k);
+			assertEquals(k * 1000, old.size());
+			if (old.size() > 0) {
+				assertEquals(old.size() - 1, old.get(old.size() - 1));
+			}
+		}
+		int expected = 0;
+		for (Integer x : v) {
+			assertEquals(expected++, x);
+		}
+		assertEquals(n, expected);
+	}
+
+	@Test
+	void testSet() {
+		PersistentVector<String> v = new PersistentVector<String>();
+		for (int i = 0; i < 1100; i++) {
+			v = v.append("" + i);
+		}
+		PersistentVector<String> w = v.set(5, "a").set(1090, "b").set(700, null);
+		assertEquals("5", v.get(5));
+		assertEquals("1090", v.get(1090));
+		assertEquals("700", v.get(700));
+		assertEquals("a", w.get(5));
+		assertEquals("b", w.get(1090));
+		assertNull(w.get(700));
+		assertEquals("6", w.get(6));
+		assertEquals(1100, w.size());
+		PersistentVector<String> original = v;
+		assertThrows(IndexOutOfBoundsException.class, () -> original.set(-1, "c"));
+		Iterator<String> itr = w.iterator();
+		for (int i = 0; i < 1100; i++) {
+			itr.next();
+		}
+		assertThrows(NoSuchElementException.class, itr::next);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	void testConsListConversions() {
+		ADTConsList<Integer> l = ADTConsList.EMPTY_LIST;
+		for (int i = 99; i >= 0; i--) {
+			l = l.cons(i);
+		}
+		PersistentVector<Integer> v = PersistentVector.fromConsList(l);
+		assertEquals(100, v.size());
+		assertEquals(42, v.get(42));
+		assertEquals(l.print(), v.toConsList().print());
+		ADTConsList<Integer> lazy = LazyConsList.fromIterator(List.of(7, 8, 9).iterator());
+		assertEquals("7 8 9 ", PersistentVector.fromConsList(lazy).toConsList().print());
+		// più livelli nell'albero: la conversione visita foglia per foglia
+		PersistentVector<Integer> big = new PersistentVector<Integer>();
+		for (int i = 0; i < 32 * 32 + 40; i++) {
+			big = big.append(i);
+		}
+		int expected = 0;
+		for (ADTConsList<Integer> c = big.toConsList(); !c.isEmpty(); c = c.rest()) {
+			assertEquals(expected++, c.first());
+		}
+		assertEquals(big.size(), expected);
+		assertThrows(NullPointerException.class, () -> PersistentVector.fromConsList(null));
+	}
+
+}
@@ -0,0 +1,88 @@
+package it.unicam.cs.asdl2223.es8;
+
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Merge sort adatto alle liste concatenate. Se la lista da ordinare è una
+ * {@link SingleLinkedList} i suoi nodi vengono riagganciati direttamente con
+ * un merge sort bottom-up: nessun accesso con indice, nessun nodo allocato e
+ * memoria aggiuntiva costante, in tempo O(n log n). Algoritmi come
+ * {@link BubbleSort} e {@link HeapSort} che usano {@code get} e {@code set}
+ * su una lista concatenata diventano invece cubici.
+ *
+ * Per le altre liste gli elementi sono copiati in un array, ordinati con un
+ * merge sort bottom-up e riscritti nella lista con un solo
+ * {@code ListIterator}. In entrambi i casi l'ordinamento è stabile e avviene
+ * sulla lista passata.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ * @param <E>
+ *                il tipo degli elementi della lista da ordinare
+ */
+public class LinkedListMergeSort<E extends Comparable<E>>
+        implements SortingAlgorithm<E> {
+
+    private int countCompare;
+
+    @Override
+    public SortingAlgorithmResult<E> sort(List<E> l) {
+        if (l == null)
+            throw new NullPointerException(
+                    "Tentativo di ordinare una lista null");
+        this.countCompare = 0;
+        if (l instanceof SingleLinkedList) {
+            ((SingleLinkedList<E>) l).sortNodes((a, b) -> {
+                this.countCompare++;
+                return a.compareTo(b);
+            });
+        } else
+            sortArray(l);
+        return new SortingAlgorithmResult<E>(l, this.countCompare);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sortArray(List<E> l) {
+        int n = l.size();
+        Object[] a = l.toArray();
+        Object[] b = new Object[n];
+        for (Object o : a)
+            if (o == null)
+                throw new NullPointerException(
+                        "Elemento null nella lista da ordinare");
+        for (int width = 1; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + 2 * width, n);
+                int i = lo;
+                int j = mid;
+                for (int k = lo; k < hi; k++) {
+                    if (i < mid && (j >= hi || compare((E) a[i], (E) a[j]) <= 0))
+                        b[k] = a[i++];
+                    else
+                        b[k] = a[j++];
+                }
+            }
+            Object[] tmp = a;
+            a = b;
+            b = tmp;
+        }
+        ListIterator<E> it = l.listIterator();
+        for (Object o : a) {
+            it.next();
+            it.set((E) o);
+        }
+    }
+
+    private int compare(E x, E y) {
+        this.countCompare++;
+        return x.compareTo(y);
+    }
+
+    @Override
+    public String getName() {
+        return "LinkedListMergeSort";
+    }
+
+}
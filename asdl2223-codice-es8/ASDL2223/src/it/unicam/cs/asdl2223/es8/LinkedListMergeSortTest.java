@@ -0,0 +1,95 @@
+package it.unicam.cs.asdl2223.es8;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LinkedListMergeSortTest {
+
+    @Test
+    final void testSortSingleLinkedList() {
+        SortingAlgorithm<Integer> mergeSort = new LinkedListMergeSort<Integer>();
+        assertThrows(NullPointerException.class, () -> mergeSort.sort(null));
+        assertEquals("LinkedListMergeSort", mergeSort.getName());
+        SingleLinkedList<Integer> list = new SingleLinkedList<Integer>();
+        SortingAlgorithmResult<Integer> res = mergeSort.sort(list);
+        assertTrue(res.getL().isEmpty());
+        assertEquals(0, res.getCountCompare());
+        Random random = new Random(5);
+        for (int n : new int[] { 1, 2, 3, 7, 64, 1000 }) {
+            list.clear();
+            List<Integer> expected = new ArrayList<Integer>();
+            for (int i = 0; i < n; i++) {
+                int x = random.nextInt(50);
+                list.add(x);
+                expected.add(x);
+            }
+            Collections.sort(expected);
+            res = mergeSort.sort(list);
+            // controllo esecuzione in loco
+            assertSame(list, res.getL());
+            assertTrue(res.checkOrder());
+            assertArrayEquals(expected.toArray(), list.toArray());
+            assertTrue(res.getCountCompare() <= n * 32 - n + 1);
+            // la coda deve essere stata aggiornata
+            list.add(100);
+            assertEquals(100, list.get(n));
+        }
+    }
+
+    @Test
+    final void testStability() {
+        SingleLinkedList<Pair> list = new SingleLinkedList<Pair>();
+        for (int i = 0; i < 20; i++) {
+            list.add(new Pair(i % 3, i));
+        }
+        new LinkedListMergeSort<Pair>().sort(list);
+        Pair previous = null;
+        for (Pair p : list) {
+            if (previous != null && previous.key == p.key)
+                assertTrue(previous.order < p.order);
+            previous = p;
+        }
+    }
+
+    @Test
+    final void testSortOtherLists() {
+        SortingAlgorithm<Integer> mergeSort = new LinkedListMergeSort<Integer>();
+        ArrayList<Integer> list = new ArrayList<Integer>(
+                Arrays.asList(8, -10, 10, 2, 8, 0));
+        SortingAlgorithmResult<Integer> res = mergeSort.sort(list);
+        assertSame(list, res.getL());
+        assertEquals(Arrays.asList(-10, 0, 2, 8, 8, 10), list);
+        assertTrue(res.getCountCompare() > 0);
+        ArrayList<Integer> withNull = new ArrayList<Integer>(
+                Arrays.asList(1, null));
+        assertThrows(NullPointerException.class,
+                () -> mergeSort.sort(withNull));
+    }
+
+    /*
+     * Elemento confrontato solo sulla chiave, per controllare la stabilità.
+     */
+    private static class Pair implements Comparable<Pair> {
+        private final int key;
+
+        private final int order;
+
+        Pair(int key, int order) {
+            this.key = key;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Pair o) {
+            return Integer.compare(this.key, o.key);
+        }
+    }
+
+}
@@ -0,0 +1,213 @@
+package it.unicam.cs.asdl2223.es8;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Coda concatenata singola che non accetta valori null e che può essere usata
+ * da più thread contemporaneamente senza lock, secondo l'algoritmo di Michael
+ * e Scott. È pensata per l'uso di {@link SingleLinkedList} come coda, con
+ * aggiunte in coda ({@code offer}/{@code add}) e prelievi dalla testa
+ * ({@code poll}), senza bisogno di racchiuderla in blocchi
+ * {@code synchronized}.
+ *
+ * Come {@link SingleLinkedList} mantiene un puntatore alla testa e uno alla
+ * coda, ma la testa punta sempre a un nodo sentinella il cui elemento è già
+ * stato prelevato (o non è mai esistito): il primo elemento della coda è nel
+ * nodo successivo. I puntatori {@code next}, {@code head} e {@code tail} sono
+ * aggiornati con compare-and-set; un thread che trova {@code tail} rimasto
+ * indietro lo fa avanzare prima di proseguire, per cui nessun thread resta
+ * bloccato da un altro.
+ *
+ * L'iteratore non è fail-fast ma debolmente consistente: non lancia mai
+ * {@code ConcurrentModificationException}, restituisce ogni elemento al più una
+ * volta e vede tutti gli elementi presenti alla sua creazione e non ancora
+ * prelevati, ma può vedere o non vedere quelli aggiunti dopo. L'operazione
+ * {@code remove()} dell'iteratore non è supportata. Il metodo {@code size()}
+ * conta gli elementi scorrendo la coda e costa O(n); con altri thread attivi
+ * il risultato può non corrispondere a nessuno stato effettivo della coda.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ * @param <E>
+ *                il tipo degli elementi della coda
+ */
+public class LockFreeLinkedQueue<E> extends AbstractQueue<E> {
+
+    private final AtomicReference<Node<E>> head;
+
+    private final AtomicReference<Node<E>> tail;
+
+    /**
+     * Crea una coda vuota.
+     */
+    public LockFreeLinkedQueue() {
+        Node<E> sentinel = new Node<>(null);
+        this.head = new AtomicReference<>(sentinel);
+        this.tail = new AtomicReference<>(sentinel);
+    }
+
+    /*
+     * Nodo della coda. L'elemento è volatile perché viene messo a null, per
+     * non trattenerlo in memoria, quando il nodo diventa la sentinella.
+     */
+    private static class Node<E> {
+        private volatile E item;
+
+        private final AtomicReference<Node<E>> next;
+
+        Node(E item) {
+            this.item = item;
+            this.next = new AtomicReference<>(null);
+        }
+    }
+
+    /**
+     * Aggiunge un elemento in fondo alla coda. Non fallisce mai perché la coda
+     * non ha limiti di capacità.
+     *
+     * @param e
+     *              l'elemento da aggiungere
+     * @return true
+     * @throws NullPointerException
+     *                                  se l'elemento è null
+     */
+    @Override
+    public boolean offer(E e) {
+        if (e == null)
+            throw new NullPointerException("Elemento da aggiungere null");
+        Node<E> node = new Node<>(e);
+        while (true) {
+            Node<E> last = this.tail.get();
+            Node<E> next = last.next.get();
+            if (last != this.tail.get())
+                // tail è cambiato nel frattempo
+                continue;
+            if (next == null) {
+                // last è davvero l'ultimo nodo: provo ad agganciare il nuovo
+                if (last.next.compareAndSet(null, node)) {
+                    // se fallisce, un altro thread ha già spostato tail
+                    this.tail.compareAndSet(last, node);
+                    return true;
+                }
+            } else
+                // tail è rimasto indietro: lo aiuto ad avanzare
+                this.tail.compareAndSet(last, next);
+        }
+    }
+
+    /**
+     * Preleva e restituisce l'elemento in testa alla coda.
+     *
+     * @return l'elemento in testa, oppure null se la coda è vuota
+     */
+    @Override
+    public E poll() {
+        while (true) {
+            Node<E> first = this.head.get();
+            Node<E> last = this.tail.get();
+            Node<E> next = first.next.get();
+            if (first != this.head.get())
+                continue;
+            if (first == last) {
+                if (next == null)
+                    // coda vuota
+                    return null;
+                // tail è rimasto indietro: lo aiuto ad avanzare
+                this.tail.compareAndSet(last, next);
+            } else {
+                // l'elemento va letto prima del compare-and-set, dopo il quale
+                // un altro thread potrebbe azzerarlo
+                E item = next.item;
+                if (this.head.compareAndSet(first, next)) {
+                    // next è la nuova sentinella
+                    next.item = null;
+                    return item;
+                }
+            }
+        }
+    }
+
+    /**
+     * Restituisce l'elemento in testa alla coda senza prelevarlo.
+     *
+     * @return l'elemento in testa, oppure null se la coda è vuota
+     */
+    @Override
+    public E peek() {
+        while (true) {
+            Node<E> first = this.head.get();
+            Node<E> next = first.next.get();
+            if (next == null)
+                return null;
+            E item = next.item;
+            // se head non è cambiato, item non era ancora stato prelevato
+            if (first == this.head.get())
+                return item;
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.head.get().next.get() == null;
+    }
+
+    @Override
+    public int size() {
+        int count = 0;
+        for (E e : this)
+            count++;
+        return count;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /*
+     * Iteratore debolmente consistente: segue i puntatori next a partire dalla
+     * sentinella corrente e salta i nodi il cui elemento è già stato prelevato.
+     * L'elemento da restituire è letto in anticipo da hasNext, così non può
+     * sparire fra hasNext e next.
+     */
+    private class Itr implements Iterator<E> {
+
+        private Node<E> node;
+
+        private E nextItem;
+
+        private Itr() {
+            this.node = LockFreeLinkedQueue.this.head.get();
+            this.nextItem = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.nextItem == null) {
+                Node<E> first = LockFreeLinkedQueue.this.head.get();
+                // se sono rimasto indietro rispetto alla testa riparto da lì
+                Node<E> next = this.node.item == null && this.node != first
+                        ? first.next.get()
+                        : this.node.next.get();
+                if (next == null)
+                    return false;
+                this.node = next;
+                this.nextItem = next.item;
+            }
+            return true;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext())
+                throw new NoSuchElementException(
+                        "Richiesta di next quando hasNext è falso");
+            E item = this.nextItem;
+            this.nextItem = null;
+            return item;
+        }
+    }
+}
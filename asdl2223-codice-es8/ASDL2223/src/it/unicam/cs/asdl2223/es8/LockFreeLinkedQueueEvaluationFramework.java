@@ -0,0 +1,147 @@
+package it.unicam.cs.asdl2223.es8;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Misura una coda condivisa da più produttori e più consumatori. Per un numero
+ * crescente di coppie produttore/consumatore, ogni produttore aggiunge in coda
+ * lo stesso numero di elementi mentre i consumatori li prelevano dalla testa
+ * finché non li hanno prelevati tutti, prima usando una
+ * {@link SingleLinkedList} protetta da {@code synchronized} e poi una
+ * {@link LockFreeLinkedQueue}. Il tempo totale in nanosecondi e il throughput
+ * (elementi trasferiti al millisecondo) di ogni prova sono scritti su un file
+ * .csv (Comma Separated Values).
+ *
+ * Il main può essere chiamato con il nome della directory di destinazione del
+ * file come parametro di linea di comando. Se non è presente nessun parametro
+ * allora si assume la directory corrente.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ */
+public class LockFreeLinkedQueueEvaluationFramework {
+
+    /**
+     * Numero di elementi aggiunti da ogni produttore
+     */
+    public static final int ITEMS_PER_PRODUCER = 500000;
+
+    /**
+     * Numero di ripetizioni di ogni prova (la prima serve da riscaldamento)
+     */
+    public static final int NUMBER_OF_SAMPLES = 5;
+
+    /*
+     * Operazioni comuni alle due code da confrontare.
+     */
+    private interface Queue {
+        void add(Integer el);
+
+        Integer poll();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String dirName = null;
+        if (args.length > 0)
+            dirName = args[0];
+        else
+            dirName = ".";
+        PrintStream o = null;
+        try {
+            o = new PrintStream(new File(dirName + "/" + "queuecontention.csv"));
+        } catch (FileNotFoundException e) {
+            System.out.println("Errore creazione file di ouput" + dirName + "/"
+                    + "queuecontention.csv");
+            System.exit(1);
+        }
+        o.print("Producers,Consumers,Sample,SynchronizedTns,"
+                + "SynchronizedOpsPerMs,LockFreeTns,LockFreeOpsPerMs\n");
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        for (int t = 1; t <= maxThreads; t *= 2) {
+            for (int s = 0; s < NUMBER_OF_SAMPLES; s++) {
+                // Lista con lock unico
+                SingleLinkedList<Integer> list = new SingleLinkedList<Integer>();
+                Queue locked = new Queue() {
+                    public synchronized void add(Integer el) {
+                        list.add(el);
+                    }
+
+                    public synchronized Integer poll() {
+                        return list.isEmpty() ? null : list.remove(0);
+                    }
+                };
+                // Coda senza lock
+                LockFreeLinkedQueue<Integer> queue = new LockFreeLinkedQueue<Integer>();
+                Queue lockFree = new Queue() {
+                    public void add(Integer el) {
+                        queue.offer(el);
+                    }
+
+                    public Integer poll() {
+                        return queue.poll();
+                    }
+                };
+                long lockedTime = run(locked, t);
+                long lockFreeTime = run(lockFree, t);
+                long items = (long) t * ITEMS_PER_PRODUCER;
+                o.print(t + "," + t + "," + s + "," + lockedTime + ","
+                        + (items * 1000000 / lockedTime) + "," + lockFreeTime
+                        + "," + (items * 1000000 / lockFreeTime) + "\n");
+                System.out.println("Completata prova con " + t
+                        + " produttori e consumatori, campione " + s);
+            }
+        }
+        o.close();
+    } // end main
+
+    /*
+     * Restituisce il tempo in nanosecondi impiegato da n produttori e n
+     * consumatori per trasferire n * ITEMS_PER_PRODUCER elementi.
+     */
+    private static long run(Queue q, int n) throws InterruptedException {
+        int total = n * ITEMS_PER_PRODUCER;
+        AtomicInteger consumed = new AtomicInteger(0);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch end = new CountDownLatch(2 * n);
+        for (int i = 0; i < n; i++) {
+            new Thread(() -> {
+                if (!await(start))
+                    return;
+                for (int j = 0; j < ITEMS_PER_PRODUCER; j++) {
+                    q.add(j);
+                }
+                end.countDown();
+            }).start();
+            new Thread(() -> {
+                if (!await(start))
+                    return;
+                while (consumed.get() < total) {
+                    if (q.poll() != null)
+                        consumed.incrementAndGet();
+                    else
+                        Thread.onSpinWait();
+                }
+                end.countDown();
+            }).start();
+        }
+        long startTimeNano = System.nanoTime();
+        start.countDown();
+        end.await();
+        return System.nanoTime() - startTimeNano;
+    }
+
+    private static boolean await(CountDownLatch start) {
+        try {
+            start.await();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+package it.unicam.cs.asdl2223.es8;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+
+class LockFreeLinkedQueueTest {
+
+    @Test
+    final void testOfferPoll() {
+        LockFreeLinkedQueue<Integer> q = new LockFreeLinkedQueue<>();
+        assertTrue(q.isEmpty());
+        assertNull(q.poll());
+        assertNull(q.peek());
+        assertThrows(NullPointerException.class, () -> q.offer(null));
+        assertThrows(NoSuchElementException.class, () -> q.remove());
+        for (int i = 0; i < 5; i++) {
+            assertTrue(q.offer(i));
+        }
+        assertEquals(5, q.size());
+        assertEquals(0, q.peek());
+        assertEquals(0, q.poll());
+        assertEquals(1, q.poll());
+        q.add(5);
+        assertEquals(Arrays.asList(2, 3, 4, 5), new ArrayList<>(q));
+        assertEquals(2, q.remove());
+        assertEquals(3, q.element());
+        q.clear();
+        assertTrue(q.isEmpty());
+        assertEquals(0, q.size());
+    }
+
+    @Test
+    final void testIterator() {
+        LockFreeLinkedQueue<Integer> q = new LockFreeLinkedQueue<>();
+        assertThrows(NoSuchElementException.class, () -> q.iterator().next());
+        for (int i = 0; i < 4; i++) {
+            q.offer(i);
+        }
+        Iterator<Integer> itr = q.iterator();
+        assertEquals(0, itr.next());
+        // le modifiche non invalidano l'iteratore
+        q.poll();
+        q.poll();
+        q.poll();
+        q.offer(4);
+        List<Integer> rest = new ArrayList<>();
+        itr.forEachRemaining(rest::add);
+        assertEquals(Arrays.asList(3, 4), rest);
+        assertThrows(UnsupportedOperationException.class,
+                () -> q.iterator().remove());
+    }
+
+    @Test
+    final void testProducersConsumers() throws InterruptedException {
+        LockFreeLinkedQueue<Integer> q = new LockFreeLinkedQueue<>();
+        int producers = 4;
+        int perProducer = 50000;
+        int total = producers * perProducer;
+        AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        AtomicInteger consumed = new AtomicInteger(0);
+        AtomicInteger outOfOrder = new AtomicInteger(0);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    q.offer(base + i);
+                }
+            }));
+        }
+        for (int c = 0; c < 4; c++) {
+            threads.add(new Thread(() -> {
+                // gli elementi di uno stesso produttore escono in ordine
+                int[] last = new int[producers];
+                Arrays.fill(last, -1);
+                while (consumed.get() < total) {
+                    Integer x = q.poll();
+                    if (x == null)
+                        continue;
+                    seen.incrementAndGet(x);
+                    consumed.incrementAndGet();
+                    int p = x / perProducer;
+                    if (x <= last[p])
+                        outOfOrder.incrementAndGet();
+                    last[p] = x;
+                }
+            }));
+        }
+        for (Thread t : threads)
+            t.start();
+        for (Thread t : threads)
+            t.join();
+        assertEquals(0, outOfOrder.get());
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, seen.get(i));
+        }
+        assertTrue(q.isEmpty());
+    }
+
+}
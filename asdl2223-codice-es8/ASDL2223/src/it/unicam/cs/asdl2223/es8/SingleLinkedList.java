@@ -1,32 +1,36 @@
 package it.unicam.cs.asdl2223.es8;
 
+import java.util.AbstractList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.ConcurrentModificationException;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
  * Lista concatenata singola che non accetta valori null, ma permette elementi
- * duplicati. Le seguenti operazioni non sono supportate:
+ * duplicati. L'operazione {@code T[] toArray(T[] a)} non è supportata.
  * 
- * <ul>
- * <li>ListIterator<E> listIterator()</li>
- * <li>ListIterator<E> listIterator(int index)</li>
- * <li>List<E> subList(int fromIndex, int toIndex)</li>
- * <li>T[] toArray(T[] a)</li>
- * <li>boolean containsAll(Collection<?> c)</li>
- * <li>addAll(Collection<? extends E> c)</li>
- * <li>boolean addAll(int index, Collection<? extends E> c)</li>
- * <li>boolean removeAll(Collection<?> c)</li>
- * <li>boolean retainAll(Collection<?> c)</li>
- * </ul>
+ * Il {@code ListIterator} restituito da {@code listIterator()} è un cursore
+ * sulla catena di nodi: {@code next()}, {@code set}, {@code add} e
+ * {@code remove} costano O(1), per cui una lista può essere modificata sul
+ * posto in tempo lineare con una sola passata. Essendo la lista concatenata in
+ * un solo verso, {@code previous()} deve ritrovare il nodo precedente
+ * ripartendo dalla testa e costa O(i). Anche {@code subList}, che restituisce
+ * una vista sulla lista, e le operazioni di massa {@code addAll},
+ * {@code containsAll}, {@code removeAll} e {@code retainAll} fanno una sola
+ * passata sulla lista.
  * 
  * L'iteratore restituito dal metodo {@code Iterator<E> iterator()} è fail-fast,
  * cioè se c'è una modifica strutturale alla lista durante l'uso dell'iteratore
  * allora lancia una {@code ConcurrentMopdificationException} appena possibile,
- * cioè alla prima chiamata del metodo {@code next()}.
+ * cioè alla prima chiamata del metodo {@code next()}. Lo stesso vale per il
+ * {@code ListIterator}, che però tiene conto delle modifiche fatte tramite i
+ * suoi metodi.
  * 
  * @author Luca Tesei
  *
@@ -250,6 +254,8 @@ public class SingleLinkedList<E> implements List<E> {
 
         if (o.equals(this.head.item)) {
             this.head = head.next;
+            if (this.head == null)
+                this.tail = null;
             this.size--;
             this.numeroModifiche++;
             return true;
@@ -259,9 +265,11 @@ public class SingleLinkedList<E> implements List<E> {
         Node<E> previous = this.head;
         Node<E> current = this.head.next;
 
-        while (!(current.next == null)) {
+        while (current != null) {
             if (o.equals(current.item)) {
                 previous.next = current.next;
+                if (current == this.tail)
+                    this.tail = previous;
                 this.size--;
                 this.numeroModifiche++;
                 return true;
@@ -314,7 +322,7 @@ public class SingleLinkedList<E> implements List<E> {
             int contPosition = 1;
             Node<E> current = this.head.next;
 
-            while (!(current.next == null)) {
+            while (current != null) {
                 if (index == contPosition) {
                     selected = current.item;
                     current.item = element;
@@ -340,6 +348,8 @@ public class SingleLinkedList<E> implements List<E> {
         if (index == 0) {
             Node<E> former = this.head;
             this.head = new Node<>(element, former);
+            // in una lista vuota il nuovo nodo è anche l'ultimo
+            if (former == null) this.tail = this.head;
             this.size++;
             this.numeroModifiche++;
         } else {
@@ -379,6 +389,8 @@ public class SingleLinkedList<E> implements List<E> {
         if (index == 0) {
             Node<E> former = this.head;
             this.head = this.head.next;
+            if (this.head == null)
+                this.tail = null;
             this.size--;
             this.numeroModifiche++;
             return former.item;
@@ -392,6 +404,8 @@ public class SingleLinkedList<E> implements List<E> {
                 if (contPosition == index) {
                     selected = previous.next;
                     previous.next = current.next;
+                    if (current == this.tail)
+                        this.tail = previous;
                     this.size--;
                     this.numeroModifiche++;
                     return selected.item;
@@ -437,7 +451,7 @@ public class SingleLinkedList<E> implements List<E> {
 
     @Override
     public Object[] toArray() {
-        int contPosition = -1;
+        int contPosition = 0;
         if (this == null) return null;
         if (this.size == 0) return new Object[0];
         Object[] array = new Object[this.size];
@@ -452,19 +466,406 @@ public class SingleLinkedList<E> implements List<E> {
         return new Itr();
     }
 
+    /*
+     * Ordina la lista con un merge sort bottom-up che riaggancia i nodi
+     * esistenti: a ogni passata fonde coppie di sequenze consecutive di
+     * lunghezza width, raddoppiando width finché resta una sola sequenza. Non
+     * alloca nodi e usa memoria aggiuntiva costante; è stabile. Usato da
+     * LinkedListMergeSort, che passa il comparatore con cui conta i confronti.
+     */
+    void sortNodes(Comparator<? super E> c) {
+        if (this.size <= 1)
+            return;
+        for (int width = 1;; width *= 2) {
+            Node<E> p = this.head;
+            Node<E> last = null;
+            int merges = 0;
+            this.head = null;
+            while (p != null) {
+                merges++;
+                // la prima sequenza parte da p, la seconda da q
+                Node<E> q = p;
+                int pSize = 0;
+                while (pSize < width && q != null) {
+                    pSize++;
+                    q = q.next;
+                }
+                int qSize = width;
+                while (pSize > 0 || (qSize > 0 && q != null)) {
+                    Node<E> e;
+                    if (pSize == 0) {
+                        e = q;
+                        q = q.next;
+                        qSize--;
+                    } else if (qSize == 0 || q == null
+                            || c.compare(p.item, q.item) <= 0) {
+                        e = p;
+                        p = p.next;
+                        pSize--;
+                    } else {
+                        e = q;
+                        q = q.next;
+                        qSize--;
+                    }
+                    if (last == null)
+                        this.head = e;
+                    else
+                        last.next = e;
+                    last = e;
+                }
+                p = q;
+            }
+            last.next = null;
+            if (merges == 1) {
+                this.tail = last;
+                break;
+            }
+        }
+        this.numeroModifiche++;
+    }
+
     @Override
     public ListIterator<E> listIterator() {
-        throw new UnsupportedOperationException("Operazione non supportata.");
+        return new ListItr(0);
     }
 
     @Override
     public ListIterator<E> listIterator(int index) {
-        throw new UnsupportedOperationException("Operazione non supportata.");
+        if (index > this.size || index < 0)
+            throw new IndexOutOfBoundsException();
+        return new ListItr(index);
+    }
+
+    /*
+     * Cursore sulla catena di nodi. Il cursore sta fra il nodo prev e il nodo
+     * next; prevPrev è il nodo che precede prev ed è noto subito dopo una
+     * next(), l'unico momento in cui serve (per rimuovere prev).
+     */
+    private class ListItr implements ListIterator<E> {
+
+        private Node<E> prevPrev;
+
+        private Node<E> prev;
+
+        private Node<E> next;
+
+        private int nextIndex;
+
+        // ultimo nodo restituito da next() o previous(), null se non si può
+        // fare set o remove
+        private Node<E> lastReturned;
+
+        private boolean lastWasNext;
+
+        private int numeroModificheAtteso;
+
+        private ListItr(int index) {
+            this.prevPrev = null;
+            this.prev = null;
+            this.next = SingleLinkedList.this.head;
+            for (int i = 0; i < index; i++) {
+                this.prev = this.next;
+                this.next = this.next.next;
+            }
+            this.nextIndex = index;
+            this.lastReturned = null;
+            this.numeroModificheAtteso = SingleLinkedList.this.numeroModifiche;
+        }
+
+        private void checkForComodification() {
+            if (this.numeroModificheAtteso != SingleLinkedList.this.numeroModifiche)
+                throw new ConcurrentModificationException(
+                        "Lista modificata durante l'iterazione");
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (!hasNext())
+                throw new NoSuchElementException(
+                        "Richiesta di next quando hasNext è falso");
+            this.prevPrev = this.prev;
+            this.prev = this.next;
+            this.next = this.next.next;
+            this.nextIndex++;
+            this.lastReturned = this.prev;
+            this.lastWasNext = true;
+            return this.prev.item;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return this.nextIndex > 0;
+        }
+
+        @Override
+        public E previous() {
+            checkForComodification();
+            if (!hasPrevious())
+                throw new NoSuchElementException(
+                        "Richiesta di previous quando hasPrevious è falso");
+            // cerco il nodo che precede prev ripartendo dalla testa
+            Node<E> before = null;
+            if (this.prev != SingleLinkedList.this.head) {
+                before = SingleLinkedList.this.head;
+                while (before.next != this.prev)
+                    before = before.next;
+            }
+            this.next = this.prev;
+            this.prev = before;
+            this.prevPrev = null;
+            this.nextIndex--;
+            this.lastReturned = this.next;
+            this.lastWasNext = false;
+            return this.next.item;
+        }
+
+        @Override
+        public int nextIndex() {
+            return this.nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return this.nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (this.lastReturned == null)
+                throw new IllegalStateException(
+                        "Remove senza un next o previous precedente");
+            if (this.lastWasNext) {
+                // tolgo prev, che è preceduto da prevPrev
+                unlink(this.prevPrev, this.prev);
+                this.prev = this.prevPrev;
+                this.nextIndex--;
+            } else {
+                // tolgo next, che è preceduto da prev
+                unlink(this.prev, this.next);
+                this.next = this.next.next;
+            }
+            this.lastReturned = null;
+            this.numeroModificheAtteso = SingleLinkedList.this.numeroModifiche;
+        }
+
+        @Override
+        public void set(E e) {
+            if (e == null)
+                throw new NullPointerException();
+            checkForComodification();
+            if (this.lastReturned == null)
+                throw new IllegalStateException(
+                        "Set senza un next o previous precedente");
+            this.lastReturned.item = e;
+        }
+
+        @Override
+        public void add(E e) {
+            if (e == null)
+                throw new NullPointerException();
+            checkForComodification();
+            Node<E> node = new Node<>(e, this.next);
+            if (this.prev == null)
+                SingleLinkedList.this.head = node;
+            else
+                this.prev.next = node;
+            if (this.next == null)
+                SingleLinkedList.this.tail = node;
+            this.prevPrev = this.prev;
+            this.prev = node;
+            this.nextIndex++;
+            this.lastReturned = null;
+            SingleLinkedList.this.size++;
+            SingleLinkedList.this.numeroModifiche++;
+            this.numeroModificheAtteso = SingleLinkedList.this.numeroModifiche;
+        }
     }
 
+    /*
+     * Toglie dalla catena il nodo node, che è preceduto da previous (null se
+     * node è la testa).
+     */
+    private void unlink(Node<E> previous, Node<E> node) {
+        if (previous == null)
+            this.head = node.next;
+        else
+            previous.next = node.next;
+        if (node == this.tail)
+            this.tail = previous;
+        this.size--;
+        this.numeroModifiche++;
+    }
+
+    /*
+     * La sottolista è una vista sulla lista: le modifiche fatte tramite la
+     * sottolista sono visibili nella lista e viceversa. Dopo una modifica
+     * strutturale della lista fatta non tramite la sottolista, ogni uso della
+     * sottolista lancia ConcurrentModificationException.
+     */
     @Override
     public List<E> subList(int fromIndex, int toIndex) {
-        throw new UnsupportedOperationException("Operazione non supportata.");
+        if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException();
+        return new SubList(fromIndex, toIndex);
+    }
+
+    private class SubList extends AbstractList<E> {
+
+        private final int offset;
+
+        private int size;
+
+        private int numeroModificheAtteso;
+
+        private SubList(int fromIndex, int toIndex) {
+            this.offset = fromIndex;
+            this.size = toIndex - fromIndex;
+            this.numeroModificheAtteso = SingleLinkedList.this.numeroModifiche;
+        }
+
+        private void checkForComodification() {
+            if (this.numeroModificheAtteso != SingleLinkedList.this.numeroModifiche)
+                throw new ConcurrentModificationException(
+                        "Lista modificata fuori dalla sottolista");
+        }
+
+        private void checkIndex(int index, int bound) {
+            if (index < 0 || index >= bound)
+                throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return this.size;
+        }
+
+        @Override
+        public E get(int index) {
+            checkForComodification();
+            checkIndex(index, this.size);
+            return SingleLinkedList.this.get(this.offset + index);
+        }
+
+        @Override
+        public E set(int index, E element) {
+            checkForComodification();
+            checkIndex(index, this.size);
+            ListIterator<E> it = SingleLinkedList.this
+                    .listIterator(this.offset + index);
+            E old = it.next();
+            it.set(element);
+            return old;
+        }
+
+        @Override
+        public void add(int index, E element) {
+            checkForComodification();
+            checkIndex(index, this.size + 1);
+            SingleLinkedList.this.add(this.offset + index, element);
+            this.size++;
+            this.numeroModificheAtteso = SingleLinkedList.this.numeroModifiche;
+        }
+
+        @Override
+        public E remove(int index) {
+            checkForComodification();
+            checkIndex(index, this.size);
+            E old = SingleLinkedList.this.remove(this.offset + index);
+            this.size--;
+            this.numeroModificheAtteso = SingleLinkedList.this.numeroModifiche;
+            return old;
+        }
+
+        /*
+         * Usato da clear(): una sola passata con il cursore della lista
+         * invece di una remove(int) per ogni elemento.
+         */
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            ListIterator<E> it = listIterator(fromIndex);
+            for (int i = fromIndex; i < toIndex; i++) {
+                it.next();
+                it.remove();
+            }
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return listIterator(0);
+        }
+
+        @Override
+        public ListIterator<E> listIterator(int index) {
+            checkForComodification();
+            checkIndex(index, this.size + 1);
+            ListIterator<E> it = SingleLinkedList.this
+                    .listIterator(this.offset + index);
+            return new ListIterator<E>() {
+
+                @Override
+                public boolean hasNext() {
+                    return nextIndex() < SubList.this.size;
+                }
+
+                @Override
+                public E next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException(
+                                "Richiesta di next quando hasNext è falso");
+                    return it.next();
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return previousIndex() >= 0;
+                }
+
+                @Override
+                public E previous() {
+                    if (!hasPrevious())
+                        throw new NoSuchElementException(
+                                "Richiesta di previous quando hasPrevious è falso");
+                    return it.previous();
+                }
+
+                @Override
+                public int nextIndex() {
+                    return it.nextIndex() - SubList.this.offset;
+                }
+
+                @Override
+                public int previousIndex() {
+                    return it.previousIndex() - SubList.this.offset;
+                }
+
+                @Override
+                public void remove() {
+                    it.remove();
+                    SubList.this.size--;
+                    SubList.this.numeroModificheAtteso = SingleLinkedList.this.numeroModifiche;
+                }
+
+                @Override
+                public void set(E e) {
+                    it.set(e);
+                }
+
+                @Override
+                public void add(E e) {
+                    it.add(e);
+                    SubList.this.size++;
+                    SubList.this.numeroModificheAtteso = SingleLinkedList.this.numeroModifiche;
+                }
+            };
+        }
     }
 
     @Override
@@ -472,28 +873,110 @@ public class SingleLinkedList<E> implements List<E> {
         throw new UnsupportedOperationException("Operazione non supportata.");
     }
 
+    /*
+     * Gli elementi della lista vengono messi in un HashSet, così ogni elemento
+     * di c si controlla in tempo costante.
+     */
     @Override
     public boolean containsAll(Collection<?> c) {
-        throw new UnsupportedOperationException("Operazione non supportata.");
+        Set<E> elements = new HashSet<>(this);
+        for (Object o : c) {
+            if (o == null)
+                throw new NullPointerException();
+            if (!elements.contains(o))
+                return false;
+        }
+        return true;
     }
 
     @Override
     public boolean addAll(Collection<? extends E> c) {
-        throw new UnsupportedOperationException("Operazione non supportata.");
+        return addAll(this.size, c);
     }
 
+    /*
+     * Crea la catena dei nuovi nodi e la aggancia dopo il nodo in posizione
+     * index - 1 con un solo scorrimento della lista. Gli elementi di c sono
+     * copiati prima di modificare la lista, così anche list.addAll(list)
+     * funziona.
+     */
     @Override
     public boolean addAll(int index, Collection<? extends E> c) {
-        throw new UnsupportedOperationException("Operazione non supportata.");
+        if (index > this.size || index < 0)
+            throw new IndexOutOfBoundsException();
+        Object[] elements = c.toArray();
+        if (elements.length == 0)
+            return false;
+        Node<E> first = null;
+        Node<E> last = null;
+        for (Object o : elements) {
+            if (o == null)
+                throw new NullPointerException();
+            @SuppressWarnings("unchecked")
+            Node<E> node = new Node<>((E) o, null);
+            if (first == null)
+                first = node;
+            else
+                last.next = node;
+            last = node;
+        }
+        if (index == 0) {
+            last.next = this.head;
+            this.head = first;
+        } else {
+            Node<E> previous = this.tail;
+            if (index < this.size) {
+                previous = this.head;
+                for (int i = 1; i < index; i++)
+                    previous = previous.next;
+            }
+            last.next = previous.next;
+            previous.next = first;
+        }
+        if (last.next == null)
+            this.tail = last;
+        this.size += elements.length;
+        this.numeroModifiche++;
+        return true;
     }
 
     @Override
     public boolean removeAll(Collection<?> c) {
-        throw new UnsupportedOperationException("Operazione non supportata.");
+        return removeMatching(asSet(c), true);
     }
 
     @Override
     public boolean retainAll(Collection<?> c) {
-        throw new UnsupportedOperationException("Operazione non supportata.");
+        return removeMatching(asSet(c), false);
+    }
+
+    /*
+     * Restituisce c stessa se è un Set, altrimenti un HashSet con gli stessi
+     * elementi, per avere contains in tempo costante.
+     */
+    private static Collection<?> asSet(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException();
+        return c instanceof Set ? c : new HashSet<Object>(c);
+    }
+
+    /*
+     * Toglie in una sola passata tutti gli elementi per cui
+     * c.contains(elemento) vale inContainer.
+     */
+    private boolean removeMatching(Collection<?> c, boolean inContainer) {
+        boolean modified = false;
+        Node<E> previous = null;
+        Node<E> current = this.head;
+        while (current != null) {
+            Node<E> following = current.next;
+            if (c.contains(current.item) == inContainer) {
+                unlink(previous, current);
+                modified = true;
+            } else
+                previous = current;
+            current = following;
+        }
+        return modified;
     }
 }
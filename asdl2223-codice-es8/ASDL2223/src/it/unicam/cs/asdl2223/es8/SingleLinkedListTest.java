@@ -2,8 +2,12 @@ package it.unicam.cs.asdl2223.es8;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
 
 import org.junit.jupiter.api.Test;
@@ -337,6 +341,28 @@ class SingleLinkedListTest {
         assertEquals(2, sLL.get(6));
     }
 
+    @Test
+    final void testAddAtIndexOnEmptyList() {
+        SingleLinkedList<Integer> sLL = new SingleLinkedList<>();
+        sLL.add(0, 1);
+        sLL.add(2);
+        assertArrayEquals(new Object[] { 1, 2 }, sLL.toArray());
+        SingleLinkedList<Integer> sLL2 = new SingleLinkedList<>();
+        sLL2.subList(0, 0).add(1);
+        sLL2.add(2);
+        assertArrayEquals(new Object[] { 1, 2 }, sLL2.toArray());
+        // svuotata con l'iteratore e poi riempita
+        ListIterator<Integer> itr = sLL2.listIterator();
+        itr.next();
+        itr.remove();
+        itr.next();
+        itr.remove();
+        assertTrue(sLL2.isEmpty());
+        sLL2.add(0, 3);
+        sLL2.add(4);
+        assertArrayEquals(new Object[] { 3, 4 }, sLL2.toArray());
+    }
+
     @Test
     final void testIndexes() {
         SingleLinkedList<Integer> sLL = new SingleLinkedList<>();
@@ -351,4 +377,115 @@ class SingleLinkedListTest {
         assertEquals(-1, sLL.indexOf(23));
         assertEquals(-1, sLL.lastIndexOf(23));
     }
+
+    @Test
+    final void testRemoveLast() {
+        SingleLinkedList<Integer> sLL = new SingleLinkedList<>();
+        sLL.add(0);
+        sLL.add(1);
+        sLL.add(2);
+        assertEquals(2, sLL.set(2, 3));
+        assertTrue(sLL.remove((Integer) 3));
+        sLL.add(4);
+        assertEquals(4, sLL.remove(2));
+        sLL.add(5);
+        assertArrayEquals(new Object[] { 0, 1, 5 }, sLL.toArray());
+    }
+
+    @Test
+    final void testListIterator() {
+        SingleLinkedList<Integer> sLL = new SingleLinkedList<>();
+        for (int i = 0; i < 6; i++) {
+            sLL.add(i);
+        }
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> sLL.listIterator(7));
+        ListIterator<Integer> itr = sLL.listIterator();
+        assertThrows(IllegalStateException.class, () -> itr.remove());
+        assertFalse(itr.hasPrevious());
+        // tolgo i pari, raddoppio i multipli di 3, inserisco 10 dopo l'1
+        while (itr.hasNext()) {
+            int x = itr.next();
+            if (x % 2 == 0)
+                itr.remove();
+            else if (x % 3 == 0)
+                itr.set(x * 2);
+            else
+                itr.add(10);
+        }
+        assertArrayEquals(new Object[] { 1, 10, 6, 5, 10 }, sLL.toArray());
+        assertEquals(5, itr.nextIndex());
+        assertEquals(10, itr.previous());
+        assertEquals(5, itr.previous());
+        itr.remove();
+        assertEquals(3, itr.nextIndex());
+        assertEquals(6, itr.previous());
+        itr.set(3);
+        assertEquals(3, itr.next());
+        assertEquals(10, itr.next());
+        itr.remove();
+        assertFalse(itr.hasNext());
+        sLL.add(7);
+        assertArrayEquals(new Object[] { 1, 10, 3, 7 }, sLL.toArray());
+        assertThrows(ConcurrentModificationException.class,
+                () -> itr.previous());
+        ListIterator<Integer> itr2 = sLL.listIterator(2);
+        assertEquals(10, itr2.previous());
+        itr2.add(2);
+        assertEquals(10, itr2.next());
+        assertArrayEquals(new Object[] { 1, 2, 10, 3, 7 }, sLL.toArray());
+    }
+
+    @Test
+    final void testSubList() {
+        SingleLinkedList<Integer> sLL = new SingleLinkedList<>();
+        for (int i = 0; i < 8; i++) {
+            sLL.add(i);
+        }
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> sLL.subList(3, 9));
+        List<Integer> sub = sLL.subList(2, 6);
+        assertEquals(Arrays.asList(2, 3, 4, 5), sub);
+        assertEquals(4, sub.set(2, 40));
+        sub.add(1, 25);
+        assertEquals(3, sub.remove(2));
+        assertEquals(Arrays.asList(2, 25, 40, 5), sub);
+        assertArrayEquals(new Object[] { 0, 1, 2, 25, 40, 5, 6, 7 },
+                sLL.toArray());
+        sub.clear();
+        assertTrue(sub.isEmpty());
+        assertArrayEquals(new Object[] { 0, 1, 6, 7 }, sLL.toArray());
+        sLL.subList(2, 4).clear();
+        sLL.add(8);
+        assertArrayEquals(new Object[] { 0, 1, 8 }, sLL.toArray());
+        assertThrows(ConcurrentModificationException.class, () -> sub.size());
+    }
+
+    @Test
+    final void testBulkOperations() {
+        SingleLinkedList<Integer> sLL = new SingleLinkedList<>();
+        assertFalse(sLL.addAll(new ArrayList<Integer>()));
+        assertTrue(sLL.addAll(Arrays.asList(1, 2, 3)));
+        assertTrue(sLL.addAll(sLL));
+        assertTrue(sLL.addAll(0, Arrays.asList(0)));
+        assertTrue(sLL.addAll(4, Arrays.asList(9, 9)));
+        assertArrayEquals(new Object[] { 0, 1, 2, 3, 9, 9, 1, 2, 3 },
+                sLL.toArray());
+        assertThrows(NullPointerException.class,
+                () -> sLL.addAll(Arrays.asList(4, null)));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> sLL.addAll(10, Arrays.asList(4)));
+        assertTrue(sLL.containsAll(Arrays.asList(9, 0, 3)));
+        assertFalse(sLL.containsAll(Arrays.asList(9, 4)));
+        assertTrue(sLL.removeAll(Arrays.asList(3, 0, 4)));
+        assertFalse(sLL.removeAll(Arrays.asList(4)));
+        assertArrayEquals(new Object[] { 1, 2, 9, 9, 1, 2 }, sLL.toArray());
+        assertTrue(sLL.retainAll(Arrays.asList(1, 2)));
+        sLL.add(5);
+        assertArrayEquals(new Object[] { 1, 2, 1, 2, 5 }, sLL.toArray());
+        assertTrue(sLL.retainAll(Arrays.asList(7)));
+        assertTrue(sLL.isEmpty());
+        sLL.add(6);
+        assertEquals(6, sLL.get(0));
+    }
 }
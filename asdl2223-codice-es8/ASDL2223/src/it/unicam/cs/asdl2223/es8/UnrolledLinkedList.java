@@ -0,0 +1,968 @@
+package it.unicam.cs.asdl2223.es8;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Lista concatenata "srotolata" (unrolled linked list) che non accetta valori
+ * null, ma permette elementi duplicati. Ha lo stesso comportamento di
+ * {@link SingleLinkedList}, ma ogni nodo contiene un array di al più
+ * {@code B} elementi consecutivi (di default {@link #DEFAULT_NODE_CAPACITY})
+ * insieme al numero di elementi effettivamente presenti.
+ *
+ * Per raggiungere l'elemento di posizione {@code i} si saltano nodi interi
+ * usando i loro contatori, per cui {@code get}, {@code set}, {@code add} e
+ * {@code remove} con indice costano O(n/B) invece di O(n), e le scansioni
+ * leggono elementi contigui in memoria. L'aggiunta in coda costa O(1)
+ * ammortizzato; un accesso all'ultimo nodo costa O(1).
+ *
+ * Un nodo pieno in cui si deve inserire viene diviso in due nodi pieni a metà;
+ * un nodo che dopo una rimozione scende sotto metà capacità viene fuso con il
+ * successivo se i due elementi ci stanno in un solo nodo.
+ *
+ * Il {@code ListIterator} è un cursore formato da un nodo e da una posizione
+ * nel suo array: {@code next()}, {@code set}, {@code add} e {@code remove}
+ * costano O(1) a parte lo spostamento di elementi dentro un nodo, mentre
+ * {@code previous()}, quando passa al nodo precedente, deve ritrovarlo
+ * ripartendo dalla testa e costa O(n/B). {@code subList} restituisce una vista
+ * sulla lista. Le operazioni di massa {@code addAll}, {@code removeAll} e
+ * {@code retainAll} fanno una sola passata sulla lista e lasciano pieni i nodi
+ * che creano o compattano.
+ *
+ * L'iteratore restituito dal metodo {@code Iterator<E> iterator()} e il
+ * {@code ListIterator} sono fail-fast come quelli di {@link SingleLinkedList}.
+ *
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ *
+ * @param <E>
+ *                il tipo degli elementi della lista
+ */
+public class UnrolledLinkedList<E> implements List<E> {
+
+    /**
+     * Numero massimo di elementi in un nodo se non specificato
+     */
+    public static final int DEFAULT_NODE_CAPACITY = 64;
+
+    private final int nodeCapacity;
+
+    private int size;
+
+    private Node head;
+
+    private Node tail;
+
+    private int numeroModifiche;
+
+    /**
+     * Crea una lista vuota con nodi di capacità
+     * {@link #DEFAULT_NODE_CAPACITY}.
+     */
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Crea una lista vuota con nodi di una capacità data.
+     *
+     * @param nodeCapacity
+     *                         il numero massimo di elementi in un nodo
+     * @throws IllegalArgumentException
+     *                                      se la capacità è minore di 2
+     */
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 2)
+            throw new IllegalArgumentException(
+                    "Capacità dei nodi minore di 2: " + nodeCapacity);
+        this.nodeCapacity = nodeCapacity;
+        this.size = 0;
+        this.head = null;
+        this.tail = null;
+        this.numeroModifiche = 0;
+    }
+
+    /**
+     * Restituisce il numero massimo di elementi in un nodo di questa lista.
+     *
+     * @return la capacità dei nodi
+     */
+    public int getNodeCapacity() {
+        return this.nodeCapacity;
+    }
+
+    /*
+     * Nodo con un array di elementi di cui sono occupate le prime count
+     * posizioni. Non è static perché usa la capacità della lista.
+     */
+    private class Node {
+        private final Object[] items;
+
+        private int count;
+
+        private Node next;
+
+        Node(Node next) {
+            this.items = new Object[UnrolledLinkedList.this.nodeCapacity];
+            this.count = 0;
+            this.next = next;
+        }
+
+        @SuppressWarnings("unchecked")
+        E item(int i) {
+            return (E) this.items[i];
+        }
+
+        /*
+         * Inserisce e in posizione i spostando a destra gli elementi
+         * successivi; il nodo non deve essere pieno.
+         */
+        void insert(int i, E e) {
+            System.arraycopy(this.items, i, this.items, i + 1,
+                    this.count - i);
+            this.items[i] = e;
+            this.count++;
+        }
+
+        /*
+         * Rimuove l'elemento in posizione i spostando a sinistra i successivi.
+         */
+        E delete(int i) {
+            E old = item(i);
+            System.arraycopy(this.items, i + 1, this.items, i,
+                    this.count - i - 1);
+            this.items[--this.count] = null;
+            return old;
+        }
+    }
+
+    /*
+     * Iteratore fail-fast che scorre l'array di un nodo alla volta.
+     */
+    private class Itr implements Iterator<E> {
+
+        private Node node;
+
+        private int offset;
+
+        private int numeroModificheAtteso;
+
+        private Itr() {
+            this.node = UnrolledLinkedList.this.head;
+            this.offset = 0;
+            this.numeroModificheAtteso = UnrolledLinkedList.this.numeroModifiche;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.node != null;
+        }
+
+        @Override
+        public E next() {
+            // controllo concorrenza
+            if (this.numeroModificheAtteso != UnrolledLinkedList.this.numeroModifiche)
+                throw new ConcurrentModificationException(
+                        "Lista modificata durante l'iterazione");
+            if (!hasNext())
+                throw new NoSuchElementException(
+                        "Richiesta di next quando hasNext è falso");
+            E e = this.node.item(this.offset++);
+            if (this.offset == this.node.count) {
+                this.node = this.node.next;
+                this.offset = 0;
+            }
+            return e;
+        }
+    }
+
+    /*
+     * Due liste srotolate sono uguali se contengono gli stessi elementi nello
+     * stesso ordine, indipendentemente da come sono divisi fra i nodi.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null)
+            return false;
+        if (this == obj)
+            return true;
+        if (!(obj instanceof UnrolledLinkedList))
+            return false;
+        UnrolledLinkedList<?> other = (UnrolledLinkedList<?>) obj;
+        if (this.size != other.size)
+            return false;
+        Iterator<E> thisIterator = this.iterator();
+        Iterator<?> otherIterator = other.iterator();
+        while (thisIterator.hasNext())
+            if (!thisIterator.next().equals(otherIterator.next()))
+                return false;
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (E e : this)
+            hashCode = 31 * hashCode + e.hashCode();
+        return hashCode;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) != -1;
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (e == null)
+            throw new NullPointerException("Elemento da aggiungere null");
+        if (this.tail == null) {
+            this.head = new Node(null);
+            this.tail = this.head;
+        } else if (this.tail.count == this.nodeCapacity) {
+            // l'ultimo nodo è pieno: ne apro uno nuovo invece di dividerlo,
+            // così una sequenza di aggiunte in coda riempie i nodi
+            this.tail.next = new Node(null);
+            this.tail = this.tail.next;
+        }
+        this.tail.items[this.tail.count++] = e;
+        this.size++;
+        this.numeroModifiche++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null)
+            throw new NullPointerException("Elemento da rimuovere null");
+        Node previous = null;
+        for (Node n = this.head; n != null; previous = n, n = n.next)
+            for (int i = 0; i < n.count; i++)
+                if (o.equals(n.items[i])) {
+                    removeAt(previous, n, i);
+                    return true;
+                }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        this.head = null;
+        this.tail = null;
+        this.size = 0;
+        this.numeroModifiche++;
+    }
+
+    @Override
+    public E get(int index) {
+        checkIndex(index, this.size);
+        Node n = this.head;
+        if (index >= this.size - this.tail.count) {
+            // accesso all'ultimo nodo in tempo costante
+            n = this.tail;
+            index -= this.size - this.tail.count;
+        } else
+            while (index >= n.count) {
+                index -= n.count;
+                n = n.next;
+            }
+        return n.item(index);
+    }
+
+    @Override
+    public E set(int index, E element) {
+        if (element == null)
+            throw new NullPointerException("Elemento da inserire null");
+        checkIndex(index, this.size);
+        Node n = this.head;
+        if (index >= this.size - this.tail.count) {
+            n = this.tail;
+            index -= this.size - this.tail.count;
+        } else
+            while (index >= n.count) {
+                index -= n.count;
+                n = n.next;
+            }
+        E old = n.item(index);
+        n.items[index] = element;
+        return old;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (element == null)
+            throw new NullPointerException("Elemento da inserire null");
+        checkIndex(index, this.size + 1);
+        if (index == this.size) {
+            add(element);
+            return;
+        }
+        // cerco il nodo che contiene la posizione index
+        Node n = this.head;
+        while (index >= n.count) {
+            index -= n.count;
+            n = n.next;
+        }
+        insertAt(n, index, element);
+    }
+
+    /*
+     * Inserisce e in posizione i del nodo n; se n è pieno prima sposta la sua
+     * metà superiore in un nuovo nodo. Restituisce il nodo in cui è stato
+     * inserito e, che è n oppure il nuovo nodo.
+     */
+    private Node insertAt(Node n, int i, E e) {
+        if (n.count == this.nodeCapacity) {
+            // nodo pieno: sposto la metà superiore in un nuovo nodo
+            Node split = new Node(n.next);
+            int half = this.nodeCapacity / 2;
+            split.count = n.count - half;
+            System.arraycopy(n.items, half, split.items, 0, split.count);
+            Arrays.fill(n.items, half, n.count, null);
+            n.count = half;
+            n.next = split;
+            if (this.tail == n)
+                this.tail = split;
+            if (i > half) {
+                n = split;
+                i -= half;
+            }
+        }
+        n.insert(i, e);
+        this.size++;
+        this.numeroModifiche++;
+        return n;
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index, this.size);
+        Node previous = null;
+        Node n = this.head;
+        while (index >= n.count) {
+            index -= n.count;
+            previous = n;
+            n = n.next;
+        }
+        return removeAt(previous, n, index);
+    }
+
+    /*
+     * Rimuove l'elemento in posizione i del nodo n, che segue il nodo previous
+     * (null se n è il primo), eliminando o fondendo nodi se necessario.
+     */
+    private E removeAt(Node previous, Node n, int i) {
+        E old = n.delete(i);
+        if (n.count == 0) {
+            // nodo vuoto: lo tolgo dalla catena
+            if (previous == null)
+                this.head = n.next;
+            else
+                previous.next = n.next;
+            if (this.tail == n)
+                this.tail = previous;
+        } else if (n.count < this.nodeCapacity / 2 && n.next != null
+                && n.count + n.next.count <= this.nodeCapacity) {
+            // nodo sotto metà capacità: fondo il successivo in questo
+            Node next = n.next;
+            System.arraycopy(next.items, 0, n.items, n.count, next.count);
+            n.count += next.count;
+            n.next = next.next;
+            if (this.tail == next)
+                this.tail = n;
+        }
+        this.size--;
+        this.numeroModifiche++;
+        return old;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (o == null)
+            throw new NullPointerException("Elemento da cercare null");
+        int start = 0;
+        for (Node n = this.head; n != null; n = n.next) {
+            for (int i = 0; i < n.count; i++)
+                if (o.equals(n.items[i]))
+                    return start + i;
+            start += n.count;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (o == null)
+            throw new NullPointerException("Elemento da cercare null");
+        int start = 0;
+        int highestIndex = -1;
+        for (Node n = this.head; n != null; n = n.next) {
+            for (int i = 0; i < n.count; i++)
+                if (o.equals(n.items[i]))
+                    highestIndex = start + i;
+            start += n.count;
+        }
+        return highestIndex;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[this.size];
+        int start = 0;
+        for (Node n = this.head; n != null; n = n.next) {
+            System.arraycopy(n.items, 0, array, start, n.count);
+            start += n.count;
+        }
+        return array;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /*
+     * Controlla che 0 <= index < bound.
+     */
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException(
+                    "Indice fuori dai limiti: " + index);
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return new ListItr(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        checkIndex(index, this.size + 1);
+        return new ListItr(index);
+    }
+
+    /*
+     * Restituisce il nodo che precede n, null se n è la testa.
+     */
+    private Node predecessorOf(Node n) {
+        if (n == this.head)
+            return null;
+        Node before = this.head;
+        while (before.next != n)
+            before = before.next;
+        return before;
+    }
+
+    /*
+     * Cursore formato dal nodo node e dalla posizione offset nel suo array: il
+     * prossimo elemento è node.items[offset], oppure il primo del nodo
+     * successivo se offset == node.count. Alla fine della lista node può
+     * essere null. pred è il nodo che precede node (l'ultimo nodo se node è
+     * null) e serve per togliere node dalla catena.
+     */
+    private class ListItr implements ListIterator<E> {
+
+        private Node pred;
+
+        private Node node;
+
+        private int offset;
+
+        private int nextIndex;
+
+        // posizione in node dell'ultimo elemento restituito da next() o
+        // previous(), -1 se non si può fare set o remove
+        private int lastOffset;
+
+        private int numeroModificheAtteso;
+
+        private ListItr(int index) {
+            this.pred = null;
+            this.node = UnrolledLinkedList.this.head;
+            this.offset = index;
+            while (this.node != null && this.offset >= this.node.count) {
+                this.offset -= this.node.count;
+                this.pred = this.node;
+                this.node = this.node.next;
+            }
+            this.nextIndex = index;
+            this.lastOffset = -1;
+            this.numeroModificheAtteso = UnrolledLinkedList.this.numeroModifiche;
+        }
+
+        private void checkForComodification() {
+            if (this.numeroModificheAtteso != UnrolledLinkedList.this.numeroModifiche)
+                throw new ConcurrentModificationException(
+                        "Lista modificata durante l'iterazione");
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.nextIndex < UnrolledLinkedList.this.size;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (!hasNext())
+                throw new NoSuchElementException(
+                        "Richiesta di next quando hasNext è falso");
+            if (this.offset == this.node.count) {
+                this.pred = this.node;
+                this.node = this.node.next;
+                this.offset = 0;
+            }
+            this.lastOffset = this.offset;
+            this.nextIndex++;
+            return this.node.item(this.offset++);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return this.nextIndex > 0;
+        }
+
+        @Override
+        public E previous() {
+            checkForComodification();
+            if (!hasPrevious())
+                throw new NoSuchElementException(
+                        "Richiesta di previous quando hasPrevious è falso");
+            if (this.node == null || this.offset == 0) {
+                // passo al nodo precedente, ritrovando il suo predecessore
+                this.node = this.pred;
+                this.pred = predecessorOf(this.node);
+                this.offset = this.node.count;
+            }
+            this.lastOffset = --this.offset;
+            this.nextIndex--;
+            return this.node.item(this.offset);
+        }
+
+        @Override
+        public int nextIndex() {
+            return this.nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return this.nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (this.lastOffset == -1)
+                throw new IllegalStateException(
+                        "Remove senza un next o previous precedente");
+            // dopo next() il cursore sta subito dopo l'elemento tolto
+            if (this.offset > this.lastOffset)
+                this.nextIndex--;
+            this.offset = this.lastOffset;
+            removeAt(this.pred, this.node, this.lastOffset);
+            // un nodo svuotato è stato tolto dalla catena, ma punta ancora al
+            // successivo; in caso di fusione il nodo resta lo stesso
+            if (this.node.count == 0) {
+                this.node = this.node.next;
+                this.offset = 0;
+            }
+            this.lastOffset = -1;
+            this.numeroModificheAtteso = UnrolledLinkedList.this.numeroModifiche;
+        }
+
+        @Override
+        public void set(E e) {
+            if (e == null)
+                throw new NullPointerException("Elemento da inserire null");
+            checkForComodification();
+            if (this.lastOffset == -1)
+                throw new IllegalStateException(
+                        "Set senza un next o previous precedente");
+            this.node.items[this.lastOffset] = e;
+        }
+
+        @Override
+        public void add(E e) {
+            if (e == null)
+                throw new NullPointerException("Elemento da inserire null");
+            checkForComodification();
+            if (this.node == null) {
+                // in fondo alla lista: aggiungo in coda e resto alla fine
+                UnrolledLinkedList.this.add(e);
+                this.pred = UnrolledLinkedList.this.tail;
+            } else {
+                Node target = insertAt(this.node, this.offset, e);
+                if (target != this.node) {
+                    // il nodo è stato diviso e e è finito nella seconda metà
+                    this.offset -= this.node.count;
+                    this.pred = this.node;
+                    this.node = target;
+                }
+                this.offset++;
+            }
+            this.nextIndex++;
+            this.lastOffset = -1;
+            this.numeroModificheAtteso = UnrolledLinkedList.this.numeroModifiche;
+        }
+    }
+
+    /*
+     * La sottolista è una vista sulla lista: le modifiche fatte tramite la
+     * sottolista sono visibili nella lista e viceversa. Dopo una modifica
+     * strutturale della lista fatta non tramite la sottolista, ogni uso della
+     * sottolista lancia ConcurrentModificationException.
+     */
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException(
+                    "Indici fuori dai limiti: " + fromIndex + ", " + toIndex);
+        return new SubList(fromIndex, toIndex);
+    }
+
+    private class SubList extends AbstractList<E> {
+
+        private final int offset;
+
+        private int size;
+
+        private int numeroModificheAtteso;
+
+        private SubList(int fromIndex, int toIndex) {
+            this.offset = fromIndex;
+            this.size = toIndex - fromIndex;
+            this.numeroModificheAtteso = UnrolledLinkedList.this.numeroModifiche;
+        }
+
+        private void checkForComodification() {
+            if (this.numeroModificheAtteso != UnrolledLinkedList.this.numeroModifiche)
+                throw new ConcurrentModificationException(
+                        "Lista modificata fuori dalla sottolista");
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return this.size;
+        }
+
+        @Override
+        public E get(int index) {
+            checkForComodification();
+            checkIndex(index, this.size);
+            return UnrolledLinkedList.this.get(this.offset + index);
+        }
+
+        @Override
+        public E set(int index, E element) {
+            checkForComodification();
+            checkIndex(index, this.size);
+            return UnrolledLinkedList.this.set(this.offset + index, element);
+        }
+
+        @Override
+        public void add(int index, E element) {
+            checkForComodification();
+            checkIndex(index, this.size + 1);
+            UnrolledLinkedList.this.add(this.offset + index, element);
+            this.size++;
+            this.numeroModificheAtteso = UnrolledLinkedList.this.numeroModifiche;
+        }
+
+        @Override
+        public E remove(int index) {
+            checkForComodification();
+            checkIndex(index, this.size);
+            E old = UnrolledLinkedList.this.remove(this.offset + index);
+            this.size--;
+            this.numeroModificheAtteso = UnrolledLinkedList.this.numeroModifiche;
+            return old;
+        }
+
+        /*
+         * Usato da clear(): una sola passata con il cursore della lista
+         * invece di una remove(int) per ogni elemento.
+         */
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            ListIterator<E> it = listIterator(fromIndex);
+            for (int i = fromIndex; i < toIndex; i++) {
+                it.next();
+                it.remove();
+            }
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return listIterator(0);
+        }
+
+        @Override
+        public ListIterator<E> listIterator(int index) {
+            checkForComodification();
+            checkIndex(index, this.size + 1);
+            ListIterator<E> it = UnrolledLinkedList.this
+                    .listIterator(this.offset + index);
+            return new ListIterator<E>() {
+
+                @Override
+                public boolean hasNext() {
+                    return nextIndex() < SubList.this.size;
+                }
+
+                @Override
+                public E next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException(
+                                "Richiesta di next quando hasNext è falso");
+                    return it.next();
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return previousIndex() >= 0;
+                }
+
+                @Override
+                public E previous() {
+                    if (!hasPrevious())
+                        throw new NoSuchElementException(
+                                "Richiesta di previous quando hasPrevious è falso");
+                    return it.previous();
+                }
+
+                @Override
+                public int nextIndex() {
+                    return it.nextIndex() - SubList.this.offset;
+                }
+
+                @Override
+                public int previousIndex() {
+                    return it.previousIndex() - SubList.this.offset;
+                }
+
+                @Override
+                public void remove() {
+                    it.remove();
+                    SubList.this.size--;
+                    SubList.this.numeroModificheAtteso = UnrolledLinkedList.this.numeroModifiche;
+                }
+
+                @Override
+                public void set(E e) {
+                    it.set(e);
+                }
+
+                @Override
+                public void add(E e) {
+                    it.add(e);
+                    SubList.this.size++;
+                    SubList.this.numeroModificheAtteso = UnrolledLinkedList.this.numeroModifiche;
+                }
+            };
+        }
+    }
+
+    /*
+     * Copia gli array dei nodi nell'array dato, o in uno nuovo dello stesso
+     * tipo se quello dato è troppo piccolo.
+     */
+    @Override
+    public <T> T[] toArray(T[] a) {
+        if (a.length < this.size)
+            a = Arrays.copyOf(a, this.size);
+        int start = 0;
+        for (Node n = this.head; n != null; n = n.next) {
+            System.arraycopy(n.items, 0, a, start, n.count);
+            start += n.count;
+        }
+        if (a.length > this.size)
+            a[this.size] = null;
+        return a;
+    }
+
+    /*
+     * Gli elementi della lista vengono messi in un HashSet, così ogni elemento
+     * di c si controlla in tempo costante.
+     */
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        Set<E> elements = new HashSet<>(this);
+        for (Object o : c) {
+            if (o == null)
+                throw new NullPointerException("Elemento da cercare null");
+            if (!elements.contains(o))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return addAll(this.size, c);
+    }
+
+    /*
+     * Mette gli elementi di c in una catena di nodi pieni e la aggancia in
+     * posizione index, dividendo in due il nodo che contiene la posizione se
+     * index cade al suo interno. Gli elementi di c sono copiati prima di
+     * modificare la lista, così anche list.addAll(list) funziona.
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        checkIndex(index, this.size + 1);
+        Object[] elements = c.toArray();
+        for (Object o : elements)
+            if (o == null)
+                throw new NullPointerException("Elemento da inserire null");
+        if (elements.length == 0)
+            return false;
+        Node first = null;
+        Node last = null;
+        for (int k = 0; k < elements.length; k += this.nodeCapacity) {
+            Node node = new Node(null);
+            node.count = Math.min(this.nodeCapacity, elements.length - k);
+            System.arraycopy(elements, k, node.items, 0, node.count);
+            if (first == null)
+                first = node;
+            else
+                last.next = node;
+            last = node;
+        }
+        // la catena va fra previous (null se in testa) e following
+        Node previous = this.tail;
+        Node following = null;
+        if (index < this.size) {
+            previous = null;
+            following = this.head;
+            while (index >= following.count) {
+                index -= following.count;
+                previous = following;
+                following = following.next;
+            }
+            if (index > 0) {
+                // divido il nodo: la parte da index in poi va in un nuovo nodo
+                Node rest = new Node(following.next);
+                rest.count = following.count - index;
+                System.arraycopy(following.items, index, rest.items, 0,
+                        rest.count);
+                Arrays.fill(following.items, index, following.count, null);
+                following.count = index;
+                following.next = rest;
+                if (this.tail == following)
+                    this.tail = rest;
+                previous = following;
+                following = rest;
+            }
+        }
+        last.next = following;
+        if (previous == null)
+            this.head = first;
+        else
+            previous.next = first;
+        if (following == null)
+            this.tail = last;
+        this.size += elements.length;
+        this.numeroModifiche++;
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return removeMatching(asSet(c), true);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return removeMatching(asSet(c), false);
+    }
+
+    /*
+     * Restituisce c stessa se è un Set, altrimenti un HashSet con gli stessi
+     * elementi, per avere contains in tempo costante.
+     */
+    private static Collection<?> asSet(Collection<?> c) {
+        if (c == null)
+            throw new NullPointerException("Collezione null");
+        return c instanceof Set ? c : new HashSet<Object>(c);
+    }
+
+    /*
+     * Toglie in una sola passata tutti gli elementi per cui
+     * c.contains(elemento) vale inContainer. Gli elementi prima del primo da
+     * togliere restano dove sono; quelli successivi che restano vengono
+     * ricopiati in ordine riempiendo i nodi a partire da quella posizione. La
+     * scrittura non supera mai la lettura, per cui non sovrascrive elementi
+     * ancora da leggere. I nodi rimasti vuoti in fondo vengono staccati.
+     */
+    private boolean removeMatching(Collection<?> c, boolean inContainer) {
+        Node before = null;
+        Node write = this.head;
+        int w = 0;
+        while (write != null) {
+            if (w == write.count) {
+                before = write;
+                write = write.next;
+                w = 0;
+            } else if (c.contains(write.items[w]) == inContainer)
+                break;
+            else
+                w++;
+        }
+        if (write == null)
+            return false;
+        int removed = 0;
+        Node n = write;
+        int i = w;
+        while (n != null) {
+            if (i == n.count) {
+                n = n.next;
+                i = 0;
+                continue;
+            }
+            Object e = n.items[i++];
+            if (c.contains(e) == inContainer)
+                removed++;
+            else {
+                if (w == this.nodeCapacity) {
+                    write.count = this.nodeCapacity;
+                    write = write.next;
+                    w = 0;
+                }
+                write.items[w++] = e;
+            }
+        }
+        Arrays.fill(write.items, w, this.nodeCapacity, null);
+        write.count = w;
+        write.next = null;
+        this.tail = write;
+        if (w == 0) {
+            // non è rimasto niente nel primo nodo riscritto
+            this.tail = before;
+            if (before == null)
+                this.head = null;
+            else
+                before.next = null;
+        }
+        this.size -= removed;
+        this.numeroModifiche++;
+        return true;
+    }
+}
@@ -0,0 +1,356 @@
+package it.unicam.cs.asdl2223.es8;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class UnrolledLinkedListTest {
+
+    @Test
+    final void testUnrolledLinkedList() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new UnrolledLinkedList<Integer>(1));
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+        assertEquals(UnrolledLinkedList.DEFAULT_NODE_CAPACITY,
+                list.getNodeCapacity());
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.size());
+        assertFalse(list.contains(1));
+        assertFalse(list.remove((Integer) 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+        assertEquals(0, list.toArray().length);
+    }
+
+    @Test
+    final void testNull() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+        assertThrows(NullPointerException.class, () -> list.add(null));
+        assertThrows(NullPointerException.class, () -> list.add(0, null));
+        assertThrows(NullPointerException.class, () -> list.contains(null));
+        assertThrows(NullPointerException.class, () -> list.remove(null));
+        list.add(1);
+        assertThrows(NullPointerException.class, () -> list.set(0, null));
+    }
+
+    @Test
+    final void testAddGetSet() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(4);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(list.add(i));
+        }
+        assertEquals(10, list.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, list.get(i));
+        }
+        assertEquals(3, list.set(3, 30));
+        assertEquals(9, list.set(9, 90));
+        assertEquals(30, list.get(3));
+        assertEquals(90, list.get(9));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.set(-1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(11, 1));
+    }
+
+    @Test
+    final void testAddRemoveAtIndex() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(4);
+        list.add(0, 5);
+        list.add(0, 1);
+        list.add(1, 3);
+        list.add(3, 7);
+        // nodo pieno: viene diviso
+        list.add(2, 4);
+        list.add(1, 2);
+        list.add(6, 8);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 7, 8),
+                Arrays.asList(list.toArray()));
+        assertEquals(1, list.remove(0));
+        assertEquals(8, list.remove(5));
+        assertEquals(4, list.remove(2));
+        assertTrue(list.remove((Integer) 7));
+        assertEquals(Arrays.asList(2, 3, 5), Arrays.asList(list.toArray()));
+        assertEquals(5, list.get(2));
+        list.add(6);
+        assertEquals(6, list.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(4));
+    }
+
+    @Test
+    final void testIndexOf() {
+        UnrolledLinkedList<String> list = new UnrolledLinkedList<>(2);
+        for (String s : new String[] { "a", "b", "a", "c", "b", "a" }) {
+            list.add(s);
+        }
+        assertEquals(0, list.indexOf("a"));
+        assertEquals(5, list.lastIndexOf("a"));
+        assertEquals(1, list.indexOf("b"));
+        assertEquals(4, list.lastIndexOf("b"));
+        assertEquals(-1, list.indexOf("d"));
+        assertEquals(-1, list.lastIndexOf("d"));
+        assertTrue(list.contains("c"));
+    }
+
+    @Test
+    final void testRandomAgainstArrayList() {
+        Random random = new Random(11);
+        for (int capacity : new int[] { 2, 3, 8, 32 }) {
+            UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(
+                    capacity);
+            List<Integer> expected = new ArrayList<>();
+            for (int step = 0; step < 5000; step++) {
+                int op = random.nextInt(6);
+                int x = random.nextInt(100);
+                if (op == 0 || expected.isEmpty()) {
+                    list.add(x);
+                    expected.add(x);
+                } else if (op == 1) {
+                    int i = random.nextInt(expected.size() + 1);
+                    list.add(i, x);
+                    expected.add(i, x);
+                } else if (op == 2) {
+                    int i = random.nextInt(expected.size());
+                    assertEquals(expected.remove(i), list.remove(i));
+                } else if (op == 3) {
+                    assertEquals(expected.remove((Integer) x),
+                            list.remove((Integer) x));
+                } else if (op == 4) {
+                    int i = random.nextInt(expected.size());
+                    assertEquals(expected.set(i, x), list.set(i, x));
+                } else {
+                    int i = random.nextInt(expected.size());
+                    assertEquals(expected.get(i), list.get(i));
+                }
+                assertEquals(expected.size(), list.size());
+            }
+            assertEquals(expected, Arrays.asList(list.toArray()));
+            List<Integer> iterated = new ArrayList<>();
+            for (Integer i : list) {
+                iterated.add(i);
+            }
+            assertEquals(expected, iterated);
+        }
+    }
+
+    @Test
+    final void testIterator() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(2);
+        assertThrows(NoSuchElementException.class,
+                () -> list.iterator().next());
+        {
+            Iterator<Integer> itr = list.iterator();
+            list.add(0);
+            assertThrows(ConcurrentModificationException.class,
+                    () -> itr.next());
+        }
+        for (int i = 1; i < 5; i++) {
+            list.add(i);
+        }
+        Iterator<Integer> itr = list.iterator();
+        for (int i = 0; i < 5; i++) {
+            assertTrue(itr.hasNext());
+            assertEquals(i, itr.next());
+        }
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    final void testListIteratorAgainstArrayList() {
+        Random random = new Random(13);
+        for (int capacity : new int[] { 2, 3, 8 }) {
+            UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(
+                    capacity);
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                list.add(i);
+                expected.add(i);
+            }
+            ListIterator<Integer> itr = list.listIterator(7);
+            ListIterator<Integer> expectedItr = expected.listIterator(7);
+            boolean canModify = false;
+            for (int step = 0; step < 5000; step++) {
+                int op = random.nextInt(6);
+                int x = random.nextInt(100);
+                if (op == 0 && expectedItr.hasNext()) {
+                    assertEquals(expectedItr.next(), itr.next());
+                    canModify = true;
+                } else if (op == 1 && expectedItr.hasPrevious()) {
+                    assertEquals(expectedItr.previous(), itr.previous());
+                    canModify = true;
+                } else if (op == 2) {
+                    expectedItr.add(x);
+                    itr.add(x);
+                    canModify = false;
+                } else if (op == 3 && canModify) {
+                    expectedItr.remove();
+                    itr.remove();
+                    canModify = false;
+                } else if (op == 4 && canModify) {
+                    expectedItr.set(x);
+                    itr.set(x);
+                }
+                assertEquals(expectedItr.nextIndex(), itr.nextIndex());
+                assertEquals(expectedItr.hasNext(), itr.hasNext());
+                assertEquals(expectedItr.hasPrevious(), itr.hasPrevious());
+                assertEquals(expected.size(), list.size());
+            }
+            assertEquals(expected, Arrays.asList(list.toArray()));
+            // svuoto la lista con l'iteratore e la riempio di nuovo
+            itr = list.listIterator();
+            while (itr.hasNext()) {
+                itr.next();
+                itr.remove();
+            }
+            assertTrue(list.isEmpty());
+            itr.add(1);
+            list.add(2);
+            assertEquals(Arrays.asList(1, 2), Arrays.asList(list.toArray()));
+        }
+    }
+
+    @Test
+    final void testListIterator() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(2);
+        for (int i = 0; i < 6; i++) {
+            list.add(i);
+        }
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> list.listIterator(7));
+        ListIterator<Integer> itr = list.listIterator();
+        assertThrows(IllegalStateException.class, () -> itr.remove());
+        assertThrows(NoSuchElementException.class, () -> itr.previous());
+        assertEquals(0, itr.next());
+        assertThrows(NullPointerException.class, () -> itr.set(null));
+        assertThrows(NullPointerException.class, () -> itr.add(null));
+        list.add(6);
+        assertThrows(ConcurrentModificationException.class, () -> itr.next());
+        // List.sort e Collections.sort usano il ListIterator
+        UnrolledLinkedList<Integer> toSort = new UnrolledLinkedList<>(3);
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 100; i++) {
+            int x = random.nextInt(1000);
+            toSort.add(x);
+            expected.add(x);
+        }
+        Collections.sort(toSort);
+        Collections.sort(expected);
+        assertEquals(expected, Arrays.asList(toSort.toArray()));
+        toSort.sort(Collections.reverseOrder());
+        Collections.reverse(expected);
+        assertEquals(expected, Arrays.asList(toSort.toArray()));
+    }
+
+    @Test
+    final void testSubList() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(3);
+        for (int i = 0; i < 8; i++) {
+            list.add(i);
+        }
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> list.subList(3, 9));
+        List<Integer> sub = list.subList(2, 6);
+        assertEquals(Arrays.asList(2, 3, 4, 5), sub);
+        assertEquals(4, sub.set(2, 40));
+        sub.add(1, 25);
+        assertEquals(3, sub.remove(2));
+        assertEquals(Arrays.asList(2, 25, 40, 5), sub);
+        assertEquals(Arrays.asList(0, 1, 2, 25, 40, 5, 6, 7),
+                Arrays.asList(list.toArray()));
+        sub.clear();
+        assertTrue(sub.isEmpty());
+        assertEquals(Arrays.asList(0, 1, 6, 7), Arrays.asList(list.toArray()));
+        list.subList(0, 0).add(9);
+        list.add(8);
+        assertEquals(Arrays.asList(9, 0, 1, 6, 7, 8),
+                Arrays.asList(list.toArray()));
+        assertThrows(ConcurrentModificationException.class, () -> sub.size());
+    }
+
+    @Test
+    final void testToArray() {
+        UnrolledLinkedList<String> list = new UnrolledLinkedList<>(2);
+        list.add("a");
+        list.add("b");
+        list.add("c");
+        String[] small = list.toArray(new String[0]);
+        assertArrayEquals(new String[] { "a", "b", "c" }, small);
+        String[] big = new String[] { "x", "x", "x", "x", "x" };
+        assertSame(big, list.toArray(big));
+        assertArrayEquals(new String[] { "a", "b", "c", null, "x" }, big);
+        assertThrows(ArrayStoreException.class,
+                () -> list.toArray(new Integer[3]));
+    }
+
+    @Test
+    final void testBulkOperations() {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>(3);
+        assertFalse(list.addAll(new ArrayList<Integer>()));
+        assertTrue(list.addAll(Arrays.asList(1, 2, 3)));
+        assertTrue(list.addAll(list));
+        assertTrue(list.addAll(0, Arrays.asList(0)));
+        assertTrue(list.addAll(4, Arrays.asList(9, 9)));
+        assertEquals(Arrays.asList(0, 1, 2, 3, 9, 9, 1, 2, 3),
+                Arrays.asList(list.toArray()));
+        assertThrows(NullPointerException.class,
+                () -> list.addAll(Arrays.asList(4, null)));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> list.addAll(10, Arrays.asList(4)));
+        assertEquals(9, list.size());
+        assertTrue(list.containsAll(Arrays.asList(9, 0, 3)));
+        assertFalse(list.containsAll(Arrays.asList(9, 4)));
+        assertTrue(list.removeAll(Arrays.asList(3, 0, 4)));
+        assertFalse(list.removeAll(Arrays.asList(4)));
+        assertEquals(Arrays.asList(1, 2, 9, 9, 1, 2),
+                Arrays.asList(list.toArray()));
+        assertTrue(list.retainAll(Arrays.asList(1, 2)));
+        list.add(5);
+        list.add(1, 7);
+        assertEquals(Arrays.asList(1, 7, 2, 1, 2, 5),
+                Arrays.asList(list.toArray()));
+        assertTrue(list.retainAll(Arrays.asList(8)));
+        assertTrue(list.isEmpty());
+        list.add(6);
+        assertEquals(6, list.get(0));
+        // confronto con ArrayList su inserimenti e rimozioni casuali
+        Random random = new Random(19);
+        List<Integer> expected = new ArrayList<>(list);
+        for (int step = 0; step < 500; step++) {
+            List<Integer> c = new ArrayList<>();
+            for (int k = random.nextInt(8); k > 0; k--)
+                c.add(random.nextInt(20));
+            if (random.nextBoolean()) {
+                int i = random.nextInt(expected.size() + 1);
+                assertEquals(expected.addAll(i, c), list.addAll(i, c));
+            } else
+                assertEquals(expected.removeAll(c), list.removeAll(c));
+            assertEquals(expected, Arrays.asList(list.toArray()));
+            for (int i = 0; i < expected.size(); i++)
+                assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    @Test
+    final void testEquals() {
+        UnrolledLinkedList<Integer> a = new UnrolledLinkedList<>(2);
+        UnrolledLinkedList<Integer> b = new UnrolledLinkedList<>(8);
+        for (int i = 0; i < 10; i++) {
+            a.add(i);
+            b.add(i);
+        }
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        b.set(9, 0);
+        assertNotEquals(a, b);
+    }
+
+}
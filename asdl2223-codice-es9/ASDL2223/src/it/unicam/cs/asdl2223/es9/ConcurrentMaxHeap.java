@@ -0,0 +1,236 @@
+package it.unicam.cs.asdl2223.es9;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coda di priorità massima condivisibile fra più thread, con le stesse
+ * operazioni di {@link MaxHeap} ({@code insert}, {@code extractMax},
+ * {@code getMax}). È realizzata come "multi-queue" rilassata: gli elementi
+ * sono distribuiti su k sotto-heap {@link MaxHeap}, ognuno protetto dal
+ * proprio lock, in modo che thread diversi lavorino quasi sempre su sotto-heap
+ * diversi invece di contendersi un unico lock.
+ *
+ * L'inserimento sceglie un sotto-heap a caso fra quelli liberi. L'estrazione
+ * sceglie due sotto-heap a caso e prende il massimo di quello con la radice
+ * più grande: l'elemento restituito è quindi uno dei più grandi presenti, ma
+ * non necessariamente il massimo assoluto. Con k = 1 la semantica coincide
+ * con quella di un {@link MaxHeap} sincronizzato.
+ *
+ * @author Template: Luca Tesei, Implementation: collettiva
+ *
+ * @param <E>
+ *                il tipo degli elementi della coda, che devono avere un
+ *                ordinamento naturale.
+ */
+public class ConcurrentMaxHeap<E extends Comparable<E>> {
+
+    /**
+     * Numero di sotto-heap per ogni processore disponibile usato dal
+     * costruttore di default.
+     */
+    public static final int SUBHEAPS_PER_PROCESSOR = 2;
+
+    /**
+     * I sotto-heap fra cui sono distribuiti gli elementi
+     */
+    private final SubHeap<E>[] subHeaps;
+
+    /**
+     * Numero totale di elementi presenti in tutti i sotto-heap
+     */
+    private final AtomicInteger size;
+
+    /**
+     * Costruisce una coda vuota con un numero di sotto-heap proporzionale al
+     * numero di processori disponibili.
+     */
+    public ConcurrentMaxHeap() {
+        this(SUBHEAPS_PER_PROCESSOR
+                * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Costruisce una coda vuota con k sotto-heap.
+     *
+     * @param k
+     *              il numero di sotto-heap
+     * @throws IllegalArgumentException
+     *                                      se k è minore di 1
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public ConcurrentMaxHeap(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException(
+                    "Il numero di sotto-heap deve essere almeno 1");
+        }
+        this.subHeaps = new SubHeap[k];
+        for (int i = 0; i < k; i++) {
+            this.subHeaps[i] = new SubHeap<E>();
+        }
+        this.size = new AtomicInteger(0);
+    }
+
+    /**
+     * Restituisce il numero di elementi nella coda.
+     *
+     * @return il numero di elementi nella coda
+     */
+    public int size() {
+        return this.size.get();
+    }
+
+    /**
+     * Determina se la coda è vuota.
+     *
+     * @return true se la coda è vuota.
+     */
+    public boolean isEmpty() {
+        return this.size.get() == 0;
+    }
+
+    /**
+     * Inserisce un elemento nella coda.
+     *
+     * @param el
+     *               l'elemento da inserire
+     * @throws NullPointerException
+     *                                  se l'elemento è null
+     */
+    public void insert(E el) {
+        if (el == null) {
+            throw new NullPointerException("L'elemento passato è null");
+        }
+        SubHeap<E> h = lockAny();
+        try {
+            h.heap.insert(el);
+            h.top = h.heap.getMax();
+            this.size.incrementAndGet();
+        } finally {
+            h.lock.unlock();
+        }
+    }
+
+    /**
+     * Ritorna l'elemento massimo senza toglierlo. In presenza di modifiche
+     * concorrenti il valore restituito è quello di un istante recente.
+     *
+     * @return l'elemento massimo della coda oppure null se la coda è vuota
+     */
+    public E getMax() {
+        E max = null;
+        for (SubHeap<E> h : this.subHeaps) {
+            E t = h.top;
+            if (t != null && (max == null || t.compareTo(max) > 0)) {
+                max = t;
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Estrae uno degli elementi massimi dalla coda. Dopo la chiamata tale
+     * elemento non è più presente nella coda.
+     *
+     * @return uno degli elementi più grandi della coda oppure null se la coda
+     *         è vuota
+     */
+    public E extractMax() {
+        int k = this.subHeaps.length;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // Tentativi con la scelta fra due sotto-heap casuali
+        for (int attempt = 0; attempt < k && !this.isEmpty(); attempt++) {
+            SubHeap<E> a = this.subHeaps[random.nextInt(k)];
+            SubHeap<E> b = this.subHeaps[random.nextInt(k)];
+            E ta = a.top;
+            E tb = b.top;
+            SubHeap<E> h;
+            if (ta == null && tb == null) {
+                continue;
+            } else if (ta == null) {
+                h = b;
+            } else if (tb == null) {
+                h = a;
+            } else {
+                h = ta.compareTo(tb) >= 0 ? a : b;
+            }
+            E max = h.tryExtract(this.size);
+            if (max != null) {
+                return max;
+            }
+        }
+        // Fallback: scansione di tutti i sotto-heap
+        for (SubHeap<E> h : this.subHeaps) {
+            h.lock.lock();
+            try {
+                E max = h.extract(this.size);
+                if (max != null) {
+                    return max;
+                }
+            } finally {
+                h.lock.unlock();
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Acquisisce il lock di un sotto-heap scelto a caso fra quelli liberi; se
+     * sono tutti occupati si mette in attesa su uno di essi.
+     */
+    private SubHeap<E> lockAny() {
+        int k = this.subHeaps.length;
+        int start = ThreadLocalRandom.current().nextInt(k);
+        for (int i = 0; i < k; i++) {
+            SubHeap<E> h = this.subHeaps[(start + i) % k];
+            if (h.lock.tryLock()) {
+                return h;
+            }
+        }
+        SubHeap<E> h = this.subHeaps[start];
+        h.lock.lock();
+        return h;
+    }
+
+    /*
+     * Sotto-heap con il proprio lock. La radice corrente è pubblicata nel
+     * campo volatile top, così che la scelta del sotto-heap da cui estrarre
+     * non richieda di acquisire alcun lock.
+     */
+    private static class SubHeap<E extends Comparable<E>> {
+
+        private final MaxHeap<E> heap = new MaxHeap<E>();
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private volatile E top;
+
+        /*
+         * Estrae il massimo se il lock è libero, altrimenti restituisce null
+         * senza attendere.
+         */
+        private E tryExtract(AtomicInteger size) {
+            if (!this.lock.tryLock()) {
+                return null;
+            }
+            try {
+                return extract(size);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        /*
+         * Da chiamare tenendo il lock.
+         */
+        private E extract(AtomicInteger size) {
+            E max = this.heap.extractMax();
+            if (max != null) {
+                this.top = this.heap.getMax();
+                size.decrementAndGet();
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package it.unicam.cs.asdl2223.es9;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Misura la contesa fra thread su una coda di priorità condivisa. Per un
+ * numero crescente di thread, ognuno esegue lo stesso numero di coppie
+ * insert/extractMax prima su un {@link MaxHeap} protetto da
+ * {@code synchronized} e poi su un {@link ConcurrentMaxHeap}. Il tempo totale
+ * in nanosecondi e il throughput (operazioni al millisecondo) di ogni prova
+ * sono scritti su un file .csv (Comma Separated Values).
+ *
+ * Il main può essere chiamato con il nome della directory di destinazione del
+ * file come parametro di linea di comando. Se non è presente nessun parametro
+ * allora si assume la directory corrente.
+ *
+ * @author Template: Luca Tesei, Implementation: collettiva
+ *
+ */
+public class ConcurrentMaxHeapEvaluationFramework {
+
+    /**
+     * Numero di elementi inseriti nella coda prima di ogni prova
+     */
+    public static final int INITIAL_SIZE = 100000;
+
+    /**
+     * Numero di coppie insert/extractMax eseguite da ogni thread
+     */
+    public static final int OPERATIONS_PER_THREAD = 200000;
+
+    /**
+     * Numero di ripetizioni di ogni prova (la prima serve da riscaldamento)
+     */
+    public static final int NUMBER_OF_SAMPLES = 5;
+
+    /*
+     * Operazioni comuni alle due code da confrontare.
+     */
+    private interface Queue {
+        void insert(Integer el);
+
+        Integer extractMax();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String dirName = null;
+        if (args.length > 0)
+            dirName = args[0];
+        else
+            dirName = ".";
+        PrintStream o = null;
+        try {
+            o = new PrintStream(new File(dirName + "/" + "heapcontention.csv"));
+        } catch (FileNotFoundException e) {
+            System.out.println("Errore creazione file di ouput" + dirName + "/"
+                    + "heapcontention.csv");
+            System.exit(1);
+        }
+        o.print("Threads,Sample,SynchronizedTns,SynchronizedOpsPerMs,"
+                + "ConcurrentTns,ConcurrentOpsPerMs\n");
+        int maxThreads = 2 * Runtime.getRuntime().availableProcessors();
+        for (int t = 1; t <= maxThreads; t *= 2) {
+            for (int s = 0; s < NUMBER_OF_SAMPLES; s++) {
+                // Coda con lock unico
+                MaxHeap<Integer> heap = new MaxHeap<Integer>();
+                Queue locked = new Queue() {
+                    public synchronized void insert(Integer el) {
+                        heap.insert(el);
+                    }
+
+                    public synchronized Integer extractMax() {
+                        return heap.extractMax();
+                    }
+                };
+                // Coda concorrente
+                ConcurrentMaxHeap<Integer> cheap = new ConcurrentMaxHeap<Integer>();
+                Queue concurrent = new Queue() {
+                    public void insert(Integer el) {
+                        cheap.insert(el);
+                    }
+
+                    public Integer extractMax() {
+                        return cheap.extractMax();
+                    }
+                };
+                long lockedTime = run(locked, t);
+                long concurrentTime = run(concurrent, t);
+                long ops = 2L * t * OPERATIONS_PER_THREAD;
+                o.print(t + "," + s + "," + lockedTime + ","
+                        + (ops * 1000000 / lockedTime) + ","
+                        + concurrentTime + ","
+                        + (ops * 1000000 / concurrentTime) + "\n");
+                System.out.println("Completata prova con " + t
+                        + " thread, campione " + s);
+            }
+        }
+        o.close();
+    } // end main
+
+    /*
+     * Riempie la coda e restituisce il tempo in nanosecondi impiegato da n
+     * thread per eseguire OPERATIONS_PER_THREAD coppie insert/extractMax.
+     */
+    private static long run(Queue q, int n) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < INITIAL_SIZE; i++) {
+            q.insert(random.nextInt());
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch end = new CountDownLatch(n);
+        for (int i = 0; i < n; i++) {
+            new Thread(() -> {
+                ThreadLocalRandom r = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+                    q.insert(r.nextInt());
+                    q.extractMax();
+                }
+                end.countDown();
+            }).start();
+        }
+        long startTimeNano = System.nanoTime();
+        start.countDown();
+        end.await();
+        return System.nanoTime() - startTimeNano;
+    }
+
+}
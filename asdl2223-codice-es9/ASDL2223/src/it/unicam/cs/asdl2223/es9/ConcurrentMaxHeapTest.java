@@ -0,0 +1,121 @@
+package it.unicam.cs.asdl2223.es9;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentMaxHeapTest {
+
+    @Test
+    final void testConcurrentMaxHeap() {
+        ConcurrentMaxHeap<Integer> h = new ConcurrentMaxHeap<Integer>();
+        assertTrue(h.isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConcurrentMaxHeap<Integer>(0));
+    }
+
+    @Test
+    final void testSize() {
+        ConcurrentMaxHeap<Integer> h = new ConcurrentMaxHeap<Integer>(4);
+        assertTrue(h.size() == 0);
+        h.insert(1);
+        assertTrue(h.size() == 1);
+        h.insert(2);
+        assertTrue(h.size() == 2);
+        h.extractMax();
+        assertTrue(h.size() == 1);
+        h.extractMax();
+        assertTrue(h.size() == 0);
+        assertTrue(h.extractMax() == null);
+        assertTrue(h.size() == 0);
+    }
+
+    @Test
+    final void testInsert() {
+        ConcurrentMaxHeap<Integer> h = new ConcurrentMaxHeap<Integer>(4);
+        assertThrows(NullPointerException.class, () -> h.insert(null));
+        h.insert(39);
+        assertTrue(h.getMax().equals(39));
+        h.insert(50);
+        assertTrue(h.getMax().equals(50));
+        h.insert(27);
+        assertTrue(h.getMax().equals(50));
+        h.insert(60);
+        assertTrue(h.getMax().equals(60));
+    }
+
+    @Test
+    final void testGetMax() {
+        ConcurrentMaxHeap<Integer> h = new ConcurrentMaxHeap<Integer>(8);
+        assertTrue(h.getMax() == null);
+        for (int i = 0; i < 100; i++) {
+            h.insert(i);
+            assertTrue(h.getMax().equals(i));
+        }
+    }
+
+    @Test
+    final void testExtractMaxSingleSubHeap() {
+        // Con un solo sotto-heap l'estrazione è esatta
+        ConcurrentMaxHeap<Integer> h = new ConcurrentMaxHeap<Integer>(1);
+        assertTrue(h.extractMax() == null);
+        h.insert(39);
+        h.insert(50);
+        h.insert(27);
+        h.insert(45);
+        h.insert(60);
+        h.insert(15);
+        assertTrue(h.extractMax().equals(60));
+        assertTrue(h.extractMax().equals(50));
+        assertTrue(h.extractMax().equals(45));
+        assertTrue(h.extractMax().equals(39));
+        assertTrue(h.extractMax().equals(27));
+        assertTrue(h.extractMax().equals(15));
+        assertTrue(h.extractMax() == null);
+    }
+
+    @Test
+    final void testExtractMaxConcurrent() throws InterruptedException {
+        ConcurrentMaxHeap<Integer> h = new ConcurrentMaxHeap<Integer>(8);
+        int threads = 4;
+        int perThread = 10000;
+        List<Thread> producers = new ArrayList<Thread>();
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            Thread p = new Thread(() -> {
+                for (int i = 0; i < perThread; i++)
+                    h.insert(base + i);
+            });
+            producers.add(p);
+            p.start();
+        }
+        for (Thread p : producers)
+            p.join();
+        assertTrue(h.size() == threads * perThread);
+        List<Integer> extracted = Collections
+                .synchronizedList(new ArrayList<Integer>());
+        List<Thread> consumers = new ArrayList<Thread>();
+        for (int t = 0; t < threads; t++) {
+            Thread c = new Thread(() -> {
+                Integer x;
+                while ((x = h.extractMax()) != null)
+                    extracted.add(x);
+            });
+            consumers.add(c);
+            c.start();
+        }
+        for (Thread c : consumers)
+            c.join();
+        // Ogni elemento è estratto esattamente una volta
+        assertTrue(h.isEmpty());
+        assertTrue(extracted.size() == threads * perThread);
+        Collections.sort(extracted);
+        for (int i = 0; i < threads * perThread; i++)
+            assertTrue(extracted.get(i).equals(i));
+    }
+
+}
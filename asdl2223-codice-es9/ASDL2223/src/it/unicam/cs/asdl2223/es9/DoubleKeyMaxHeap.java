@@ -0,0 +1,197 @@
+package it.unicam.cs.asdl2223.es9;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Heap binario massimo con priorità primitive di tipo double. Le priorità sono
+ * memorizzate in un array di double parallelo all'array dei valori associati,
+ * per cui i confronti avvengono fra primitivi senza boxing né chiamate a
+ * compareTo. Le operazioni di risalita e discesa sono iterative.
+ *
+ * @author Template: Luca Tesei, Implementation: collettiva
+ *
+ * @param <V>
+ *                il tipo dei valori associati alle priorità
+ */
+public class DoubleKeyMaxHeap<V> {
+
+    /**
+     * Capacità iniziale degli array
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Le priorità degli elementi, organizzate a heap
+     */
+    private double[] keys;
+
+    /**
+     * I valori associati, nella stessa posizione della loro priorità
+     */
+    private Object[] values;
+
+    /**
+     * Numero di elementi presenti
+     */
+    private int size;
+
+    /**
+     * Costruisce uno heap vuoto.
+     */
+    public DoubleKeyMaxHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Costruisce uno heap vuoto con una capacità iniziale data.
+     *
+     * @param initialCapacity
+     *                            la capacità iniziale
+     * @throws IllegalArgumentException
+     *                                      se la capacità è negativa
+     */
+    public DoubleKeyMaxHeap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException(
+                    "La capacità iniziale non può essere negativa");
+        }
+        this.keys = new double[initialCapacity];
+        this.values = new Object[initialCapacity];
+        this.size = 0;
+    }
+
+    /**
+     * Restituisce il numero di elementi nello heap.
+     *
+     * @return il numero di elementi nello heap
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Determina se lo heap è vuoto.
+     *
+     * @return true se lo heap è vuoto.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Inserisce un valore con la priorità data.
+     *
+     * @param key
+     *                  la priorità
+     * @param value
+     *                  il valore da inserire
+     * @throws NullPointerException
+     *                                      se il valore è null
+     * @throws IllegalArgumentException
+     *                                      se la priorità è NaN
+     */
+    public void insert(double key, V value) {
+        if (value == null) {
+            throw new NullPointerException("Il valore passato è null");
+        }
+        if (Double.isNaN(key)) {
+            throw new IllegalArgumentException("La priorità non può essere NaN");
+        }
+        if (this.size == this.keys.length) {
+            int newCapacity = Math.max(DEFAULT_CAPACITY, this.size * 2);
+            this.keys = Arrays.copyOf(this.keys, newCapacity);
+            this.values = Arrays.copyOf(this.values, newCapacity);
+        }
+        // Risalita: si spostano in basso i genitori più piccoli e si scrive
+        // il nuovo elemento una sola volta nella posizione finale
+        int i = this.size++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (this.keys[p] >= key) break;
+            this.keys[i] = this.keys[p];
+            this.values[i] = this.values[p];
+            i = p;
+        }
+        this.keys[i] = key;
+        this.values[i] = value;
+    }
+
+    /**
+     * Ritorna il valore con priorità massima senza toglierlo.
+     *
+     * @return il valore con priorità massima oppure null se lo heap è vuoto
+     */
+    @SuppressWarnings("unchecked")
+    public V getMax() {
+        if (this.isEmpty()) return null;
+        else return (V) this.values[0];
+    }
+
+    /**
+     * Ritorna la priorità massima presente nello heap.
+     *
+     * @return la priorità massima
+     * @throws NoSuchElementException
+     *                                    se lo heap è vuoto
+     */
+    public double getMaxKey() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException("Lo heap è vuoto");
+        }
+        return this.keys[0];
+    }
+
+    /**
+     * Estrae il valore con priorità massima dallo heap. Dopo la chiamata tale
+     * valore non è più presente nello heap.
+     *
+     * @return il valore con priorità massima oppure null se lo heap è vuoto
+     */
+    @SuppressWarnings("unchecked")
+    public V extractMax() {
+        if (this.isEmpty()) return null;
+
+        V max = (V) this.values[0];
+        int last = --this.size;
+        double key = this.keys[last];
+        Object value = this.values[last];
+        this.values[last] = null;
+        if (last > 0) {
+            siftDown(0, key, value);
+        }
+        return max;
+    }
+
+    /*
+     * Discesa iterativa a partire dalla posizione i dell'elemento (key,
+     * value): si spostano in alto i figli più grandi e si scrive l'elemento
+     * una sola volta nella posizione finale.
+     */
+    private void siftDown(int i, double key, Object value) {
+        int half = this.size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < this.size && this.keys[right] > this.keys[child]) {
+                child = right;
+            }
+            if (key >= this.keys[child]) break;
+            this.keys[i] = this.keys[child];
+            this.values[i] = this.values[child];
+            i = child;
+        }
+        this.keys[i] = key;
+        this.values[i] = value;
+    }
+
+    /**
+     * Only for JUnit testing purposes.
+     *
+     * @return the array of keys representing this max heap (only the first
+     *         size() positions are significant)
+     */
+    protected double[] getKeys() {
+        return this.keys;
+    }
+}
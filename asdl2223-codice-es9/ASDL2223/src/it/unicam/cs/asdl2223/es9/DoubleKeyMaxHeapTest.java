@@ -0,0 +1,44 @@
+package it.unicam.cs.asdl2223.es9;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+class DoubleKeyMaxHeapTest {
+
+    @Test
+    final void testInsert() {
+        DoubleKeyMaxHeap<String> h = new DoubleKeyMaxHeap<String>();
+        assertThrows(NullPointerException.class, () -> h.insert(1.0, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> h.insert(Double.NaN, "nan"));
+        h.insert(0.5, "b");
+        h.insert(-3.25, "d");
+        h.insert(2.75, "a");
+        h.insert(0.0, "c");
+        assertTrue(h.size() == 4);
+        assertTrue(h.getMaxKey() == 2.75);
+        assertTrue(h.getMax().equals("a"));
+    }
+
+    @Test
+    final void testExtractMax() {
+        DoubleKeyMaxHeap<String> h = new DoubleKeyMaxHeap<String>();
+        assertTrue(h.extractMax() == null);
+        assertThrows(NoSuchElementException.class, () -> h.getMaxKey());
+        h.insert(0.5, "b");
+        h.insert(Double.NEGATIVE_INFINITY, "e");
+        h.insert(-3.25, "d");
+        h.insert(2.75, "a");
+        h.insert(0.0, "c");
+        assertTrue(h.extractMax().equals("a"));
+        assertTrue(h.extractMax().equals("b"));
+        assertTrue(h.extractMax().equals("c"));
+        assertTrue(h.extractMax().equals("d"));
+        assertTrue(h.extractMax().equals("e"));
+        assertTrue(h.isEmpty());
+    }
+
+}
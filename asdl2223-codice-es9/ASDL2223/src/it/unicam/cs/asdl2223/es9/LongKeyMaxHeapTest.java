@@ -0,0 +1,97 @@
+package it.unicam.cs.asdl2223.es9;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongKeyMaxHeapTest {
+
+    @Test
+    final void testLongKeyMaxHeap() {
+        LongKeyMaxHeap<String> h = new LongKeyMaxHeap<String>();
+        assertTrue(h.isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> new LongKeyMaxHeap<String>(-1));
+    }
+
+    @Test
+    final void testSize() {
+        LongKeyMaxHeap<String> h = new LongKeyMaxHeap<String>(0);
+        assertTrue(h.size() == 0);
+        h.insert(1, "a");
+        assertTrue(h.size() == 1);
+        h.insert(2, "b");
+        assertTrue(h.size() == 2);
+        h.extractMax();
+        assertTrue(h.size() == 1);
+        h.extractMax();
+        assertTrue(h.size() == 0);
+    }
+
+    @Test
+    final void testInsert() {
+        LongKeyMaxHeap<Integer> h = new LongKeyMaxHeap<Integer>();
+        assertThrows(NullPointerException.class, () -> h.insert(1, null));
+        // Stessa sequenza di MaxHeapTest: la disposizione deve coincidere
+        h.insert(39, 39);
+        h.insert(50, 50);
+        h.insert(27, 27);
+        h.insert(45, 45);
+        h.insert(60, 60);
+        h.insert(15, 15);
+        h.insert(30, 30);
+        h.insert(55, 55);
+        long[] a = h.getKeys();
+        assertTrue(a[0] == 60);
+        assertTrue(a[1] == 55);
+        assertTrue(a[2] == 30);
+        assertTrue(a[3] == 50);
+        assertTrue(a[4] == 45);
+        assertTrue(a[5] == 15);
+        assertTrue(a[6] == 27);
+        assertTrue(a[7] == 39);
+    }
+
+    @Test
+    final void testGetMax() {
+        LongKeyMaxHeap<String> h = new LongKeyMaxHeap<String>();
+        assertTrue(h.getMax() == null);
+        assertThrows(NoSuchElementException.class, () -> h.getMaxKey());
+        h.insert(12, "dodici");
+        assertTrue(h.getMax().equals("dodici"));
+        assertTrue(h.getMaxKey() == 12);
+        h.insert(20, "venti");
+        assertTrue(h.getMax().equals("venti"));
+        h.insert(2, "due");
+        assertTrue(h.getMax().equals("venti"));
+        h.insert(60, "sessanta");
+        assertTrue(h.getMax().equals("sessanta"));
+        assertTrue(h.getMaxKey() == 60);
+    }
+
+    @Test
+    final void testExtractMax() {
+        LongKeyMaxHeap<Long> h = new LongKeyMaxHeap<Long>(2);
+        assertTrue(h.extractMax() == null);
+        Random random = new Random(42);
+        long[] keys = new long[1000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(100) - 50;
+            h.insert(keys[i], keys[i]);
+        }
+        long previous = Long.MAX_VALUE;
+        for (int i = 0; i < keys.length; i++) {
+            long k = h.getMaxKey();
+            Long v = h.extractMax();
+            assertTrue(v.longValue() == k);
+            assertTrue(k <= previous);
+            previous = k;
+        }
+        assertTrue(h.isEmpty());
+        assertTrue(h.extractMax() == null);
+    }
+
+}
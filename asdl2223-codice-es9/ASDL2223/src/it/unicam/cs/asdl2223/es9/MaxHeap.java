@@ -150,29 +150,66 @@ public class MaxHeap<E extends Comparable<E>> {
         return max;
     }
 
+    /**
+     * Sostituisce l'elemento massimo con un nuovo elemento, con una sola
+     * discesa invece di una estrazione seguita da un inserimento.
+     *
+     * @param el
+     *               il nuovo elemento
+     * @return l'elemento massimo sostituito oppure null se lo heap era vuoto,
+     *         nel qual caso el viene semplicemente inserito
+     * @throws NullPointerException
+     *                                  se l'elemento è null
+     */
+    public E replaceMax(E el) {
+        if (el == null) {
+            throw new NullPointerException("L'elemento passato è null");
+        }
+        if (this.isEmpty()) {
+            this.heap.add(el);
+            return null;
+        }
+        E max = this.heap.set(0, el);
+        this.heapify(0);
+        return max;
+    }
+
+    /**
+     * Restituisce una copia degli elementi dello heap, in ordine non
+     * specificato.
+     *
+     * @return una nuova lista con gli elementi dello heap
+     */
+    public List<E> toList() {
+        return new ArrayList<E>(this.heap);
+    }
+
     /**
      * Ricostituisce uno heap a partire dal nodo in posizione i assumendo che i
      * suoi sottoalberi sinistro e destro (se esistono) siano heap.
      */
     private void heapify(int i) {
-        int l = leftIndex(i);
-        int r = rightIndex(i);
-        int largest = l;
+        int size = this.size();
+        while (true) {
+            int l = leftIndex(i);
+            int r = rightIndex(i);
+            int largest = i;
 
-        if (l < this.size() && this.heap.get(l).compareTo(this.heap.get(i)) > 0) {
-            largest = l;
-        } else largest = i;
+            if (l < size && this.heap.get(l).compareTo(this.heap.get(largest)) > 0) {
+                largest = l;
+            }
 
-        if (r < this.size() && this.heap.get(r).compareTo(this.heap.get(largest)) > 0) {
-            largest = r;
-        }
+            if (r < size && this.heap.get(r).compareTo(this.heap.get(largest)) > 0) {
+                largest = r;
+            }
+
+            if (largest == i) return;
 
-        if (largest != i) {
             E temp = this.heap.get(i);
             this.heap.set(i, this.heap.get(largest));
             this.heap.set(largest, temp);
 
-            this.heapify(largest);
+            i = largest;
         }
     }
     
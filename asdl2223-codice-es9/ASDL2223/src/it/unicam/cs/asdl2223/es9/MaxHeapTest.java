@@ -3,6 +3,7 @@ package it.unicam.cs.asdl2223.es9;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 /**
@@ -217,4 +218,35 @@ class MaxHeapTest {
         assertTrue(h.size() == 0);
     }
 
+    @Test
+    final void testReplaceMax() {
+        MaxHeap<Integer> h = new MaxHeap<Integer>();
+        assertThrows(NullPointerException.class, () -> h.replaceMax(null));
+        assertTrue(h.replaceMax(10) == null);
+        assertTrue(h.size() == 1);
+        h.insert(39);
+        h.insert(50);
+        h.insert(27);
+        assertTrue(h.replaceMax(5).equals(50));
+        assertTrue(h.size() == 4);
+        assertTrue(h.extractMax().equals(39));
+        assertTrue(h.extractMax().equals(27));
+        assertTrue(h.extractMax().equals(10));
+        assertTrue(h.extractMax().equals(5));
+    }
+
+    @Test
+    final void testToList() {
+        MaxHeap<Integer> h = new MaxHeap<Integer>();
+        assertTrue(h.toList().isEmpty());
+        h.insert(39);
+        h.insert(50);
+        h.insert(27);
+        List<Integer> l = h.toList();
+        assertTrue(l.size() == 3);
+        assertTrue(l.containsAll(List.of(27, 39, 50)));
+        l.clear();
+        assertTrue(h.size() == 3);
+    }
+
 }
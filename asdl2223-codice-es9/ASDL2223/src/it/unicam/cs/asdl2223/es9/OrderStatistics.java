@@ -0,0 +1,462 @@
+package it.unicam.cs.asdl2223.es9;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Calcolo di statistiche d'ordine (k-esimo elemento più piccolo, più
+ * statistiche insieme, percentili) in tempo lineare senza ordinare l'intera
+ * sequenza.
+ *
+ * L'algoritmo è il Quickselect: come nel {@link QuickSortRandom} si sceglie un
+ * pivot casuale, lo si porta in testa e si partiziona, ma si prosegue solo
+ * nella parte che contiene la posizione cercata. La partizione è a tre vie
+ * (minori, uguali, maggiori del pivot) così che sequenze con molti elementi
+ * ripetuti non degenerino. Se due partizioni consecutive non dimezzano
+ * l'intervallo da esaminare, il pivot viene scelto con la mediana delle
+ * mediane, che garantisce tempo lineare anche nel caso peggiore.
+ *
+ * Le sequenze passate non vengono modificate: il calcolo avviene su una
+ * copia.
+ *
+ * @author Template: Luca Tesei, Implementation: collettiva
+ *
+ */
+public final class OrderStatistics {
+
+    /*
+     * Sotto questa lunghezza un intervallo viene ordinato per inserimento
+     */
+    private static final int INSERTION_THRESHOLD = 16;
+
+    private OrderStatistics() {
+    }
+
+    /**
+     * Restituisce il k-esimo elemento più piccolo di una lista, cioè
+     * l'elemento che si troverebbe in posizione k se la lista fosse ordinata
+     * in maniera crescente.
+     *
+     * @param l
+     *              la lista
+     * @param k
+     *              la posizione, a partire da 0
+     * @return il k-esimo elemento più piccolo
+     * @throws NullPointerException
+     *                                       se la lista è null o contiene
+     *                                       elementi null
+     * @throws IndexOutOfBoundsException
+     *                                       se k non è una posizione della
+     *                                       lista
+     */
+    public static <E extends Comparable<E>> E select(List<E> l, int k) {
+        Object[] a = toArray(l);
+        checkIndex(k, a.length);
+        return elementAt(a, select(a, 0, a.length - 1, k));
+    }
+
+    /**
+     * Restituisce più statistiche d'ordine di una lista con un'unica
+     * elaborazione, in tempo atteso O(n log m) dove m è il numero di
+     * posizioni richieste.
+     *
+     * @param l
+     *               la lista
+     * @param ks
+     *               le posizioni, a partire da 0, in qualsiasi ordine
+     * @return una lista in cui l'elemento i-esimo è il ks[i]-esimo elemento
+     *         più piccolo
+     * @throws NullPointerException
+     *                                       se la lista o ks sono null o la
+     *                                       lista contiene elementi null
+     * @throws IndexOutOfBoundsException
+     *                                       se qualche k non è una posizione
+     *                                       della lista
+     */
+    public static <E extends Comparable<E>> List<E> multiSelect(List<E> l,
+            int... ks) {
+        Object[] a = toArray(l);
+        int[] sorted = sortedPositions(ks, a.length);
+        multiSelect(a, 0, a.length - 1, sorted, 0, sorted.length - 1);
+        List<E> result = new ArrayList<E>(ks.length);
+        for (int k : ks) {
+            result.add(elementAt(a, k));
+        }
+        return result;
+    }
+
+    /**
+     * Restituisce i percentili richiesti di una lista secondo il metodo del
+     * rango più vicino: il p-esimo percentile è il più piccolo elemento tale
+     * che almeno il p% degli elementi sia minore o uguale a esso.
+     *
+     * @param l
+     *               la lista, non vuota
+     * @param ps
+     *               i percentili richiesti, compresi fra 0 e 100
+     * @return una lista in cui l'elemento i-esimo è il ps[i]-esimo percentile
+     * @throws NullPointerException
+     *                                      se la lista o ps sono null o la
+     *                                      lista contiene elementi null
+     * @throws IllegalArgumentException
+     *                                      se la lista è vuota o qualche
+     *                                      percentile non è compreso fra 0 e
+     *                                      100
+     */
+    public static <E extends Comparable<E>> List<E> percentiles(List<E> l,
+            double... ps) {
+        if (l == null) {
+            throw new NullPointerException("La lista passata è null");
+        }
+        return multiSelect(l, percentilePositions(ps, l.size()));
+    }
+
+    /**
+     * Restituisce il k-esimo elemento più piccolo di un array di interi.
+     *
+     * @param a
+     *              l'array
+     * @param k
+     *              la posizione, a partire da 0
+     * @return il k-esimo elemento più piccolo
+     * @throws NullPointerException
+     *                                       se l'array è null
+     * @throws IndexOutOfBoundsException
+     *                                       se k non è una posizione
+     *                                       dell'array
+     */
+    public static int select(int[] a, int k) {
+        if (a == null) {
+            throw new NullPointerException("L'array passato è null");
+        }
+        checkIndex(k, a.length);
+        int[] b = a.clone();
+        return b[select(b, 0, b.length - 1, k)];
+    }
+
+    /**
+     * Restituisce più statistiche d'ordine di un array di interi con
+     * un'unica elaborazione.
+     *
+     * @param a
+     *               l'array
+     * @param ks
+     *               le posizioni, a partire da 0, in qualsiasi ordine
+     * @return un array in cui l'elemento i-esimo è il ks[i]-esimo elemento
+     *         più piccolo
+     * @throws NullPointerException
+     *                                       se l'array o ks sono null
+     * @throws IndexOutOfBoundsException
+     *                                       se qualche k non è una posizione
+     *                                       dell'array
+     */
+    public static int[] multiSelect(int[] a, int... ks) {
+        if (a == null) {
+            throw new NullPointerException("L'array passato è null");
+        }
+        int[] b = a.clone();
+        int[] sorted = sortedPositions(ks, b.length);
+        multiSelect(b, 0, b.length - 1, sorted, 0, sorted.length - 1);
+        int[] result = new int[ks.length];
+        for (int i = 0; i < ks.length; i++) {
+            result[i] = b[ks[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Restituisce i percentili richiesti di un array di interi secondo il
+     * metodo del rango più vicino.
+     *
+     * @param a
+     *               l'array, non vuoto
+     * @param ps
+     *               i percentili richiesti, compresi fra 0 e 100
+     * @return un array in cui l'elemento i-esimo è il ps[i]-esimo percentile
+     * @throws NullPointerException
+     *                                      se l'array o ps sono null
+     * @throws IllegalArgumentException
+     *                                      se l'array è vuoto o qualche
+     *                                      percentile non è compreso fra 0 e
+     *                                      100
+     */
+    public static int[] percentiles(int[] a, double... ps) {
+        if (a == null) {
+            throw new NullPointerException("L'array passato è null");
+        }
+        return multiSelect(a, percentilePositions(ps, a.length));
+    }
+
+    /*
+     * Copia la lista in un array controllando che non contenga null.
+     */
+    private static Object[] toArray(List<?> l) {
+        if (l == null) {
+            throw new NullPointerException("La lista passata è null");
+        }
+        Object[] a = l.toArray();
+        for (Object x : a) {
+            if (x == null) {
+                throw new NullPointerException(
+                        "La lista contiene elementi null");
+            }
+        }
+        return a;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E elementAt(Object[] a, int i) {
+        return (E) a[i];
+    }
+
+    private static void checkIndex(int k, int n) {
+        if (k < 0 || k >= n) {
+            throw new IndexOutOfBoundsException(
+                    "Posizione " + k + " non valida per lunghezza " + n);
+        }
+    }
+
+    /*
+     * Restituisce una copia ordinata delle posizioni, controllandone la
+     * validità.
+     */
+    private static int[] sortedPositions(int[] ks, int n) {
+        if (ks == null) {
+            throw new NullPointerException("Le posizioni passate sono null");
+        }
+        int[] sorted = ks.clone();
+        for (int k : sorted) {
+            checkIndex(k, n);
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /*
+     * Converte i percentili in posizioni con il metodo del rango più vicino.
+     */
+    private static int[] percentilePositions(double[] ps, int n) {
+        if (ps == null) {
+            throw new NullPointerException("I percentili passati sono null");
+        }
+        if (n == 0) {
+            throw new IllegalArgumentException(
+                    "Percentili di una sequenza vuota");
+        }
+        int[] ks = new int[ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            if (!(ps[i] >= 0 && ps[i] <= 100)) {
+                throw new IllegalArgumentException(
+                        "Percentile non compreso fra 0 e 100: " + ps[i]);
+            }
+            // moltiplicando prima di dividere il rango è esatto per i
+            // percentili interi: ps[i] / 100 non è rappresentabile in modo
+            // esatto e l'errore può far salire il rango di uno
+            int rank = (int) Math.ceil(ps[i] * n / 100);
+            ks[i] = Math.max(0, rank - 1);
+        }
+        return ks;
+    }
+
+    // Versione per oggetti confrontabili
+
+    /*
+     * Seleziona le posizioni ks[from..to] (ordinate) nell'intervallo
+     * [head, tail]: si seleziona quella centrale, che lascia a sinistra solo
+     * elementi minori o uguali e a destra solo maggiori o uguali, e si
+     * prosegue sulle due parti.
+     */
+    private static void multiSelect(Object[] a, int head, int tail, int[] ks,
+            int from, int to) {
+        while (from <= to) {
+            int mid = (from + to) >>> 1;
+            int k = ks[mid];
+            select(a, head, tail, k);
+            multiSelect(a, head, k - 1, ks, from, mid - 1);
+            // Posizioni ripetute sono già sistemate
+            from = mid + 1;
+            while (from <= to && ks[from] == k) {
+                from++;
+            }
+            head = k + 1;
+        }
+    }
+
+    /*
+     * Porta nella posizione k dell'intervallo [head, tail] l'elemento che vi
+     * si troverebbe se l'intervallo fosse ordinato, con a sinistra elementi
+     * minori o uguali e a destra elementi maggiori o uguali. Restituisce k.
+     */
+    private static int select(Object[] a, int head, int tail, int k) {
+        boolean medianOfMedians = false;
+        int checkSize = tail - head + 1;
+        int steps = 0;
+        while (tail - head + 1 > INSERTION_THRESHOLD) {
+            int p = medianOfMedians ? medianOfMedians(a, head, tail)
+                    : head + ThreadLocalRandom.current()
+                            .nextInt(tail - head + 1);
+            // Partizione a tre vie: [head, lt) minori, [lt, gt] uguali,
+            // (gt, tail] maggiori
+            swap(a, head, p);
+            Object pivot = a[head];
+            int lt = head;
+            int gt = tail;
+            int i = head + 1;
+            while (i <= gt) {
+                int c = compare(a[i], pivot);
+                if (c < 0) {
+                    swap(a, lt++, i++);
+                } else if (c > 0) {
+                    swap(a, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                tail = lt - 1;
+            } else if (k > gt) {
+                head = gt + 1;
+            } else {
+                return k;
+            }
+            // Ogni due passi l'intervallo deve almeno dimezzarsi
+            if (++steps == 2) {
+                if (tail - head + 1 > checkSize / 2) {
+                    medianOfMedians = true;
+                }
+                checkSize = tail - head + 1;
+                steps = 0;
+            }
+        }
+        insertionSort(a, head, tail);
+        return k;
+    }
+
+    /*
+     * Restituisce la posizione della mediana delle mediane dei gruppi di
+     * cinque elementi dell'intervallo [head, tail]. Le mediane dei gruppi
+     * vengono spostate in testa all'intervallo.
+     */
+    private static int medianOfMedians(Object[] a, int head, int tail) {
+        int medians = head;
+        for (int g = head; g <= tail; g += 5) {
+            int end = Math.min(g + 4, tail);
+            insertionSort(a, g, end);
+            swap(a, medians++, (g + end) >>> 1);
+        }
+        int mid = (head + medians - 1) >>> 1;
+        return select(a, head, medians - 1, mid);
+    }
+
+    private static void insertionSort(Object[] a, int head, int tail) {
+        for (int i = head + 1; i <= tail; i++) {
+            Object tmp = a[i];
+            int j = i - 1;
+            while (j >= head && compare(a[j], tmp) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = tmp;
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compare(Object x, Object y) {
+        return ((Comparable) x).compareTo(y);
+    }
+
+    private static void swap(Object[] a, int x, int y) {
+        Object tmp = a[x];
+        a[x] = a[y];
+        a[y] = tmp;
+    }
+
+    // Versione per interi primitivi, con la stessa struttura
+
+    private static void multiSelect(int[] a, int head, int tail, int[] ks,
+            int from, int to) {
+        while (from <= to) {
+            int mid = (from + to) >>> 1;
+            int k = ks[mid];
+            select(a, head, tail, k);
+            multiSelect(a, head, k - 1, ks, from, mid - 1);
+            from = mid + 1;
+            while (from <= to && ks[from] == k) {
+                from++;
+            }
+            head = k + 1;
+        }
+    }
+
+    private static int select(int[] a, int head, int tail, int k) {
+        boolean medianOfMedians = false;
+        int checkSize = tail - head + 1;
+        int steps = 0;
+        while (tail - head + 1 > INSERTION_THRESHOLD) {
+            int p = medianOfMedians ? medianOfMedians(a, head, tail)
+                    : head + ThreadLocalRandom.current()
+                            .nextInt(tail - head + 1);
+            swap(a, head, p);
+            int pivot = a[head];
+            int lt = head;
+            int gt = tail;
+            int i = head + 1;
+            while (i <= gt) {
+                if (a[i] < pivot) {
+                    swap(a, lt++, i++);
+                } else if (a[i] > pivot) {
+                    swap(a, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                tail = lt - 1;
+            } else if (k > gt) {
+                head = gt + 1;
+            } else {
+                return k;
+            }
+            if (++steps == 2) {
+                if (tail - head + 1 > checkSize / 2) {
+                    medianOfMedians = true;
+                }
+                checkSize = tail - head + 1;
+                steps = 0;
+            }
+        }
+        insertionSort(a, head, tail);
+        return k;
+    }
+
+    private static int medianOfMedians(int[] a, int head, int tail) {
+        int medians = head;
+        for (int g = head; g <= tail; g += 5) {
+            int end = Math.min(g + 4, tail);
+            insertionSort(a, g, end);
+            swap(a, medians++, (g + end) >>> 1);
+        }
+        int mid = (head + medians - 1) >>> 1;
+        return select(a, head, medians - 1, mid);
+    }
+
+    private static void insertionSort(int[] a, int head, int tail) {
+        for (int i = head + 1; i <= tail; i++) {
+            int tmp = a[i];
+            int j = i - 1;
+            while (j >= head && a[j] > tmp) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = tmp;
+        }
+    }
+
+    private static void swap(int[] a, int x, int y) {
+        int tmp = a[x];
+        a[x] = a[y];
+        a[y] = tmp;
+    }
+}
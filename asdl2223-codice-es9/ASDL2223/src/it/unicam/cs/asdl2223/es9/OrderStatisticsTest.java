@@ -0,0 +1,139 @@
+package it.unicam.cs.asdl2223.es9;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class OrderStatisticsTest {
+
+    @Test
+    final void testSelectList() {
+        assertThrows(NullPointerException.class,
+                () -> OrderStatistics.select((List<Integer>) null, 0));
+        ArrayList<Integer> list = new ArrayList<Integer>();
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> OrderStatistics.select(list, 0));
+        list.add(43);
+        list.add(58);
+        list.add(12);
+        list.add(0);
+        list.add(-34);
+        list.add(-300);
+        list.add(-1);
+        list.add(28);
+        list.add(99);
+        ArrayList<Integer> copy = new ArrayList<Integer>(list);
+        assertTrue(OrderStatistics.select(list, 0).equals(-300));
+        assertTrue(OrderStatistics.select(list, 4).equals(12));
+        assertTrue(OrderStatistics.select(list, 8).equals(99));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> OrderStatistics.select(list, 9));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> OrderStatistics.select(list, -1));
+        // la lista non viene modificata
+        assertTrue(list.equals(copy));
+        list.add(null);
+        assertThrows(NullPointerException.class,
+                () -> OrderStatistics.select(list, 0));
+    }
+
+    @Test
+    final void testSelectRandom() {
+        Random random = new Random(3);
+        for (int n = 1; n < 300; n += 7) {
+            List<Integer> list = new ArrayList<Integer>();
+            int[] a = new int[n];
+            for (int i = 0; i < n; i++) {
+                a[i] = random.nextInt(n / 2 + 1);
+                list.add(a[i]);
+            }
+            List<Integer> sorted = new ArrayList<Integer>(list);
+            Collections.sort(sorted);
+            for (int k = 0; k < n; k++) {
+                assertTrue(OrderStatistics.select(list, k)
+                        .equals(sorted.get(k)));
+                assertTrue(OrderStatistics.select(a, k) == sorted.get(k));
+            }
+        }
+    }
+
+    @Test
+    final void testSelectDegenerate() {
+        // tutti uguali e già ordinati: non deve degenerare
+        int n = 200000;
+        int[] equal = new int[n];
+        int[] increasing = new int[n];
+        for (int i = 0; i < n; i++)
+            increasing[i] = i;
+        assertTrue(OrderStatistics.select(equal, n / 2) == 0);
+        assertTrue(OrderStatistics.select(increasing, n / 3) == n / 3);
+        assertTrue(OrderStatistics.select(increasing, n - 1) == n - 1);
+    }
+
+    @Test
+    final void testMultiSelect() {
+        List<Integer> list = List.of(5, 3, 9, 1, 7, 3, 8);
+        assertTrue(OrderStatistics.multiSelect(list, 6, 0, 3, 3)
+                .equals(List.of(9, 1, 5, 5)));
+        assertTrue(OrderStatistics.multiSelect(list).isEmpty());
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> OrderStatistics.multiSelect(list, 0, 7));
+        int[] a = { 5, 3, 9, 1, 7, 3, 8 };
+        assertTrue(Arrays.equals(OrderStatistics.multiSelect(a, 1, 2, 5),
+                new int[] { 3, 3, 8 }));
+        Random random = new Random(11);
+        int[] b = new int[10000];
+        for (int i = 0; i < b.length; i++)
+            b[i] = random.nextInt();
+        int[] sorted = b.clone();
+        Arrays.sort(sorted);
+        int[] ks = { 9999, 0, 5000, 4999, 100, 8000, 7 };
+        int[] res = OrderStatistics.multiSelect(b, ks);
+        for (int i = 0; i < ks.length; i++)
+            assertTrue(res[i] == sorted[ks[i]]);
+    }
+
+    @Test
+    final void testPercentiles() {
+        List<Integer> list = new ArrayList<Integer>();
+        for (int i = 100; i >= 1; i--)
+            list.add(i);
+        assertTrue(OrderStatistics.percentiles(list, 50, 95, 99, 0, 100)
+                .equals(List.of(50, 95, 99, 1, 100)));
+        assertTrue(OrderStatistics.percentiles(list, 7, 14, 28, 57)
+                .equals(List.of(7, 14, 28, 57)));
+        assertThrows(IllegalArgumentException.class,
+                () -> OrderStatistics.percentiles(list, 101));
+        assertThrows(IllegalArgumentException.class,
+                () -> OrderStatistics.percentiles(list, Double.NaN));
+        assertThrows(IllegalArgumentException.class,
+                () -> OrderStatistics.percentiles(new ArrayList<Integer>(),
+                        50));
+        int[] a = { 15, 20, 35, 40, 50 };
+        assertTrue(Arrays.equals(OrderStatistics.percentiles(a, 5, 30, 40, 50,
+                100), new int[] { 15, 20, 20, 35, 50 }));
+        int[] b = new int[25];
+        for (int i = 0; i < b.length; i++)
+            b[i] = b.length - i;
+        // rango esatto 7 = 28 * 25 / 100
+        assertTrue(Arrays.equals(OrderStatistics.percentiles(b, 28, 7),
+                new int[] { 7, 2 }));
+        // nessun rango sbagliato per i percentili interi
+        for (int n = 1; n <= 1000; n++) {
+            int[] c = new int[n];
+            for (int i = 0; i < n; i++)
+                c[i] = i + 1;
+            for (int p = 0; p <= 100; p++) {
+                int expected = Math.max(1, (p * n + 99) / 100);
+                assertEquals(expected, OrderStatistics.percentiles(c, p)[0]);
+            }
+        }
+    }
+
+}
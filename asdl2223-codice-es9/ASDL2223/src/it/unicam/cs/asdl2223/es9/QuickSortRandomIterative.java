@@ -0,0 +1,114 @@
+/**
+ *
+ */
+package it.unicam.cs.asdl2223.es9;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Variante del {@link QuickSortRandom} che non alloca oggetti durante
+ * l'ordinamento e ha profondità di ricorsione O(log n). Dopo ogni partizione
+ * si ricorre solo sulla parte più corta e si prosegue con un ciclo sulla più
+ * lunga.
+ *
+ * I pivot sono estratti da un generatore {@link SplittableRandom} proprio di
+ * ogni istanza, quindi istanze diverse usate da thread diversi non si
+ * contendono un generatore condiviso. Il seme del generatore è registrato:
+ * un'istanza costruita con lo stesso seme e sottoposta alla stessa sequenza
+ * di ordinamenti sceglie gli stessi pivot, il che permette di riprodurre
+ * un'esecuzione. Come gli altri algoritmi del framework, un'istanza non va
+ * usata da più thread contemporaneamente.
+ *
+ * @param <E> il tipo degli elementi della sequenza da ordinare.
+ * @author Template: Luca Tesei, Implementazione: collettiva
+ */
+public class QuickSortRandomIterative<E extends Comparable<E>> implements SortingAlgorithm<E> {
+
+    private final long seed;
+
+    private final SplittableRandom randomGenerator;
+
+    int cCompare = 0;
+
+    /**
+     * Costruisce l'algoritmo con un seme casuale.
+     */
+    public QuickSortRandomIterative() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Costruisce l'algoritmo con un seme dato, per riprodurre la scelta dei
+     * pivot di un'esecuzione precedente.
+     *
+     * @param seed il seme del generatore dei pivot
+     */
+    public QuickSortRandomIterative(long seed) {
+        this.seed = seed;
+        this.randomGenerator = new SplittableRandom(seed);
+    }
+
+    /**
+     * Restituisce il seme con cui è stato inizializzato il generatore dei
+     * pivot.
+     *
+     * @return il seme
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public SortingAlgorithmResult<E> sort(List<E> l) {
+        if (l == null) throw new NullPointerException("Tentativo di ordinare una lista null");
+        cCompare = 0;
+        quickSort(l, 0, l.size() - 1);
+        return new SortingAlgorithmResult<>(l, cCompare);
+    }
+
+    private int partition(List<E> l, int head, int tail) {
+        int i = head + 1;
+        E tmp = l.get(head);
+        for (int j = head + 1; j <= tail; j++) {
+            cCompare++;
+            if (l.get(j).compareTo(tmp) < 0) {
+                swap(l, i, j);
+                i += 1;
+            }
+        }
+        swap(l, head, i - 1);
+        return i - 1;
+    }
+
+    private void quickSort(List<E> l, int head, int tail) {
+        while (head < tail) {
+            int pivot = randomPartition(l, head, tail);
+            if (pivot - head < tail - pivot) {
+                quickSort(l, head, pivot - 1);
+                head = pivot + 1;
+            } else {
+                quickSort(l, pivot + 1, tail);
+                tail = pivot - 1;
+            }
+        }
+    }
+
+    private void swap(List<E> l, int x, int y) {
+        E tmp = l.get(x);
+        l.set(x, l.get(y));
+        l.set(y, tmp);
+    }
+
+    private int randomPartition(List<E> l, int head, int tail) {
+        int random = head + randomGenerator.nextInt(tail - head + 1);
+        swap(l, random, head);
+        return partition(l, head, tail);
+    }
+
+    @Override
+    public String getName() {
+        return "QuickSortRandomIterative";
+    }
+
+}
@@ -0,0 +1,84 @@
+package it.unicam.cs.asdl2223.es9;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class QuickSortRandomIterativeTest {
+
+    @Test
+    final void testSort() {
+        SortingAlgorithm<Integer> quickSort = new QuickSortRandomIterative<Integer>();
+        assertThrows(NullPointerException.class, () -> quickSort.sort(null));
+        ArrayList<Integer> list = new ArrayList<Integer>();
+        SortingAlgorithmResult<Integer> res = quickSort.sort(list);
+        assertTrue(res.getL().size() == 0);
+        assertTrue(res.getCountCompare() == 0);
+        list.add(4);
+        res = quickSort.sort(list);
+        assertTrue(res.getL().get(0).equals(4));
+        assertTrue(res.getL().size() == 1);
+        list.add(0);
+        list.add(90);
+        list.add(-30);
+        list.add(200);
+        list.add(1);
+        res = quickSort.sort(list);
+        assertTrue(res.getL().size()==6);
+        // controllo esecuzione in loco
+        assertTrue(res.getL()==list);
+        assertTrue(res.getL().get(0).equals(-30));
+        assertTrue(res.getL().get(1).equals(0));
+        assertTrue(res.getL().get(2).equals(1));
+        assertTrue(res.getL().get(3).equals(4));
+        assertTrue(res.getL().get(4).equals(90));
+        assertTrue(res.getL().get(5).equals(200));
+        // caso con un numero ripetuto
+        ArrayList<Integer> list1 = new ArrayList<Integer>();
+        list1.add(8);
+        list1.add(-10);
+        list1.add(10);
+        list1.add(2);
+        list1.add(8);
+        res = quickSort.sort(list1);
+        assertTrue(res.getL().size()==5);
+        assertTrue(res.getL().get(0).equals(-10));
+        assertTrue(res.getL().get(1).equals(2));
+        assertTrue(res.getL().get(2).equals(8));
+        assertTrue(res.getL().get(3).equals(8));
+        assertTrue(res.getL().get(4).equals(10));
+    }
+
+    @Test
+    final void testSortLarge() {
+        // sequenza già ordinata: la profondità di ricorsione resta O(log n)
+        ArrayList<Integer> list = new ArrayList<Integer>();
+        for (int i = 0; i < 200000; i++)
+            list.add(i);
+        SortingAlgorithmResult<Integer> res = new QuickSortRandomIterative<Integer>()
+                .sort(list);
+        assertTrue(res.checkOrder());
+        assertTrue(res.getL().size() == 200000);
+    }
+
+    @Test
+    final void testSeed() {
+        QuickSortRandomIterative<Integer> a = new QuickSortRandomIterative<Integer>(42);
+        assertTrue(a.getSeed() == 42);
+        QuickSortRandomIterative<Integer> b = new QuickSortRandomIterative<Integer>(
+                a.getSeed());
+        Random random = new Random();
+        ArrayList<Integer> list1 = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i++)
+            list1.add(random.nextInt(100));
+        ArrayList<Integer> list2 = new ArrayList<Integer>(list1);
+        // stesso seme e stessa sequenza: stessi pivot e stessi confronti
+        assertTrue(a.sort(list1).getCountCompare() == b.sort(list2)
+                .getCountCompare());
+        assertTrue(list1.equals(list2));
+    }
+
+}
@@ -54,6 +54,7 @@ public class SortingAlgorithmEvaluationFramework {
         algs.add(new MergeSort<Integer>());
         algs.add(new QuickSort<Integer>());
         algs.add(new QuickSortRandom<Integer>());
+        algs.add(new QuickSortRandomIterative<Integer>());
         algs.add(new HeapSort<Integer>());
         // Creo una lista di liste per contenere le copie delle liste da
         // ordinare, una per ogni algoritmo
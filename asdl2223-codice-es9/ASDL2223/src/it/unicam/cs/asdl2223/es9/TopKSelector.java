@@ -0,0 +1,243 @@
+package it.unicam.cs.asdl2223.es9;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collector;
+
+/**
+ * Selettore dei k elementi più piccoli (o più grandi) di una sequenza di
+ * lunghezza arbitraria, con memoria O(k). Gli elementi selezionati sono tenuti
+ * in un {@link MaxHeap} di dimensione al più k la cui radice è il peggiore
+ * degli elementi selezionati: un nuovo elemento che non è migliore della
+ * radice viene scartato con un solo confronto, altrimenti prende il posto
+ * della radice in tempo O(log k).
+ *
+ * Più selettori con gli stessi parametri possono essere uniti con
+ * {@link #merge(TopKSelector)}, il che permette di elaborare segmenti di uno
+ * stream parallelo in modo indipendente (vedi {@link #smallestCollector(int)}
+ * e {@link #largestCollector(int)}).
+ *
+ * @author Template: Luca Tesei, Implementation: collettiva
+ *
+ * @param <E>
+ *                il tipo degli elementi, che devono avere un ordinamento
+ *                naturale.
+ */
+public class TopKSelector<E extends Comparable<E>> {
+
+    /**
+     * Numero massimo di elementi selezionati
+     */
+    private final int k;
+
+    /**
+     * true se si selezionano i k elementi più grandi, false se i più piccoli
+     */
+    private final boolean largest;
+
+    /**
+     * Heap degli elementi selezionati, con il peggiore in radice
+     */
+    private final MaxHeap<Candidate<E>> heap;
+
+    /*
+     * Costruisce un selettore vuoto.
+     */
+    private TopKSelector(int k, boolean largest) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k non può essere negativo");
+        }
+        this.k = k;
+        this.largest = largest;
+        this.heap = new MaxHeap<Candidate<E>>();
+    }
+
+    /**
+     * Crea un selettore dei k elementi più piccoli.
+     *
+     * @param k
+     *              il numero di elementi da selezionare
+     * @return un selettore vuoto
+     * @throws IllegalArgumentException
+     *                                      se k è negativo
+     */
+    public static <E extends Comparable<E>> TopKSelector<E> smallest(int k) {
+        return new TopKSelector<E>(k, false);
+    }
+
+    /**
+     * Crea un selettore dei k elementi più grandi.
+     *
+     * @param k
+     *              il numero di elementi da selezionare
+     * @return un selettore vuoto
+     * @throws IllegalArgumentException
+     *                                      se k è negativo
+     */
+    public static <E extends Comparable<E>> TopKSelector<E> largest(int k) {
+        return new TopKSelector<E>(k, true);
+    }
+
+    /**
+     * Restituisce il numero massimo di elementi selezionati.
+     *
+     * @return k
+     */
+    public int getK() {
+        return this.k;
+    }
+
+    /**
+     * Determina se il selettore tiene i k elementi più grandi.
+     *
+     * @return true se il selettore tiene i più grandi, false se i più piccoli
+     */
+    public boolean isLargest() {
+        return this.largest;
+    }
+
+    /**
+     * Restituisce il numero di elementi attualmente selezionati, che non
+     * supera mai k.
+     *
+     * @return il numero di elementi selezionati
+     */
+    public int size() {
+        return this.heap.size();
+    }
+
+    /**
+     * Propone un elemento al selettore.
+     *
+     * @param el
+     *               l'elemento proposto
+     * @return true se l'elemento è fra quelli selezionati, false se è stato
+     *         scartato
+     * @throws NullPointerException
+     *                                  se l'elemento è null
+     */
+    public boolean offer(E el) {
+        if (el == null) {
+            throw new NullPointerException("L'elemento passato è null");
+        }
+        if (this.heap.size() < this.k) {
+            this.heap.insert(new Candidate<E>(el, this.largest));
+            return true;
+        }
+        if (this.k == 0 || !better(el, this.heap.getMax().el)) {
+            return false;
+        }
+        this.heap.replaceMax(new Candidate<E>(el, this.largest));
+        return true;
+    }
+
+    /**
+     * Aggiunge a questo selettore gli elementi selezionati da un altro
+     * selettore con gli stessi parametri. Il risultato è lo stesso che si
+     * avrebbe proponendo a questo selettore tutti gli elementi proposti
+     * all'altro.
+     *
+     * @param other
+     *                  l'altro selettore
+     * @return questo selettore
+     * @throws NullPointerException
+     *                                      se l'altro selettore è null
+     * @throws IllegalArgumentException
+     *                                      se i due selettori hanno k o verso
+     *                                      di selezione diversi
+     */
+    public TopKSelector<E> merge(TopKSelector<E> other) {
+        if (other == null) {
+            throw new NullPointerException("Il selettore passato è null");
+        }
+        if (other.k != this.k || other.largest != this.largest) {
+            throw new IllegalArgumentException(
+                    "I selettori hanno parametri diversi");
+        }
+        for (Candidate<E> c : other.heap.toList()) {
+            this.offer(c.el);
+        }
+        return this;
+    }
+
+    /**
+     * Restituisce gli elementi selezionati, ordinati dal migliore al peggiore
+     * (in ordine crescente per i più piccoli, decrescente per i più grandi).
+     *
+     * @return una nuova lista con gli elementi selezionati
+     */
+    public List<E> getResult() {
+        List<Candidate<E>> candidates = this.heap.toList();
+        Collections.sort(candidates);
+        List<E> result = new ArrayList<E>(candidates.size());
+        for (Candidate<E> c : candidates) {
+            result.add(c.el);
+        }
+        return result;
+    }
+
+    /**
+     * Crea un Collector che raccoglie i k elementi più piccoli di uno stream,
+     * anche parallelo.
+     *
+     * @param k
+     *              il numero di elementi da selezionare
+     * @return il collector, il cui risultato è la lista restituita da
+     *         {@link #getResult()}
+     */
+    public static <E extends Comparable<E>> Collector<E, ?, List<E>> smallestCollector(
+            int k) {
+        return Collector.of(() -> TopKSelector.<E>smallest(k),
+                TopKSelector::offer, TopKSelector::merge,
+                TopKSelector::getResult);
+    }
+
+    /**
+     * Crea un Collector che raccoglie i k elementi più grandi di uno stream,
+     * anche parallelo.
+     *
+     * @param k
+     *              il numero di elementi da selezionare
+     * @return il collector, il cui risultato è la lista restituita da
+     *         {@link #getResult()}
+     */
+    public static <E extends Comparable<E>> Collector<E, ?, List<E>> largestCollector(
+            int k) {
+        return Collector.of(() -> TopKSelector.<E>largest(k),
+                TopKSelector::offer, TopKSelector::merge,
+                TopKSelector::getResult);
+    }
+
+    /*
+     * Determina se x è strettamente migliore di y secondo il verso di
+     * selezione.
+     */
+    private boolean better(E x, E y) {
+        int c = x.compareTo(y);
+        return this.largest ? c > 0 : c < 0;
+    }
+
+    /*
+     * Elemento selezionato. L'ordinamento mette per ultimo (cioè in radice
+     * del MaxHeap) il peggiore secondo il verso di selezione.
+     */
+    private static class Candidate<E extends Comparable<E>>
+            implements Comparable<Candidate<E>> {
+
+        private final E el;
+
+        private final boolean reversed;
+
+        private Candidate(E el, boolean reversed) {
+            this.el = el;
+            this.reversed = reversed;
+        }
+
+        @Override
+        public int compareTo(Candidate<E> o) {
+            return this.reversed ? o.el.compareTo(this.el)
+                    : this.el.compareTo(o.el);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package it.unicam.cs.asdl2223.es9;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TopKSelectorTest {
+
+    @Test
+    final void testTopKSelector() {
+        assertThrows(IllegalArgumentException.class,
+                () -> TopKSelector.<Integer>smallest(-1));
+        TopKSelector<Integer> s = TopKSelector.smallest(3);
+        assertTrue(s.getK() == 3);
+        assertFalse(s.isLargest());
+        assertTrue(s.size() == 0);
+        assertTrue(s.getResult().isEmpty());
+        assertTrue(TopKSelector.<Integer>largest(3).isLargest());
+    }
+
+    @Test
+    final void testOfferSmallest() {
+        TopKSelector<Integer> s = TopKSelector.smallest(3);
+        assertThrows(NullPointerException.class, () -> s.offer(null));
+        assertTrue(s.offer(43));
+        assertTrue(s.offer(58));
+        assertTrue(s.offer(12));
+        assertTrue(s.size() == 3);
+        assertFalse(s.offer(99));
+        assertTrue(s.offer(0));
+        assertTrue(s.offer(-34));
+        assertFalse(s.offer(28));
+        assertTrue(s.size() == 3);
+        assertTrue(s.getResult().equals(List.of(-34, 0, 12)));
+    }
+
+    @Test
+    final void testOfferLargest() {
+        TopKSelector<Integer> s = TopKSelector.largest(3);
+        for (int x : new int[] { 43, 58, 12, 0, -34, -300, -1, 28, 99 })
+            s.offer(x);
+        assertTrue(s.getResult().equals(List.of(99, 58, 43)));
+        // caso con elementi ripetuti
+        TopKSelector<Integer> r = TopKSelector.largest(2);
+        r.offer(8);
+        r.offer(8);
+        assertFalse(r.offer(8));
+        assertTrue(r.getResult().equals(List.of(8, 8)));
+        // k = 0 scarta tutto
+        TopKSelector<Integer> z = TopKSelector.largest(0);
+        assertFalse(z.offer(1));
+        assertTrue(z.getResult().isEmpty());
+    }
+
+    @Test
+    final void testMerge() {
+        TopKSelector<Integer> a = TopKSelector.smallest(3);
+        TopKSelector<Integer> b = TopKSelector.smallest(3);
+        assertThrows(NullPointerException.class, () -> a.merge(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> a.merge(TopKSelector.smallest(4)));
+        assertThrows(IllegalArgumentException.class,
+                () -> a.merge(TopKSelector.largest(3)));
+        a.offer(5);
+        a.offer(1);
+        a.offer(9);
+        b.offer(4);
+        b.offer(7);
+        b.offer(0);
+        assertTrue(a.merge(b) == a);
+        assertTrue(a.getResult().equals(List.of(0, 1, 4)));
+    }
+
+    @Test
+    final void testCollector() {
+        Random random = new Random(7);
+        List<Integer> list = new ArrayList<Integer>();
+        for (int i = 0; i < 100000; i++)
+            list.add(random.nextInt());
+        List<Integer> sorted = new ArrayList<Integer>(list);
+        Collections.sort(sorted);
+        List<Integer> smallest = list.parallelStream()
+                .collect(TopKSelector.smallestCollector(10));
+        assertTrue(smallest.equals(sorted.subList(0, 10)));
+        List<Integer> largest = list.parallelStream()
+                .collect(TopKSelector.largestCollector(10));
+        List<Integer> expected = new ArrayList<Integer>(
+                sorted.subList(sorted.size() - 10, sorted.size()));
+        Collections.reverse(expected);
+        assertTrue(largest.equals(expected));
+    }
+
+}